@@ -0,0 +1,13 @@
+#!/bin/bash
+# Clones the primary on the first start and runs as a hot standby that follows it
+set -e
+if [ ! -s "$PGDATA/PG_VERSION" ]; then
+    until pg_basebackup -h postgres -U postgres -D "$PGDATA" -R -X stream; do
+        echo "Waiting for the primary"
+        rm -rf "${PGDATA:?}"/*
+        sleep 1
+    done
+    chmod 0700 "$PGDATA"
+fi
+# hot_standby_feedback keeps long reads (e.g. /tasks/export) from being cancelled by vacuum on the primary
+exec postgres -c hot_standby_feedback=on
@@ -0,0 +1,176 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.controller;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.TaskManagementRestfulApplication;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskStatus;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskBatchItemResult;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.service.TaskBatchService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * The servlet and the reactive task API under the same burst of concurrent requests, with a fixed heap.
+ * <p>
+ * Each invocation sends {@code concurrency} requests at once over real HTTP and waits for all of them, so the score is
+ * the time to drain a burst of that size. Both stacks get the same number of database connections, so the difference
+ * is in how requests wait for them. {@code admission} turns the servlet admission control on or off, to compare
+ * queueing for a permit with queueing for a connection; the reactive stack has no admission control and ignores it.
+ * Requests rejected with 503 are counted in the {@code rejected} secondary result instead of failing the burst.
+ * {@code -Djmh.cache.maximum-size=0} sends every {@code getTaskById} to the database, and
+ * {@code -Djmh.cache.load-window=0ms} turns off merging of the resulting loads. Needs the same local PostgreSQL as
+ * {@link com.github.vladimirpokhodnya.taskmanagementrestful.service.TaskServiceBenchmark}; the R2DBC url can be
+ * overridden with {@code -Djmh.r2dbc.url=...}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms256m", "-Xmx256m"})
+public class TaskApiConcurrencyBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final int DB_CONNECTIONS = 20;
+
+    @Param({"servlet-platform", "servlet-virtual", "reactive"})
+    private String stack;
+
+    @Param({"16", "256", "2048"})
+    private int concurrency;
+
+    @Param({"false", "true"})
+    private boolean admission;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clientExecutor;
+    private HttpClient httpClient;
+    private String baseUrl;
+    private List<Long> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String database = System.getProperty("jmh.db.url", "jdbc:postgresql://localhost:5432/task-management");
+        String username = System.getProperty("jmh.db.username", "postgres");
+        String password = System.getProperty("jmh.db.password", "0000");
+        context = new SpringApplicationBuilder(TaskManagementRestfulApplication.class)
+                .profiles(stack.equals("reactive") ? new String[]{"reactive"} : new String[0])
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + stack.equals("servlet-virtual"),
+                        "spring.datasource.url=" + database,
+                        "spring.datasource.username=" + username,
+                        "spring.datasource.password=" + password,
+                        "spring.datasource.hikari.maximum-pool-size=" + DB_CONNECTIONS,
+                        "spring.r2dbc.url=" + System.getProperty("jmh.r2dbc.url", database.replace("jdbc:", "r2dbc:")),
+                        "spring.r2dbc.username=" + username,
+                        "spring.r2dbc.password=" + password,
+                        "spring.r2dbc.pool.max-size=" + DB_CONNECTIONS,
+                        "task.admission.enabled=" + admission,
+                        "task.cache.listen=false",
+                        "task.cache.maximum-size=" + System.getProperty("jmh.cache.maximum-size", "100000"),
+                        "task.cache.load-window=" + System.getProperty("jmh.cache.load-window", "1ms"))
+                .run();
+        context.getBean(JdbcTemplate.class).execute("truncate task, task_counter, task_change");
+        ids = context.getBean(TaskBatchService.class).createTasks(newTasks()).stream()
+                .map(TaskBatchItemResult::id)
+                .toList();
+
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/tasks";
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        httpClient.close();
+        clientExecutor.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int getTaskById(Responses responses) {
+        return burst(() -> baseUrl + "/" + ids.get(ThreadLocalRandom.current().nextInt(ids.size())), responses);
+    }
+
+    @Benchmark
+    public int getFirstPage(Responses responses) {
+        return burst(() -> baseUrl + "?limit=50", responses);
+    }
+
+    private int burst(Supplier<String> url, Responses counters) {
+        List<CompletableFuture<Integer>> responses = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url.get())).GET().build();
+            responses.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .thenApply(HttpResponse::statusCode));
+        }
+        CompletableFuture.allOf(responses.toArray(CompletableFuture<?>[]::new)).join();
+        for (CompletableFuture<Integer> response : responses) {
+            int status = response.join();
+            if (status == 200) {
+                counters.served++;
+            } else if (status == 503) {
+                counters.rejected++;
+            } else {
+                throw new IllegalStateException("Unexpected status " + status);
+            }
+        }
+        return responses.size();
+    }
+
+    /**
+     * Responses of an iteration by outcome, reported next to the burst time.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Responses {
+
+        public long served;
+        public long rejected;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            served = 0;
+            rejected = 0;
+        }
+    }
+
+    private static List<TaskDTO> newTasks() {
+        return IntStream.range(0, ROWS)
+                .mapToObj(i -> new TaskDTO(null, "Task " + i, "Benchmark task description " + i, (long) (i % 100),
+                        TaskStatus.NOT_STARTED))
+                .toList();
+    }
+}
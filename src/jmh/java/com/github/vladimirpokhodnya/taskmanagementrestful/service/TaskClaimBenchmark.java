@@ -0,0 +1,104 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.service;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.TaskManagementRestfulApplication;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskStatus;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.repository.TaskClaim;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Claim throughput of {@link TaskClaimService} with concurrent workers, in claimed tasks per second.
+ * <p>
+ * Every benchmark thread is a worker; compare worker counts with {@code -t}, e.g.
+ * {@code mvn -Pjmh test-compile exec:exec -Djmh.args="TaskClaim -t 16"}. The queue is refilled before every
+ * iteration, so each one starts from {@code rows} NOT_STARTED tasks. Needs the same local PostgreSQL as
+ * {@link TaskServiceBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskClaimBenchmark {
+
+    private static final int CLAIM_SIZE = 10;
+    private static final int USERS = 100;
+
+    @Param({"1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private TaskClaimService taskClaimService;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TaskManagementRestfulApplication.class)
+                .properties(
+                        "spring.main.web-application-type=none",
+                        "spring.datasource.url=" + System.getProperty("jmh.db.url", "jdbc:postgresql://localhost:5432/task-management"),
+                        "spring.datasource.username=" + System.getProperty("jmh.db.username", "postgres"),
+                        "spring.datasource.password=" + System.getProperty("jmh.db.password", "0000"),
+                        "task.cache.listen=false",
+                        "task.partitions.move-legacy=true",
+                        // Leases must not expire and be reaped while the benchmark claims
+                        "task.claims.lease=1h")
+                .run();
+        taskClaimService = context.getBean(TaskClaimService.class);
+        TaskBatchService taskBatchService = context.getBean(TaskBatchService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.execute("truncate task, task_counter, task_change");
+
+        for (int created = 0; created < rows; created += 10_000) {
+            taskBatchService.createTasks(newTasks(Math.min(10_000, rows - created)));
+        }
+        jdbcTemplate.execute("truncate task_change");
+        jdbcTemplate.execute("vacuum analyze task");
+    }
+
+    @Setup(Level.Iteration)
+    public void refillQueue() {
+        jdbcTemplate.update("update task set status = ?, lease_until = null where status <> ?",
+                TaskStatus.NOT_STARTED.ordinal(), TaskStatus.NOT_STARTED.ordinal());
+        jdbcTemplate.execute("truncate task_change");
+        jdbcTemplate.execute("vacuum analyze task");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CLAIM_SIZE)
+    public TaskClaim claimTasks() {
+        return taskClaimService.claimTasks(null, CLAIM_SIZE);
+    }
+
+    private static List<TaskDTO> newTasks(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new TaskDTO(null, "Task " + i, null, (long) (i % USERS), TaskStatus.NOT_STARTED))
+                .toList();
+    }
+}
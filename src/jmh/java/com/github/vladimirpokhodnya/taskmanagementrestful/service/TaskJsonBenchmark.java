@@ -0,0 +1,56 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskStatus;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Serialization of {@link TaskDTO} lists with an ObjectMapper configured like the one Spring MVC uses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskJsonBenchmark {
+
+    @Param({"1", "100", "1000", "10000"})
+    private int size;
+
+    private ObjectWriter writer;
+    private List<TaskDTO> tasks;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, TaskDTO.class));
+        tasks = LongStream.rangeClosed(1, size)
+                .mapToObj(id -> new TaskDTO(id, "Task " + id, "Description of task " + id, id % 100,
+                        TaskStatus.values()[(int) (id % TaskStatus.values().length)], 0L))
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws JsonProcessingException {
+        return writer.writeValueAsBytes(tasks);
+    }
+}
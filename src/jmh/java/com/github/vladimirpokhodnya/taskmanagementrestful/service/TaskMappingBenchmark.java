@@ -0,0 +1,52 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.service;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.Task;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskStatus;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskMappingBenchmark {
+
+    private Task task;
+    private TaskDTO taskDTO;
+
+    @Setup
+    public void setUp() {
+        task = new Task();
+        task.setId(42L);
+        task.setTitle("Prepare quarterly report");
+        task.setDescription("Collect the numbers from every department and prepare the summary");
+        task.setUserId(7L);
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        task.setVersion(3L);
+
+        taskDTO = TaskService.mapToDTO(task);
+    }
+
+    @Benchmark
+    public TaskDTO mapToDTO() {
+        return TaskService.mapToDTO(task);
+    }
+
+    @Benchmark
+    public Task mapToEntity() {
+        return TaskService.mapToEntity(taskDTO);
+    }
+}
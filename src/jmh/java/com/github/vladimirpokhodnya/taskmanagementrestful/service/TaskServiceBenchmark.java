@@ -0,0 +1,146 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.service;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.TaskManagementRestfulApplication;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskStatus;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskBatchItemResult;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * {@link TaskService} read and write paths against a real PostgreSQL.
+ * <p>
+ * No Testcontainers: the benchmark connects to a local database, by default the one from docker-compose.yml.
+ * Override it with {@code -Djmh.db.url=... -Djmh.db.username=... -Djmh.db.password=...}. The schema is managed
+ * by the application, so the database must be one the benchmark may wipe.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskServiceBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int USERS = 100;
+
+    @Param({"1000", "100000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private TaskBatchService taskBatchService;
+    private List<Long> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TaskManagementRestfulApplication.class)
+                .properties(
+                        "spring.main.web-application-type=none",
+                        "spring.datasource.url=" + System.getProperty("jmh.db.url", "jdbc:postgresql://localhost:5432/task-management"),
+                        "spring.datasource.username=" + System.getProperty("jmh.db.username", "postgres"),
+                        "spring.datasource.password=" + System.getProperty("jmh.db.password", "0000"),
+                        "task.cache.listen=false",
+                        "task.partitions.move-legacy=true")
+                .run();
+        taskService = context.getBean(TaskService.class);
+        taskBatchService = context.getBean(TaskBatchService.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.execute("truncate task, task_counter, task_change");
+
+        ids = new ArrayList<>(rows);
+        for (int created = 0; created < rows; created += 10_000) {
+            taskBatchService.createTasks(newTasks(Math.min(10_000, rows - created))).stream()
+                    .map(TaskBatchItemResult::id)
+                    .forEach(ids::add);
+        }
+        // Neither the sequencer numbering the change feed of the load nor autovacuum should run during the measurement
+        jdbcTemplate.execute("truncate task_change");
+        jdbcTemplate.execute("vacuum analyze task");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void exportAllTasks(Blackhole blackhole) {
+        taskService.exportTasks(null, null, blackhole::consume);
+    }
+
+    @Benchmark
+    public TaskPage getFirstPage() {
+        return taskService.getTasks(null, null, TaskService.DEFAULT_PAGE_SIZE, null, null);
+    }
+
+    @Benchmark
+    public TaskPage getUserTasks() {
+        long userId = ThreadLocalRandom.current().nextInt(USERS);
+        return taskService.getUserTasks(userId, TaskStatus.NOT_STARTED, null, TaskService.DEFAULT_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public TaskDTO getTaskById() {
+        return taskService.getTaskById(randomId()).orElseThrow();
+    }
+
+    @Benchmark
+    public TaskDTO createTask() {
+        return taskService.createTask(newTask(0));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<TaskBatchItemResult> createTasksBatch() {
+        return taskBatchService.createTasks(newTasks(BATCH_SIZE));
+    }
+
+    @Benchmark
+    public TaskDTO updateTask() {
+        return taskService.updateTask(randomId(), newTask(1)).orElseThrow();
+    }
+
+    @Benchmark
+    public TaskDTO updateStatus() {
+        TaskStatus status = TaskStatus.values()[ThreadLocalRandom.current().nextInt(TaskStatus.values().length)];
+        return taskService.updateStatus(randomId(), status).orElseThrow();
+    }
+
+    private Long randomId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    private static List<TaskDTO> newTasks(int count) {
+        return IntStream.range(0, count).mapToObj(TaskServiceBenchmark::newTask).toList();
+    }
+
+    private static TaskDTO newTask(int i) {
+        return new TaskDTO(null, "Task " + i, "Benchmark task description " + i, (long) (i % USERS), TaskStatus.NOT_STARTED);
+    }
+}
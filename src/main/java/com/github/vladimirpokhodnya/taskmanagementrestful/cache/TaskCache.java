@@ -0,0 +1,122 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.routing.ReadConsistency;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-process cache of {@link TaskDTO} by id (Caffeine, W-TinyLFU eviction).
+ * <p>
+ * Concurrent misses on the same id share one load. Loads run on virtual threads of their own rather than inside the
+ * cache's map, so a load that waits, e.g. for other misses to be loaded with it, blocks neither other keys nor the
+ * carrier thread of a virtual request thread. Invalidations are applied locally after the surrounding
+ * transaction commits and are sent to the other nodes with {@code pg_notify} in the same transaction,
+ * see {@link TaskCacheInvalidationListener}.
+ */
+@Component
+public class TaskCache {
+
+    static final String CACHE_NAME = "tasks";
+    private static final int IDS_PER_NOTIFICATION = 256;
+
+    private final AsyncCache<Long, TaskDTO> cache;
+    private final JdbcTemplate jdbcTemplate;
+    private final String channel;
+
+    public TaskCache(TaskCacheProperties properties, JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.ttl())
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .recordStats()
+                .buildAsync();
+        this.jdbcTemplate = jdbcTemplate;
+        this.channel = properties.channel();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Loads a missing task from the primary: the entry is shared by all requests, and a row from a lagging replica
+     * would outlive the invalidation that has already been applied.
+     */
+    public Optional<TaskDTO> get(Long id, Function<Long, Optional<TaskDTO>> loader) {
+        return Optional.ofNullable(join(cache.get(id, key -> ReadConsistency.onPrimary(() -> loader.apply(key)).orElse(null))));
+    }
+
+    /**
+     * Like {@link #get}, for several tasks: the missing ones are loaded together by one call of {@code loader}.
+     *
+     * @return the tasks that exist, by id
+     */
+    public Map<Long, TaskDTO> getAll(Collection<Long> ids, Function<Collection<Long>, List<TaskDTO>> loader) {
+        return join(cache.getAll(ids, missing -> ReadConsistency.onPrimary(() -> loader.apply(List.copyOf(missing))).stream()
+                .collect(Collectors.toMap(TaskDTO::getId, Function.identity()))));
+    }
+
+    public void evict(Long id) {
+        evictAll(List.of(id));
+    }
+
+    public void evictAll(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        publish(ids);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.synchronous().invalidateAll(ids);
+                }
+            });
+        } else {
+            cache.synchronous().invalidateAll(ids);
+        }
+    }
+
+    void evictLocally(Collection<Long> ids) {
+        cache.synchronous().invalidateAll(ids);
+    }
+
+    void clearLocally() {
+        cache.synchronous().invalidateAll();
+    }
+
+    private static <T> T join(CompletableFuture<T> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void publish(Collection<Long> ids) {
+        List<Long> all = List.copyOf(ids);
+        for (int from = 0; from < all.size(); from += IDS_PER_NOTIFICATION) {
+            String payload = all.subList(from, Math.min(from + IDS_PER_NOTIFICATION, all.size())).stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(","));
+            jdbcTemplate.queryForList("select pg_notify(?, ?)", channel, payload);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.cache;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies cache invalidations published by other nodes through PostgreSQL {@code LISTEN/NOTIFY}.
+ * <p>
+ * Uses its own connection outside the pool. Notifications sent while the connection is down are lost,
+ * so the whole local cache is dropped after every reconnect.
+ */
+@Component
+@ConditionalOnProperty(name = "task.cache.listen", havingValue = "true", matchIfMissing = true)
+public class TaskCacheInvalidationListener implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskCacheInvalidationListener.class);
+    private static final int POLL_TIMEOUT_MILLIS = 500;
+    private static final long RECONNECT_DELAY_MILLIS = 1_000;
+
+    private final TaskCache taskCache;
+    private final DataSourceProperties dataSourceProperties;
+    private final String channel;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public TaskCacheInvalidationListener(TaskCache taskCache,
+                                         TaskCacheProperties properties,
+                                         DataSourceProperties dataSourceProperties) {
+        this.taskCache = taskCache;
+        this.dataSourceProperties = dataSourceProperties;
+        this.channel = properties.channel();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this::run, "task-cache-invalidation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                taskCache.clearLocally();
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null && notifications.length > 0) {
+                        taskCache.evictLocally(parseIds(notifications));
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Cache invalidation listener lost its connection, reconnecting", e);
+                    sleepBeforeReconnect();
+                }
+            }
+        }
+    }
+
+    private static List<Long> parseIds(PGNotification[] notifications) {
+        List<Long> ids = new ArrayList<>();
+        for (PGNotification notification : notifications) {
+            for (String id : notification.getParameter().split(",")) {
+                ids.add(Long.valueOf(id));
+            }
+        }
+        return ids;
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(RECONNECT_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param maximumSize   maximum number of cached tasks
+ * @param ttl           time after which a cached task is reloaded even without invalidation
+ * @param channel       PostgreSQL NOTIFY channel used to invalidate the caches of other nodes
+ * @param listen        whether this node listens for invalidations of other nodes
+ * @param loadWindow    how long the first miss of a batch waits for other misses to be loaded with it; zero loads
+ *                      every miss on its own
+ * @param loadBatchSize a batch of misses is loaded as soon as it has this many tasks
+ */
+@ConfigurationProperties("task.cache")
+public record TaskCacheProperties(@DefaultValue("100000") long maximumSize,
+                                  @DefaultValue("10m") Duration ttl,
+                                  @DefaultValue("task_cache_invalidation") String channel,
+                                  @DefaultValue("true") boolean listen,
+                                  @DefaultValue("1ms") Duration loadWindow,
+                                  @DefaultValue("256") int loadBatchSize) {
+}
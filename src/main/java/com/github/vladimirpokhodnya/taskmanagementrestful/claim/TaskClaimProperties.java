@@ -0,0 +1,19 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.claim;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param lease         how long a claimed task stays with its worker before it may be claimed again
+ * @param reap          whether this node returns tasks with an expired lease to {@code NOT_STARTED}
+ * @param reapBatchSize tasks returned per transaction
+ * @param reapInterval  pause between two rounds of the reaper once no expired lease is left
+ */
+@ConfigurationProperties("task.claims")
+public record TaskClaimProperties(@DefaultValue("5m") Duration lease,
+                                  @DefaultValue("true") boolean reap,
+                                  @DefaultValue("1000") int reapBatchSize,
+                                  @DefaultValue("1s") Duration reapInterval) {
+}
@@ -0,0 +1,75 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.claim;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.service.TaskClaimService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Returns claimed tasks whose lease has expired to {@code NOT_STARTED}, a batch per transaction, so that another
+ * worker can claim them. Full batches are followed by the next one right away. Rows locked by requests are skipped,
+ * and several nodes can reap at the same time.
+ */
+@Component
+public class TaskLeaseReaper implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskLeaseReaper.class);
+
+    private final TaskClaimService taskClaimService;
+    private final TaskClaimProperties properties;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public TaskLeaseReaper(TaskClaimService taskClaimService, TaskClaimProperties properties) {
+        this.taskClaimService = taskClaimService;
+        this.properties = properties;
+    }
+
+    @Override
+    public void start() {
+        if (!properties.reap()) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "task-lease-reaper");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                int released = taskClaimService.releaseExpiredLeases();
+                if (released > 0) {
+                    log.info("Returned {} tasks with an expired lease", released);
+                }
+                if (released >= properties.reapBatchSize()) {
+                    continue;
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to return tasks with an expired lease", e);
+            }
+            try {
+                Thread.sleep(properties.reapInterval());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
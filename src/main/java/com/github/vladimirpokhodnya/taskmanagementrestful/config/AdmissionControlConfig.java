@@ -0,0 +1,42 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.config;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.web.AdmissionControlFilter;
+import com.github.vladimirpokhodnya.taskmanagementrestful.web.AdmissionControlProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(name = "task.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlConfig {
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(AdmissionControlProperties properties,
+                                                                                 DataSource dataSource,
+                                                                                 MeterRegistry meterRegistry) {
+        int permits = properties.permits() > 0 ? properties.permits() : poolSize(dataSource);
+        AdmissionControlFilter filter = new AdmissionControlFilter(permits, properties.queueTimeout(),
+                properties.retryAfter(), meterRegistry);
+
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/tasks", "/tasks/*", "/users/*");
+        return registration;
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        try {
+            // An unset size reads as -1 until the pool starts, and then becomes Hikari's default of 10
+            int size = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            return size > 0 ? size : DEFAULT_POOL_SIZE;
+        } catch (Exception e) {
+            return DEFAULT_POOL_SIZE;
+        }
+    }
+}
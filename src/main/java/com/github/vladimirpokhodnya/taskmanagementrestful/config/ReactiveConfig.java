@@ -0,0 +1,58 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * R2DBC access for the reactive task API.
+ * <p>
+ * The R2DBC auto-configuration is excluded in application.properties: it would fail without
+ * {@code spring.r2dbc.url} in the servlet stack, and its {@code ReactiveTransactionManager} bean would displace the
+ * JPA transaction manager. The connection pool is not exposed as a bean either, because any {@link ConnectionFactory}
+ * bean switches off the JDBC data source auto-configuration; JPA, Flyway and the background components keep using it.
+ */
+@Configuration
+@Profile("reactive")
+@EnableConfigurationProperties(R2dbcProperties.class)
+public class ReactiveConfig implements DisposableBean {
+
+    private ConnectionPool connectionPool;
+
+    @Bean
+    public DatabaseClient databaseClient(R2dbcProperties properties) {
+        ConnectionFactory connectionFactory = ConnectionFactoryBuilder.withUrl(properties.getUrl())
+                .username(properties.getUsername())
+                .password(properties.getPassword())
+                .build();
+        R2dbcProperties.Pool pool = properties.getPool();
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .initialSize(pool.getInitialSize())
+                .maxSize(pool.getMaxSize())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .build());
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator(DatabaseClient databaseClient) {
+        return TransactionalOperator.create(new R2dbcTransactionManager(databaseClient.getConnectionFactory()));
+    }
+
+    @Override
+    public void destroy() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.config;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.routing.CommitLsnListener;
+import com.github.vladimirpokhodnya.taskmanagementrestful.routing.ReplicaPool;
+import com.github.vladimirpokhodnya.taskmanagementrestful.routing.ReplicaProperties;
+import com.github.vladimirpokhodnya.taskmanagementrestful.routing.ReplicaRoutingDataSource;
+import com.github.vladimirpokhodnya.taskmanagementrestful.web.ReadConsistencyFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Routes read-only transactions to the replicas.
+ * <p>
+ * The application {@link DataSource} is wrapped in a {@link LazyConnectionDataSourceProxy}, which takes the physical
+ * connection only when the first statement runs, after the transaction has been marked read-only, and then takes it
+ * from the {@link ReplicaRoutingDataSource}. Everything else, including Flyway and {@code JdbcTemplate} calls outside
+ * of transactions, stays on the primary. The {@link CommitLsnListener} is registered with the transaction manager
+ * by Spring Boot.
+ */
+@Configuration
+@ConditionalOnProperty(name = "task.replicas.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public ReplicaPool replicaPool(ReplicaProperties properties, DataSourceProperties dataSourceProperties,
+                                   MeterRegistry meterRegistry) {
+        return new ReplicaPool(properties, dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword(), meterRegistry);
+    }
+
+    @Bean
+    public CommitLsnListener commitLsnListener(DataSource dataSource) {
+        return new CommitLsnListener(dataSource);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadConsistencyFilter> readConsistencyFilter() {
+        FilterRegistrationBean<ReadConsistencyFilter> registration = new FilterRegistrationBean<>(new ReadConsistencyFilter());
+        registration.addUrlPatterns("/tasks", "/tasks/*", "/users/*");
+        return registration;
+    }
+
+    @Bean
+    public static BeanPostProcessor replicaRoutingDataSourcePostProcessor(ObjectProvider<ReplicaPool> replicaPool) {
+        return new RoutingPostProcessor(replicaPool);
+    }
+
+    /**
+     * Ordered, so that it runs before the SQL log proxy is put around the data source and the statements on the
+     * replicas are timed as well.
+     */
+    private record RoutingPostProcessor(ObjectProvider<ReplicaPool> replicaPool) implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource primary && !(bean instanceof LazyConnectionDataSourceProxy)) {
+                LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+                proxy.setReadOnlyDataSource(new ReplicaRoutingDataSource(primary, replicaPool.getObject()));
+                return proxy;
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.config;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.sql.SlowQueryListener;
+import com.github.vladimirpokhodnya.taskmanagementrestful.sql.SqlLogProperties;
+import com.github.vladimirpokhodnya.taskmanagementrestful.sql.SqlLogWriter;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application {@link DataSource} in a JDBC proxy that times every statement, whether it comes from
+ * Hibernate or from {@code JdbcTemplate}, and feeds the slow-query log.
+ */
+@Configuration
+@ConditionalOnProperty(name = "task.sql-log.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlLogConfig {
+
+    @Bean
+    public SqlLogWriter sqlLogWriter(SqlLogProperties properties) {
+        return new SqlLogWriter(properties.queueCapacity());
+    }
+
+    @Bean
+    public SlowQueryListener slowQueryListener(SqlLogProperties properties, SqlLogWriter sqlLogWriter) {
+        return new SlowQueryListener(properties, sqlLogWriter);
+    }
+
+    @Bean
+    public static BeanPostProcessor sqlLogDataSourcePostProcessor(ObjectProvider<SlowQueryListener> listener) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(beanName, dataSource)
+                            .listener(listener.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,126 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.controller;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.exception.TaskNotFoundException;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskField;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskStatus;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskStatusDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskSummaryDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.service.ReactiveTaskService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The {@code /tasks} contract of {@link TaskController} on WebFlux, active with the {@code reactive} profile.
+ * The export is streamed with backpressure: rows are fetched from the database as fast as the client reads them.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/tasks")
+public class ReactiveTaskController {
+
+    private final ReactiveTaskService taskService;
+
+    public ReactiveTaskController(ReactiveTaskService taskService) {
+        this.taskService = taskService;
+    }
+
+    @PostMapping
+    public Mono<TaskDTO> createTask(@RequestBody TaskDTO taskDTO) {
+        return taskService.createTask(taskDTO);
+    }
+
+    /**
+     * The task is read whole, so {@code fields} only narrows the response.
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Object>> getTaskById(@PathVariable Long id,
+                                                    @RequestParam(required = false) String fields) {
+        Set<TaskField> selected = TaskField.parse(fields);
+        return taskService.getTaskById(id)
+                .switchIfEmpty(Mono.error(() -> new TaskNotFoundException(id)))
+                .map(task -> ResponseEntity.ok()
+                        .eTag(TaskETags.of(task, selected))
+                        .body(TaskController.project(task, selected)));
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<TaskDTO>> updateTask(@PathVariable Long id,
+                                                    @RequestBody TaskDTO taskDTO,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return Mono.defer(() -> taskService.updateTask(id, taskDTO, TaskETags.expectedVersion(id, ifMatch)))
+                .switchIfEmpty(Mono.error(() -> new TaskNotFoundException(id)))
+                .map(TaskController::withETag);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<Void> deleteTask(@PathVariable Long id) {
+        return taskService.deleteTask(id)
+                .flatMap(deleted -> deleted ? Mono.<Void>empty() : Mono.error(new TaskNotFoundException(id)));
+    }
+
+    /**
+     * With {@code fields}, only the selected columns are read from the database and returned.
+     */
+    @GetMapping
+    public Mono<ResponseEntity<List<Object>>> getTasks(@RequestParam(required = false) String cursor,
+                                                       @RequestParam(required = false) Long after,
+                                                       @RequestParam(required = false) Integer limit,
+                                                       @RequestParam(required = false) Long userId,
+                                                       @RequestParam(required = false) TaskStatus status,
+                                                       @RequestParam(required = false) String fields) {
+        Set<TaskField> selected = TaskField.parse(fields);
+        return taskService.getTasks(cursor, after, limit, userId, status, selected)
+                .map(page -> TaskController.withNextCursor(page, selected));
+    }
+
+    /**
+     * The tasks are read whole, so {@code fields} only narrows the response.
+     */
+    @GetMapping(params = "ids")
+    public Mono<List<Object>> getTasksByIds(@RequestParam List<Long> ids,
+                                            @RequestParam(required = false) String fields) {
+        Set<TaskField> selected = TaskField.parse(fields);
+        return taskService.getTasksByIds(ids)
+                .map(tasks -> TaskController.project(tasks, selected));
+    }
+
+    @GetMapping("/summary")
+    public TaskSummaryDTO getTaskSummary() {
+        return taskService.getTaskSummary();
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TaskDTO> exportTasks(@RequestParam(required = false) Long userId,
+                                     @RequestParam(required = false) TaskStatus status) {
+        return taskService.exportTasks(userId, status);
+    }
+
+    @PatchMapping
+    public Mono<ResponseEntity<TaskDTO>> updateTaskStatus(@RequestBody TaskStatusDTO statusDTO,
+                                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long id = statusDTO.id();
+        return Mono.defer(() -> taskService.updateStatus(id, statusDTO.status(), statusDTO.expectedStatus(),
+                        TaskETags.expectedVersion(id, ifMatch)))
+                .switchIfEmpty(Mono.error(() -> new TaskNotFoundException(id)))
+                .map(TaskController::withETag);
+    }
+}
@@ -0,0 +1,48 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.controller;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskBatchItemResult;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskStatusDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.service.TaskBatchService;
+import com.github.vladimirpokhodnya.taskmanagementrestful.writebehind.TaskStatusWriteBehind;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Objects;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/tasks/batch")
+public class TaskBatchController {
+
+    private final TaskBatchService taskBatchService;
+    private final TaskStatusWriteBehind writeBehind;
+
+    public TaskBatchController(TaskBatchService taskBatchService, TaskStatusWriteBehind writeBehind) {
+        this.taskBatchService = taskBatchService;
+        this.writeBehind = writeBehind;
+    }
+
+    @PostMapping
+    public List<TaskBatchItemResult> createTasks(@RequestBody List<TaskDTO> taskDTOs) {
+        return taskBatchService.createTasks(taskDTOs);
+    }
+
+    @PatchMapping
+    public List<TaskBatchItemResult> updateTaskStatuses(@RequestBody List<TaskStatusDTO> statusDTOs) {
+        writeBehind.flush(statusDTOs.stream().map(TaskStatusDTO::id).filter(Objects::nonNull).toList());
+        return taskBatchService.updateStatuses(statusDTOs);
+    }
+
+    @DeleteMapping
+    public List<TaskBatchItemResult> deleteTasks(@RequestBody List<Long> ids) {
+        writeBehind.flush(ids.stream().filter(Objects::nonNull).toList());
+        return taskBatchService.deleteTasks(ids);
+    }
+}
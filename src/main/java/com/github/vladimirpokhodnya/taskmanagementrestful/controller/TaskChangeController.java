@@ -0,0 +1,97 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.controller;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskChangeEvent;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskChangePage;
+import com.github.vladimirpokhodnya.taskmanagementrestful.outbox.TaskChangeFeed;
+import com.github.vladimirpokhodnya.taskmanagementrestful.outbox.TaskChangeProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Resumable, ordered feed of task mutations. Consumers keep the last {@code seq} they processed and ask for
+ * everything after it.
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/tasks/changes")
+public class TaskChangeController {
+
+    static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+    private static final Duration LONG_POLL_GRACE = Duration.ofSeconds(10);
+
+    private final TaskChangeFeed feed;
+    private final TaskChangeProperties properties;
+
+    public TaskChangeController(TaskChangeFeed feed, TaskChangeProperties properties) {
+        this.feed = feed;
+        this.properties = properties;
+    }
+
+    /**
+     * Long-poll: returns at once if there are changes after {@code since}, otherwise waits up to {@code wait}
+     * seconds for one. The wait runs asynchronously, so it does not hold a request thread; the feed is left out of
+     * admission control, see {@link com.github.vladimirpokhodnya.taskmanagementrestful.web.AdmissionControlFilter}.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public WebAsyncTask<TaskChangePage> getChanges(@RequestParam(defaultValue = "0") long since,
+                                                   @RequestParam(defaultValue = "1000") int limit,
+                                                   @RequestParam(defaultValue = "0") long wait) {
+        Duration timeout = Duration.ofSeconds(Math.max(0, wait));
+        Duration boundedTimeout = timeout.compareTo(properties.maxWait()) > 0 ? properties.maxWait() : timeout;
+        // The request times out only if the wait overruns by far, e.g. while the feed query is stuck
+        return new WebAsyncTask<>(boundedTimeout.plus(LONG_POLL_GRACE).toMillis(), () -> {
+            List<TaskChangeEvent> changes = feed.await(since, limit, boundedTimeout);
+            return new TaskChangePage(changes, changes.isEmpty() ? since : changes.get(changes.size() - 1).seq());
+        });
+    }
+
+    /**
+     * Server-Sent Events variant. Every event carries its {@code seq} as the event id, so a reconnecting
+     * {@code EventSource} resumes from {@code Last-Event-ID}.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(defaultValue = "0") long since,
+                                    @RequestHeader(value = LAST_EVENT_ID_HEADER, required = false) Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(0L);
+        long from = lastEventId != null ? lastEventId : since;
+        Thread.ofVirtual().name("task-changes-sse").start(() -> stream(emitter, from));
+        return emitter;
+    }
+
+    private void stream(SseEmitter emitter, long since) {
+        long last = since;
+        try {
+            while (feed.isRunning()) {
+                List<TaskChangeEvent> changes = feed.await(last, properties.batchSize(), properties.keepAlive());
+                if (changes.isEmpty()) {
+                    emitter.send(SseEmitter.event().comment("keep-alive"));
+                    continue;
+                }
+                for (TaskChangeEvent change : changes) {
+                    emitter.send(SseEmitter.event()
+                            .id(Long.toString(change.seq()))
+                            .name(change.type().name())
+                            .data(change, MediaType.APPLICATION_JSON));
+                    last = change.seq();
+                }
+            }
+            emitter.complete();
+        } catch (IOException | RuntimeException e) {
+            emitter.completeWithError(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.controller;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.repository.TaskClaim;
+import com.github.vladimirpokhodnya.taskmanagementrestful.service.TaskClaimService;
+import com.github.vladimirpokhodnya.taskmanagementrestful.writebehind.TaskStatusWriteBehind;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/tasks/claim")
+public class TaskClaimController {
+
+    static final String LEASE_UNTIL_HEADER = "X-Lease-Until";
+
+    private final TaskClaimService taskClaimService;
+    private final TaskStatusWriteBehind writeBehind;
+
+    public TaskClaimController(TaskClaimService taskClaimService, TaskStatusWriteBehind writeBehind) {
+        this.taskClaimService = taskClaimService;
+        this.writeBehind = writeBehind;
+    }
+
+    /**
+     * Claims up to {@code limit} {@code NOT_STARTED} tasks, which are {@code IN_PROGRESS} in the response. The lease
+     * expiry is in {@value #LEASE_UNTIL_HEADER}; the list is empty when there is nothing to claim.
+     */
+    @PostMapping
+    public ResponseEntity<List<TaskDTO>> claimTasks(@RequestParam(required = false) Long userId,
+                                                    @RequestParam(required = false) Integer limit) {
+        writeBehind.flushAll();
+        TaskClaim claim = taskClaimService.claimTasks(userId, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (claim.leaseUntil() != null) {
+            response.header(LEASE_UNTIL_HEADER, claim.leaseUntil().toString());
+        }
+        return response.body(claim.tasks());
+    }
+}
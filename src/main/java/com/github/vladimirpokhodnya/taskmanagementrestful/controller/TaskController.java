@@ -1,9 +1,26 @@
 package com.github.vladimirpokhodnya.taskmanagementrestful.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.vladimirpokhodnya.taskmanagementrestful.exception.TaskNotFoundException;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskField;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskStatus;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskBulkStatusChunk;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskBulkStatusDTO;
 import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskPage;
 import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskStatusDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskSummaryDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.service.TaskBatchService;
 import com.github.vladimirpokhodnya.taskmanagementrestful.service.TaskService;
+import com.github.vladimirpokhodnya.taskmanagementrestful.web.AsyncTimeouts;
+import com.github.vladimirpokhodnya.taskmanagementrestful.web.StreamingProperties;
+import com.github.vladimirpokhodnya.taskmanagementrestful.writebehind.TaskStatusWriteBehind;
+import com.github.vladimirpokhodnya.taskmanagementrestful.writebehind.TaskWriteBehindProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -11,19 +28,42 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/tasks")
 public class TaskController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String SEARCH_TRUNCATED_HEADER = "X-Search-Truncated";
+
     private final TaskService taskService;
+    private final TaskBatchService taskBatchService;
+    private final TaskStatusWriteBehind writeBehind;
+    private final ObjectMapper objectMapper;
+    private final StreamingProperties streamingProperties;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, TaskBatchService taskBatchService, TaskStatusWriteBehind writeBehind,
+                          ObjectMapper objectMapper, StreamingProperties streamingProperties) {
         this.taskService = taskService;
+        this.taskBatchService = taskBatchService;
+        this.writeBehind = writeBehind;
+        this.objectMapper = objectMapper;
+        this.streamingProperties = streamingProperties;
     }
 
     @PostMapping
@@ -31,33 +71,202 @@ public class TaskController {
         return taskService.createTask(taskDTO);
     }
 
+    /**
+     * The task is served from the cache whole, so {@code fields} only narrows the response.
+     */
     @GetMapping("/{id}")
-    public TaskDTO getTaskById(@PathVariable Long id) {
-        return taskService.getTaskById(id)
+    public ResponseEntity<Object> getTaskById(@PathVariable Long id,
+                                              @RequestParam(required = false) String fields) {
+        Set<TaskField> selected = TaskField.parse(fields);
+        TaskDTO taskDTO = taskService.getTaskById(id)
                 .orElseThrow(() -> new TaskNotFoundException(id));
+        return ResponseEntity.ok()
+                .eTag(TaskETags.of(taskDTO, selected))
+                .body(project(taskDTO, selected));
     }
 
     @PutMapping("/{id}")
-    public TaskDTO updateTask(@PathVariable Long id, @RequestBody TaskDTO taskDTO) {
-        return taskService.updateTask(id, taskDTO)
+    public ResponseEntity<TaskDTO> updateTask(@PathVariable Long id,
+                                              @RequestBody TaskDTO taskDTO,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        writeBehind.flush(List.of(id));
+        TaskDTO updated = taskService.updateTask(id, taskDTO, TaskETags.expectedVersion(id, ifMatch))
                 .orElseThrow(() -> new TaskNotFoundException(id));
+        return withETag(updated);
     }
 
     @DeleteMapping("/{id}")
     public void deleteTask(@PathVariable Long id) {
+        writeBehind.flush(List.of(id));
         if (!taskService.deleteTask(id)) {
             throw new TaskNotFoundException(id);
         }
     }
 
+    /**
+     * With {@code fields}, only the selected columns are read from the database and returned.
+     */
     @GetMapping
-    public List<TaskDTO> getAllTasks() {
-        return taskService.getAllTasks();
+    public ResponseEntity<List<Object>> getTasks(@RequestParam(required = false) String cursor,
+                                                 @RequestParam(required = false) Long after,
+                                                 @RequestParam(required = false) Integer limit,
+                                                 @RequestParam(required = false) Long userId,
+                                                 @RequestParam(required = false) TaskStatus status,
+                                                 @RequestParam(required = false) String fields) {
+        Set<TaskField> selected = TaskField.parse(fields);
+        return withNextCursor(taskService.getTasks(cursor, after, limit, userId, status, selected), selected);
+    }
+
+    /**
+     * The tasks are served from the cache whole, so {@code fields} only narrows the response.
+     */
+    @GetMapping(params = "ids")
+    public List<Object> getTasksByIds(@RequestParam List<Long> ids,
+                                      @RequestParam(required = false) String fields) {
+        Set<TaskField> selected = TaskField.parse(fields);
+        return project(taskService.getTasksByIds(ids), selected);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<TaskDTO>> searchTasks(@RequestParam String q,
+                                                     @RequestParam(required = false) Long userId,
+                                                     @RequestParam(required = false) TaskStatus status,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false) Integer limit) {
+        return withNextCursor(taskService.searchTasks(q, userId, status, cursor, limit));
+    }
+
+    @GetMapping("/summary")
+    public TaskSummaryDTO getTaskSummary() {
+        return taskService.getTaskSummary();
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTasks(@RequestParam(required = false) Long userId,
+                                                             @RequestParam(required = false) TaskStatus status,
+                                                             NativeWebRequest request) {
+        AsyncTimeouts.set(request, streamingProperties.timeout());
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                taskService.exportTasks(userId, status, task -> writeLine(generator, task));
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @PatchMapping
-    public TaskDTO updateTaskStatus(@RequestBody TaskStatusDTO statusDTO) {
-        return taskService.updateStatus(statusDTO.id(), statusDTO.status())
-                .orElseThrow(() -> new TaskNotFoundException(statusDTO.id()));
+    public ResponseEntity<TaskDTO> updateTaskStatus(@RequestBody TaskStatusDTO statusDTO,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long id = statusDTO.id();
+        CompletableFuture<Optional<TaskDTO>> buffered = statusDTO.expectedStatus() == null && ifMatch == null
+                ? writeBehind.submit(id, statusDTO.status())
+                : null;
+        if (buffered != null && writeBehind.mode() == TaskWriteBehindProperties.Mode.ACCEPT) {
+            return ResponseEntity.accepted().build();
+        }
+        if (buffered == null) {
+            writeBehind.flush(List.of(id));
+        }
+        Optional<TaskDTO> updated = buffered != null
+                ? awaitFlush(buffered)
+                : taskService.updateStatus(id, statusDTO.status(), statusDTO.expectedStatus(), TaskETags.expectedVersion(id, ifMatch));
+        return withETag(updated.orElseThrow(() -> new TaskNotFoundException(id)));
+    }
+
+    /**
+     * Streams one line per committed chunk with its ids and the running count. The last line has no ids and carries
+     * the total; a response without it was cut short, and repeating the request updates the remaining tasks.
+     */
+    @PatchMapping(value = "/bulk-status", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> updateTaskStatuses(@RequestBody TaskBulkStatusDTO bulkStatusDTO,
+                                                                    NativeWebRequest request) {
+        // Checked before the stream starts, as its status can no longer change afterwards
+        taskBatchService.checkBulkStatus(bulkStatusDTO);
+        AsyncTimeouts.set(request, streamingProperties.timeout());
+        writeBehind.flushAll();
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                long affected = taskBatchService.updateStatusesWhere(bulkStatusDTO, chunk -> {
+                    writeLine(generator, chunk);
+                    flush(generator);
+                });
+                writeLine(generator, new TaskBulkStatusChunk(List.of(), affected));
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    static ResponseEntity<List<TaskDTO>> withNextCursor(TaskPage page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        if (page.truncated()) {
+            response.header(SEARCH_TRUNCATED_HEADER, "true");
+        }
+        return response.body(page.items());
+    }
+
+    static ResponseEntity<List<Object>> withNextCursor(TaskPage page, Set<TaskField> fields) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(project(page.items(), fields));
+    }
+
+    /**
+     * The tasks themselves if {@code fields} is {@code null}, otherwise their selected fields.
+     */
+    static List<Object> project(List<TaskDTO> tasks, Set<TaskField> fields) {
+        return tasks.stream()
+                .map(task -> project(task, fields))
+                .toList();
+    }
+
+    static Object project(TaskDTO task, Set<TaskField> fields) {
+        return fields == null ? task : TaskField.project(task, fields);
+    }
+
+    static ResponseEntity<TaskDTO> withETag(TaskDTO taskDTO) {
+        return ResponseEntity.ok()
+                .eTag(TaskETags.of(taskDTO))
+                .body(taskDTO);
+    }
+
+    private static Optional<TaskDTO> awaitFlush(CompletableFuture<Optional<TaskDTO>> buffered) {
+        try {
+            return buffered.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static void writeLine(JsonGenerator generator, Object value) {
+        try {
+            generator.writeObject(value);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void flush(JsonGenerator generator) {
+        try {
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
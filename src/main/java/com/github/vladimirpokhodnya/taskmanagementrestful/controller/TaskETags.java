@@ -0,0 +1,58 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.controller;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.exception.TaskVersionMismatchException;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskField;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Maps the {@code Task} version to a strong entity tag and back.
+ * <p>
+ * A projection is a different representation of the same version, so its tag carries the selected fields after the
+ * version, e.g. {@code "3;id,title"}: a cached projection never revalidates a full task or another projection.
+ */
+final class TaskETags {
+
+    private TaskETags() {
+    }
+
+    static String of(TaskDTO taskDTO) {
+        return "\"" + taskDTO.getVersion() + "\"";
+    }
+
+    /**
+     * @param fields the selected fields, or {@code null} for the whole task
+     */
+    static String of(TaskDTO taskDTO, Set<TaskField> fields) {
+        if (fields == null) {
+            return of(taskDTO);
+        }
+        return "\"" + taskDTO.getVersion() + ";"
+                + fields.stream().map(TaskField::property).collect(Collectors.joining(",")) + "\"";
+    }
+
+    /**
+     * Accepts the tag of a projection as well, as it names the same version.
+     *
+     * @return the version required by the {@code If-Match} header, or {@code null} if the header is absent or {@code *}
+     * @throws TaskVersionMismatchException if the header cannot match any version of the task
+     */
+    static Long expectedVersion(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new TaskVersionMismatchException(id);
+        }
+        String opaque = tag.substring(1, tag.length() - 1);
+        int fields = opaque.indexOf(';');
+        try {
+            return Long.valueOf(fields < 0 ? opaque : opaque.substring(0, fields));
+        } catch (NumberFormatException e) {
+            throw new TaskVersionMismatchException(id);
+        }
+    }
+}
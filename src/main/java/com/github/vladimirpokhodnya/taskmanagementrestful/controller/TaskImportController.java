@@ -0,0 +1,58 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.controller;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.exception.TaskImportJobNotFoundException;
+import com.github.vladimirpokhodnya.taskmanagementrestful.importing.TaskImportFormat;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskImportJobDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.service.TaskImportService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Bulk import: {@code POST} creates a job, {@code PUT} uploads its tasks as NDJSON or CSV and answers once they have
+ * been imported, and {@code GET} shows the progress meanwhile.
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/tasks/import")
+public class TaskImportController {
+
+    private final TaskImportService taskImportService;
+
+    public TaskImportController(TaskImportService taskImportService) {
+        this.taskImportService = taskImportService;
+    }
+
+    @PostMapping
+    public ResponseEntity<TaskImportJobDTO> createImport() {
+        TaskImportJobDTO job = taskImportService.createJob();
+        return ResponseEntity.created(URI.create("/tasks/import/" + job.id())).body(job);
+    }
+
+    @PutMapping(value = "/{id}", consumes = {MediaType.APPLICATION_NDJSON_VALUE, TaskImportFormat.TEXT_CSV_VALUE})
+    public TaskImportJobDTO uploadTasks(@PathVariable String id,
+                                        @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                        InputStream body) {
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        return taskImportService.runJob(id, TaskImportFormat.of(contentType), body, charset);
+    }
+
+    @GetMapping("/{id}")
+    public TaskImportJobDTO getImport(@PathVariable String id) {
+        return taskImportService.getJob(id)
+                .orElseThrow(() -> new TaskImportJobNotFoundException(id));
+    }
+}
@@ -0,0 +1,55 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.controller;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.event.TaskEventHub;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskField;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskStatus;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskSummaryDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.service.TaskService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/users/{userId}/tasks")
+public class UserTaskController {
+
+    private final TaskService taskService;
+    private final TaskEventHub taskEventHub;
+
+    public UserTaskController(TaskService taskService, TaskEventHub taskEventHub) {
+        this.taskService = taskService;
+        this.taskEventHub = taskEventHub;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<Object>> getUserTasks(@PathVariable Long userId,
+                                                     @RequestParam(required = false) TaskStatus status,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false) Integer limit,
+                                                     @RequestParam(required = false) String fields) {
+        Set<TaskField> selected = TaskField.parse(fields);
+        return TaskController.withNextCursor(taskService.getUserTasks(userId, status, cursor, limit, selected), selected);
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@PathVariable Long userId,
+                                @RequestHeader(value = TaskChangeController.LAST_EVENT_ID_HEADER, required = false) Long lastEventId) {
+        return taskEventHub.subscribe(userId, lastEventId);
+    }
+
+    @GetMapping("/summary")
+    public TaskSummaryDTO getUserTaskSummary(@PathVariable Long userId) {
+        return taskService.getUserTaskSummary(userId);
+    }
+}
@@ -0,0 +1,27 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.counter;
+
+import java.util.Arrays;
+
+/**
+ * The transactions a PostgreSQL snapshot sees as committed, parsed from the text form of {@code pg_snapshot}
+ * ({@code xmin:xmax:xip,...}); the Java side of {@code pg_visible_in_snapshot}.
+ */
+record CommittedXids(long xmin, long xmax, long[] inProgress) {
+
+    /**
+     * A snapshot that sees no transaction, for counts that were not loaded from the database.
+     */
+    static final CommittedXids NONE = new CommittedXids(0, 0, new long[0]);
+
+    static CommittedXids parse(String snapshot) {
+        String[] parts = snapshot.split(":", -1);
+        long[] inProgress = parts[2].isEmpty()
+                ? new long[0]
+                : Arrays.stream(parts[2].split(",")).mapToLong(Long::parseLong).sorted().toArray();
+        return new CommittedXids(Long.parseLong(parts[0]), Long.parseLong(parts[1]), inProgress);
+    }
+
+    boolean includes(long xid) {
+        return xid < xmin || xid < xmax && Arrays.binarySearch(inProgress, xid) < 0;
+    }
+}
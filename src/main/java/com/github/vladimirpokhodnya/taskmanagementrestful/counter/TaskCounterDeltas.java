@@ -0,0 +1,58 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.counter;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskStatus;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Net change of the task counters caused by one unit of work. Opposite changes of the same counter cancel out.
+ */
+public final class TaskCounterDeltas {
+
+    private static final Comparator<Map.Entry<Key, Long>> KEY_ORDER = Comparator
+            .comparing((Map.Entry<Key, Long> entry) -> entry.getKey().userId(), Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(entry -> entry.getKey().status(), Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final Map<Key, Long> deltas = new HashMap<>();
+
+    public TaskCounterDeltas created(Long userId, TaskStatus status) {
+        return add(userId, status, 1);
+    }
+
+    public TaskCounterDeltas deleted(Long userId, TaskStatus status) {
+        return add(userId, status, -1);
+    }
+
+    public TaskCounterDeltas moved(Long fromUserId, TaskStatus fromStatus, Long toUserId, TaskStatus toStatus) {
+        if (Objects.equals(fromUserId, toUserId) && fromStatus == toStatus) {
+            return this;
+        }
+        return add(fromUserId, fromStatus, -1).add(toUserId, toStatus, 1);
+    }
+
+    public boolean isEmpty() {
+        return deltas.isEmpty();
+    }
+
+    /**
+     * Non-zero deltas in a stable key order, so concurrent writers lock counter rows in the same order.
+     */
+    public List<Map.Entry<Key, Long>> entries() {
+        return deltas.entrySet().stream()
+                .sorted(KEY_ORDER)
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    private TaskCounterDeltas add(Long userId, TaskStatus status, long delta) {
+        deltas.merge(new Key(userId, status), delta, (a, b) -> a + b == 0 ? null : a + b);
+        return this;
+    }
+
+    public record Key(Long userId, TaskStatus status) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.counter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param stripes         counter rows per user and status; writers pick one at random so concurrent transactions
+ *                        for the same user rarely wait on the same row
+ * @param refreshInterval how often the in-memory snapshot is reloaded from {@code task_counter} to pick up writes
+ *                        made by other nodes; {@code 0} disables the reload
+ */
+@ConfigurationProperties("task.counters")
+public record TaskCounterProperties(@DefaultValue("16") int stripes,
+                                    @DefaultValue("30s") Duration refreshInterval) {
+}
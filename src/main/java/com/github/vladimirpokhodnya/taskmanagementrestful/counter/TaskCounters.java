@@ -0,0 +1,263 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.counter;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskStatus;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskSummaryDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Task counts per user and status, maintained incrementally instead of being computed with {@code COUNT(*)}.
+ * <p>
+ * Writers add their {@link TaskCounterDeltas} to one of several stripe rows of {@code task_counter} in their own
+ * transaction, and to the in-memory snapshot after that transaction commits. Reads are served from the snapshot
+ * only. The snapshot is reloaded from the table on startup and every {@code task.counters.refresh-interval},
+ * which picks up writes made by other nodes.
+ * <p>
+ * A transaction may commit while the reload query runs and add its deltas to the snapshot before or after the
+ * reloaded one replaces it. To count such a transaction exactly once, writers remember the id of their transaction
+ * and the reload remembers the database snapshot it read the table with: deltas committed during a reload are logged
+ * and replayed onto the reloaded snapshot unless that database snapshot already saw them, and deltas arriving after
+ * the swap are skipped if it did.
+ */
+@Component
+public class TaskCounters implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskCounters.class);
+
+    /**
+     * Stored in {@code task_counter} for tasks without owner or status, as the columns are part of the primary key.
+     */
+    public static final long NO_USER = -1;
+    public static final short NO_STATUS = -1;
+    private static final int NO_STATUS_SLOT = TaskStatus.values().length;
+    private static final int SLOTS = NO_STATUS_SLOT + 1;
+
+    /**
+     * Adds all deltas in one statement that also returns the id of the writing transaction.
+     */
+    private static final String UPSERT = """
+            with upserted as (
+                insert into task_counter (user_id, status, stripe, count)
+                select user_id, status, ?, count
+                from unnest(cast(? as bigint[]), cast(? as smallint[]), cast(? as bigint[])) as d (user_id, status, count)
+                on conflict (user_id, status, stripe) do update set count = task_counter.count + excluded.count
+            )
+            select pg_current_xact_id()::text::bigint
+            """;
+
+    /**
+     * Returns one row even for an empty table, so the database snapshot of the query is always known.
+     */
+    private static final String LOAD = """
+            select pg_current_snapshot()::text as snapshot, c.user_id, c.status, c.count
+            from (select 1) as one
+            left join (select user_id, status, sum(count) as count from task_counter group by user_id, status) as c on true
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskCounterProperties properties;
+
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private volatile Snapshot snapshot = new Snapshot(CommittedXids.NONE);
+    private Queue<Committed> committedDuringReload;
+    private ScheduledExecutorService scheduler;
+
+    public TaskCounters(JdbcTemplate jdbcTemplate, TaskCounterProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    public void apply(TaskCounterDeltas deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<TaskCounterDeltas.Key, Long>> entries = deltas.entries();
+        short stripe = (short) ThreadLocalRandom.current().nextInt(properties.stripes());
+        Long[] userIds = new Long[entries.size()];
+        Short[] statuses = new Short[entries.size()];
+        Long[] counts = new Long[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            TaskCounterDeltas.Key key = entries.get(i).getKey();
+            userIds[i] = key.userId() == null ? NO_USER : key.userId();
+            statuses[i] = key.status() == null ? NO_STATUS : (short) key.status().ordinal();
+            counts[i] = entries.get(i).getValue();
+        }
+        long xid = jdbcTemplate.queryForObject(UPSERT, Long.class, stripe, userIds, statuses, counts);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    addCommitted(xid, entries);
+                }
+            });
+        } else {
+            addCommitted(xid, entries);
+        }
+    }
+
+    /**
+     * Adds deltas that the caller has already written to {@code task_counter} to the in-memory snapshot; for writers
+     * outside of JDBC transactions, which must call it after their transaction, {@code xid}, has committed.
+     */
+    public void addToSnapshot(TaskCounterDeltas deltas, long xid) {
+        if (!deltas.isEmpty()) {
+            addCommitted(xid, deltas.entries());
+        }
+    }
+
+    public TaskSummaryDTO summary() {
+        return toSummary(null, snapshot.total);
+    }
+
+    public TaskSummaryDTO summary(long userId) {
+        return toSummary(userId, snapshot.byUser.get(userId));
+    }
+
+    void reload() {
+        Queue<Committed> committed = new ConcurrentLinkedQueue<>();
+        withSwapLock(() -> committedDuringReload = committed);
+        try {
+            List<long[]> rows = new ArrayList<>();
+            String[] databaseSnapshot = new String[1];
+            jdbcTemplate.query(LOAD, rs -> {
+                databaseSnapshot[0] = rs.getString("snapshot");
+                long userId = rs.getLong("user_id");
+                if (!rs.wasNull()) {
+                    short status = rs.getShort("status");
+                    rows.add(new long[]{userId, status == NO_STATUS ? NO_STATUS_SLOT : status, rs.getLong("count")});
+                }
+            });
+            Snapshot loaded = new Snapshot(CommittedXids.parse(databaseSnapshot[0]));
+            rows.forEach(row -> loaded.add(row[0], (int) row[1], row[2]));
+            withSwapLock(() -> {
+                for (Committed late : committed) {
+                    if (!loaded.committedXids.includes(late.xid())) {
+                        loaded.add(late.entries());
+                    }
+                }
+                snapshot = loaded;
+            });
+        } finally {
+            withSwapLock(() -> committedDuringReload = null);
+        }
+    }
+
+    private void addCommitted(long xid, List<Map.Entry<TaskCounterDeltas.Key, Long>> entries) {
+        swapLock.readLock().lock();
+        try {
+            Snapshot current = snapshot;
+            if (!current.committedXids.includes(xid)) {
+                current.add(entries);
+            }
+            Queue<Committed> committed = committedDuringReload;
+            if (committed != null) {
+                committed.add(new Committed(xid, entries));
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private void withSwapLock(Runnable action) {
+        swapLock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void start() {
+        reload();
+        long interval = properties.refreshInterval().toMillis();
+        if (interval > 0) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("task-counters-refresh").daemon().factory());
+            scheduler.scheduleWithFixedDelay(this::refresh, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    private void refresh() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("Failed to reload task counters", e);
+        }
+    }
+
+    private static TaskSummaryDTO toSummary(Long userId, AtomicLongArray counts) {
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        long total = 0;
+        for (TaskStatus status : TaskStatus.values()) {
+            long count = counts == null ? 0 : counts.get(status.ordinal());
+            byStatus.put(status, count);
+            total += count;
+        }
+        if (counts != null) {
+            total += counts.get(NO_STATUS_SLOT);
+        }
+        return new TaskSummaryDTO(userId, total, byStatus);
+    }
+
+    private record Committed(long xid, List<Map.Entry<TaskCounterDeltas.Key, Long>> entries) {
+    }
+
+    private static final class Snapshot {
+
+        final CommittedXids committedXids;
+        final Map<Long, AtomicLongArray> byUser = new ConcurrentHashMap<>();
+        final AtomicLongArray total = new AtomicLongArray(SLOTS);
+
+        Snapshot(CommittedXids committedXids) {
+            this.committedXids = committedXids;
+        }
+
+        void add(List<Map.Entry<TaskCounterDeltas.Key, Long>> entries) {
+            for (Map.Entry<TaskCounterDeltas.Key, Long> entry : entries) {
+                TaskCounterDeltas.Key key = entry.getKey();
+                add(key.userId() == null ? NO_USER : key.userId(),
+                        key.status() == null ? NO_STATUS_SLOT : key.status().ordinal(),
+                        entry.getValue());
+            }
+        }
+
+        void add(long userId, int slot, long delta) {
+            byUser.computeIfAbsent(userId, id -> new AtomicLongArray(SLOTS)).addAndGet(slot, delta);
+            total.addAndGet(slot, delta);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.event;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.exception.SubscriberLimitExceededException;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskChangeEvent;
+import com.github.vladimirpokhodnya.taskmanagementrestful.outbox.TaskChangeFeed;
+import com.github.vladimirpokhodnya.taskmanagementrestful.outbox.TaskChangeProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes task changes to SSE subscribers of the task owner, and of the previous owner when a task is reassigned, so
+ * that its stream sees the task leave.
+ * <p>
+ * A single dispatcher thread tails the {@link TaskChangeFeed}, so the database sees one reader no matter how many
+ * clients are connected, and changes made on other nodes are delivered too. Each change is offered to the bounded
+ * buffers of the owner's subscribers; a subscriber whose buffer is full is evicted instead of slowing the
+ * dispatcher down. Reconnecting clients resume from {@code Last-Event-ID}.
+ */
+@Component
+public class TaskEventHub implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskEventHub.class);
+    private static final long RETRY_DELAY_MILLIS = 1_000;
+
+    private final TaskChangeFeed feed;
+    private final TaskEventProperties properties;
+    private final int batchSize;
+    private final Map<Long, Set<TaskEventSubscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Counter evicted;
+
+    private volatile boolean running;
+    private Thread dispatcher;
+
+    public TaskEventHub(TaskChangeFeed feed, TaskEventProperties properties, TaskChangeProperties changeProperties,
+                        MeterRegistry meterRegistry) {
+        this.feed = feed;
+        this.properties = properties;
+        this.batchSize = changeProperties.batchSize();
+        this.evicted = Counter.builder("task.events.evicted")
+                .description("SSE subscribers disconnected because their event buffer was full")
+                .register(meterRegistry);
+        meterRegistry.gauge("task.events.subscribers", subscriberCount);
+    }
+
+    public SseEmitter subscribe(long userId, Long lastEventId) {
+        if (subscriberCount.incrementAndGet() > properties.maxSubscribers()) {
+            subscriberCount.decrementAndGet();
+            throw new SubscriberLimitExceededException(properties.maxSubscribers());
+        }
+        SseEmitter emitter = new SseEmitter(0L);
+        TaskEventSubscriber subscriber = new TaskEventSubscriber(userId, emitter, properties.bufferSize(),
+                properties.heartbeat(), this::remove);
+        subscribers.compute(userId, (id, set) -> {
+            Set<TaskEventSubscriber> result = set != null ? set : ConcurrentHashMap.newKeySet();
+            result.add(subscriber);
+            return result;
+        });
+        emitter.onCompletion(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        subscriber.start(lastEventId, since -> feed.readForUser(userId, since, batchSize));
+        return emitter;
+    }
+
+    int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    void dispatch(TaskChangeEvent event) {
+        dispatch(event, event.task().getUserId());
+        if (event.previousUserId() != null) {
+            dispatch(event, event.previousUserId());
+        }
+    }
+
+    private void dispatch(TaskChangeEvent event, Long userId) {
+        Set<TaskEventSubscriber> targets = userId == null ? null : subscribers.get(userId);
+        if (targets == null) {
+            return;
+        }
+        for (TaskEventSubscriber subscriber : targets) {
+            if (!subscriber.offer(event) && subscriber.close()) {
+                evicted.increment();
+            }
+        }
+    }
+
+    private void remove(TaskEventSubscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId(), (id, set) -> {
+            if (set.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+            }
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        dispatcher = new Thread(this::run, "task-events-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+        }
+        subscribers.values().forEach(set -> set.forEach(TaskEventSubscriber::close));
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        long last = -1;
+        while (running) {
+            try {
+                if (last < 0) {
+                    last = feed.latestSeq();
+                }
+                List<TaskChangeEvent> changes = feed.await(last, batchSize, properties.heartbeat());
+                for (TaskChangeEvent change : changes) {
+                    dispatch(change);
+                    last = change.seq();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Failed to dispatch task events", e);
+                try {
+                    Thread.sleep(RETRY_DELAY_MILLIS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
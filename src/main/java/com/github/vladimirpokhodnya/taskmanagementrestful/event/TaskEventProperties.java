@@ -0,0 +1,17 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.event;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param bufferSize     events buffered per subscriber; a subscriber whose buffer is full is disconnected
+ * @param heartbeat      interval of SSE comments that keep idle connections open and detect dead ones
+ * @param maxSubscribers subscribers per node; further subscriptions are rejected with 503
+ */
+@ConfigurationProperties("task.events")
+public record TaskEventProperties(@DefaultValue("256") int bufferSize,
+                                  @DefaultValue("15s") Duration heartbeat,
+                                  @DefaultValue("100000") int maxSubscribers) {
+}
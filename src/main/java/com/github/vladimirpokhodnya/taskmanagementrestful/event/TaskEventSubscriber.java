@@ -0,0 +1,112 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.event;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskChangeEvent;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+/**
+ * One SSE connection: a bounded buffer filled by the hub and a virtual thread that writes it to the client.
+ * An idle subscriber is just a parked virtual thread and its buffer.
+ */
+final class TaskEventSubscriber {
+
+    private final long userId;
+    private final SseEmitter emitter;
+    private final BlockingQueue<TaskChangeEvent> buffer;
+    private final Duration heartbeat;
+    private final Consumer<TaskEventSubscriber> onClose;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private Thread thread;
+    private long lastSeq;
+
+    TaskEventSubscriber(long userId, SseEmitter emitter, int bufferSize, Duration heartbeat,
+                        Consumer<TaskEventSubscriber> onClose) {
+        this.userId = userId;
+        this.emitter = emitter;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.heartbeat = heartbeat;
+        this.onClose = onClose;
+    }
+
+    long userId() {
+        return userId;
+    }
+
+    /**
+     * @param replay pages of missed changes after a given {@code seq}, or {@code null} to start with live events
+     */
+    void start(Long lastEventId, LongFunction<List<TaskChangeEvent>> replay) {
+        lastSeq = lastEventId == null ? 0 : lastEventId;
+        thread = Thread.ofVirtual()
+                .name("task-events-" + userId)
+                .start(() -> run(lastEventId != null ? replay : null));
+    }
+
+    /**
+     * Never blocks the caller; {@code false} means the buffer is full and the subscriber should be evicted.
+     */
+    boolean offer(TaskChangeEvent event) {
+        return !closed.get() && buffer.offer(event);
+    }
+
+    /**
+     * @return {@code true} for the call that actually closed the subscriber
+     */
+    boolean close() {
+        if (!closed.compareAndSet(false, true)) {
+            return false;
+        }
+        if (thread != null) {
+            thread.interrupt();
+        }
+        return true;
+    }
+
+    private void run(LongFunction<List<TaskChangeEvent>> replay) {
+        try {
+            if (replay != null) {
+                List<TaskChangeEvent> missed;
+                do {
+                    missed = replay.apply(lastSeq);
+                    for (TaskChangeEvent event : missed) {
+                        send(event);
+                    }
+                } while (!missed.isEmpty() && !closed.get());
+            }
+            while (!closed.get()) {
+                TaskChangeEvent event = buffer.poll(heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+                if (event == null) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else if (event.seq() > lastSeq) {
+                    send(event);
+                }
+            }
+            emitter.complete();
+        } catch (InterruptedException e) {
+            emitter.complete();
+        } catch (IOException | RuntimeException e) {
+            emitter.completeWithError(e);
+        } finally {
+            onClose.accept(this);
+        }
+    }
+
+    private void send(TaskChangeEvent event) throws IOException {
+        emitter.send(SseEmitter.event()
+                .id(Long.toString(event.seq()))
+                .name(event.type().name())
+                .data(event, MediaType.APPLICATION_JSON));
+        lastSeq = event.seq();
+    }
+}
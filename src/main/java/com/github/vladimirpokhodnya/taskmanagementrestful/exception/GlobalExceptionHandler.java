@@ -1,16 +1,97 @@
 package com.github.vladimirpokhodnya.taskmanagementrestful.exception;
 
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.filter.ServerHttpObservationFilter;
 
 @ControllerAdvice
+@Profile("!reactive")
 public class GlobalExceptionHandler {
 
     @ExceptionHandler(TaskNotFoundException.class)
-    public ResponseEntity<String> handleTaskNotFoundException(TaskNotFoundException ex) {
+    public ResponseEntity<String> handleTaskNotFoundException(TaskNotFoundException ex, HttpServletRequest request) {
+        recordError(request, ex);
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
     }
 
+    @ExceptionHandler(TaskImportJobNotFoundException.class)
+    public ResponseEntity<String> handleTaskImportJobNotFoundException(TaskImportJobNotFoundException ex, HttpServletRequest request) {
+        recordError(request, ex);
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(TaskImportJobStartedException.class)
+    public ResponseEntity<String> handleTaskImportJobStartedException(TaskImportJobStartedException ex, HttpServletRequest request) {
+        recordError(request, ex);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(TaskStatusConflictException.class)
+    public ResponseEntity<String> handleTaskStatusConflictException(TaskStatusConflictException ex, HttpServletRequest request) {
+        recordError(request, ex);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(TaskVersionMismatchException.class)
+    public ResponseEntity<String> handleTaskVersionMismatchException(TaskVersionMismatchException ex, HttpServletRequest request) {
+        recordError(request, ex);
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<String> handleInvalidCursorException(InvalidCursorException ex, HttpServletRequest request) {
+        recordError(request, ex);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidSearchQueryException.class)
+    public ResponseEntity<String> handleInvalidSearchQueryException(InvalidSearchQueryException ex, HttpServletRequest request) {
+        recordError(request, ex);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidTaskFieldException.class)
+    public ResponseEntity<String> handleInvalidTaskFieldException(InvalidTaskFieldException ex, HttpServletRequest request) {
+        recordError(request, ex);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(TooManyTaskIdsException.class)
+    public ResponseEntity<String> handleTooManyTaskIdsException(TooManyTaskIdsException ex, HttpServletRequest request) {
+        recordError(request, ex);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidBulkStatusException.class)
+    public ResponseEntity<String> handleInvalidBulkStatusException(InvalidBulkStatusException ex, HttpServletRequest request) {
+        recordError(request, ex);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    /**
+     * A serialization failure, e.g. an update of a task that {@link
+     * com.github.vladimirpokhodnya.taskmanagementrestful.partition.LegacyTaskMover} moved to another partition at the
+     * same moment. Repeating the request succeeds, so it is a conflict rather than a server error.
+     */
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<String> handleConcurrencyFailureException(ConcurrencyFailureException ex, HttpServletRequest request) {
+        recordError(request, ex);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(TaskErrorCode.CONCURRENT_UPDATE.message());
+    }
+
+    @ExceptionHandler(SubscriberLimitExceededException.class)
+    public ResponseEntity<String> handleSubscriberLimitExceededException(SubscriberLimitExceededException ex, HttpServletRequest request) {
+        recordError(request, ex);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ex.getMessage());
+    }
+
+    private static void recordError(HttpServletRequest request, RuntimeException ex) {
+        ServerHttpObservationFilter.findObservationContext(request)
+                .ifPresent(context -> context.setError(ex));
+    }
 }
@@ -0,0 +1,7 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.exception;
+
+public class InvalidBulkStatusException extends RuntimeException {
+    public InvalidBulkStatusException(String message) {
+        super(message);
+    }
+}
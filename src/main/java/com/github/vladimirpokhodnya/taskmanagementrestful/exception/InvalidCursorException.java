@@ -0,0 +1,7 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String cursor) {
+        super("Некорректный курсор страницы: " + cursor);
+    }
+}
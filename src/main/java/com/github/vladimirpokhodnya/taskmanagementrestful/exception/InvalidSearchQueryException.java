@@ -0,0 +1,7 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.exception;
+
+public class InvalidSearchQueryException extends RuntimeException {
+    public InvalidSearchQueryException(String query) {
+        super("Поисковый запрос должен содержать слово не короче трех символов: " + query);
+    }
+}
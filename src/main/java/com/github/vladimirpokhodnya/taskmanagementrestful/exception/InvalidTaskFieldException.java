@@ -0,0 +1,7 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.exception;
+
+public class InvalidTaskFieldException extends RuntimeException {
+    public InvalidTaskFieldException(String field) {
+        super("Неизвестное поле задачи: " + field);
+    }
+}
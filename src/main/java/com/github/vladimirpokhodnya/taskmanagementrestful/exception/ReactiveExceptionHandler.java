@@ -0,0 +1,64 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.exception;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.observation.ServerRequestObservationContext;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * WebFlux counterpart of {@link GlobalExceptionHandler} with the same status codes and bodies.
+ */
+@ControllerAdvice
+@Profile("reactive")
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(TaskNotFoundException.class)
+    public ResponseEntity<String> handleTaskNotFoundException(TaskNotFoundException ex, ServerWebExchange exchange) {
+        return error(HttpStatus.NOT_FOUND, ex, exchange);
+    }
+
+    @ExceptionHandler(TaskStatusConflictException.class)
+    public ResponseEntity<String> handleTaskStatusConflictException(TaskStatusConflictException ex, ServerWebExchange exchange) {
+        return error(HttpStatus.CONFLICT, ex, exchange);
+    }
+
+    @ExceptionHandler(TaskVersionMismatchException.class)
+    public ResponseEntity<String> handleTaskVersionMismatchException(TaskVersionMismatchException ex, ServerWebExchange exchange) {
+        return error(HttpStatus.PRECONDITION_FAILED, ex, exchange);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<String> handleInvalidCursorException(InvalidCursorException ex, ServerWebExchange exchange) {
+        return error(HttpStatus.BAD_REQUEST, ex, exchange);
+    }
+
+    @ExceptionHandler(InvalidTaskFieldException.class)
+    public ResponseEntity<String> handleInvalidTaskFieldException(InvalidTaskFieldException ex, ServerWebExchange exchange) {
+        return error(HttpStatus.BAD_REQUEST, ex, exchange);
+    }
+
+    @ExceptionHandler(TooManyTaskIdsException.class)
+    public ResponseEntity<String> handleTooManyTaskIdsException(TooManyTaskIdsException ex, ServerWebExchange exchange) {
+        return error(HttpStatus.BAD_REQUEST, ex, exchange);
+    }
+
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<String> handleConcurrencyFailureException(ConcurrencyFailureException ex, ServerWebExchange exchange) {
+        return error(HttpStatus.CONFLICT, TaskErrorCode.CONCURRENT_UPDATE.message(), ex, exchange);
+    }
+
+    private static ResponseEntity<String> error(HttpStatus status, RuntimeException ex, ServerWebExchange exchange) {
+        return error(status, ex.getMessage(), ex, exchange);
+    }
+
+    private static ResponseEntity<String> error(HttpStatus status, String body, RuntimeException ex,
+                                                ServerWebExchange exchange) {
+        ServerRequestObservationContext.findCurrent(exchange.getAttributes())
+                .ifPresent(context -> context.setError(ex));
+        return ResponseEntity.status(status).body(body);
+    }
+}
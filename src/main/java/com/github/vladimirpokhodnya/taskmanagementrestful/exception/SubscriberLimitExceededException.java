@@ -0,0 +1,7 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.exception;
+
+public class SubscriberLimitExceededException extends RuntimeException {
+    public SubscriberLimitExceededException(int limit) {
+        super("Превышено число подписок на события задач: " + limit);
+    }
+}
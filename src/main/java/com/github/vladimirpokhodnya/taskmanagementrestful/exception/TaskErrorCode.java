@@ -0,0 +1,50 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.exception;
+
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Stable codes for failures reported per item rather than as an error response, so that clients can act on them
+ * and database messages, which may name tables, constraints and values, stay in the log.
+ */
+public enum TaskErrorCode {
+    INVALID_RECORD("Запись не является корректной задачей."),
+    UNREADABLE_INPUT("Не удалось прочитать загруженные данные."),
+    CONSTRAINT_VIOLATION("Данные задачи нарушают ограничение целостности."),
+    CONCURRENT_UPDATE("Задачи изменены параллельно, повторите запрос."),
+    DATABASE_UNAVAILABLE("База данных временно недоступна, повторите запрос."),
+    INTERNAL_ERROR("Внутренняя ошибка сервера.");
+
+    private final String message;
+
+    TaskErrorCode(String message) {
+        this.message = message;
+    }
+
+    public String message() {
+        return message;
+    }
+
+    public static TaskErrorCode of(Throwable e) {
+        if (e instanceof IOException || e instanceof UncheckedIOException) {
+            return UNREADABLE_INPUT;
+        }
+        if (e instanceof DataIntegrityViolationException) {
+            return CONSTRAINT_VIOLATION;
+        }
+        if (e instanceof ConcurrencyFailureException) {
+            return CONCURRENT_UPDATE;
+        }
+        if (e instanceof TransientDataAccessException || e instanceof DataAccessResourceFailureException
+                || e instanceof CannotCreateTransactionException) {
+            return DATABASE_UNAVAILABLE;
+        }
+        return INTERNAL_ERROR;
+    }
+}
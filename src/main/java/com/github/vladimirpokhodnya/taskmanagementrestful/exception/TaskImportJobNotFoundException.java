@@ -0,0 +1,7 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.exception;
+
+public class TaskImportJobNotFoundException extends RuntimeException {
+    public TaskImportJobNotFoundException(String id) {
+        super("Импорт с ID " + id + " не найден.");
+    }
+}
@@ -0,0 +1,7 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.exception;
+
+public class TaskImportJobStartedException extends RuntimeException {
+    public TaskImportJobStartedException(String id) {
+        super("Импорт с ID " + id + " уже запущен.");
+    }
+}
@@ -0,0 +1,9 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.exception;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskStatus;
+
+public class TaskStatusConflictException extends RuntimeException {
+    public TaskStatusConflictException(Long id, TaskStatus expectedStatus) {
+        super("Задача с ID " + id + " уже не находится в статусе " + expectedStatus + ".");
+    }
+}
@@ -0,0 +1,7 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.exception;
+
+public class TaskVersionMismatchException extends RuntimeException {
+    public TaskVersionMismatchException(Long id) {
+        super("Задача с ID " + id + " была изменена другим запросом.");
+    }
+}
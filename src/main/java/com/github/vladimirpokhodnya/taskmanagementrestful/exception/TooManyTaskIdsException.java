@@ -0,0 +1,7 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.exception;
+
+public class TooManyTaskIdsException extends RuntimeException {
+    public TooManyTaskIdsException(int count, int max) {
+        super("Запрошено слишком много задач: " + count + ", допускается не более " + max);
+    }
+}
@@ -0,0 +1,173 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.importing;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskStatus;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * CSV as described at {@link TaskImportFormat#CSV}. Quoted fields may span lines; empty lines are skipped.
+ */
+final class CsvTaskRecordReader extends TaskRecordReader {
+
+    static final List<String> COLUMNS = List.of("title", "description", "userId", "status");
+    private static final int TITLE = 0;
+    private static final int DESCRIPTION = 1;
+    private static final int USER_ID = 2;
+    private static final int STATUS = 3;
+
+    private final List<String> fields = new ArrayList<>();
+    private final StringBuilder field = new StringBuilder();
+    private int recordLength;
+    private boolean tooLong;
+    // For each of COLUMNS the field it is in, or -1; null until the header has been read
+    private int[] positions;
+    private int fieldCount;
+
+    CsvTaskRecordReader(Reader in, int maxRecordLength) {
+        super(in, maxRecordLength);
+    }
+
+    @Override
+    protected TaskDTO readRecord() throws IOException {
+        if (positions == null && !readHeader()) {
+            return null;
+        }
+        do {
+            markRecordStart();
+            if (!readFields()) {
+                return null;
+            }
+        } while (isEmptyRecord());
+        if (fields.size() != fieldCount) {
+            throw new InvalidTaskRecordException("Ожидалось полей: " + fieldCount + ", получено: " + fields.size());
+        }
+        return new TaskDTO(null, column(TITLE), column(DESCRIPTION), parseUserId(column(USER_ID)), parseStatus(column(STATUS)));
+    }
+
+    private boolean readHeader() throws IOException {
+        try {
+            do {
+                markRecordStart();
+                if (!readFields()) {
+                    return false;
+                }
+            } while (isEmptyRecord());
+        } catch (InvalidTaskRecordException e) {
+            throw new IOException("Некорректный заголовок CSV: " + e.getMessage());
+        }
+        int[] found = new int[COLUMNS.size()];
+        Arrays.fill(found, -1);
+        boolean any = false;
+        for (int i = fields.size() - 1; i >= 0; i--) {
+            int column = fields.get(i) == null ? -1 : COLUMNS.indexOf(fields.get(i).strip());
+            if (column >= 0) {
+                found[column] = i;
+                any = true;
+            }
+        }
+        if (!any) {
+            throw new IOException("Заголовок CSV не содержит ни одного из столбцов " + COLUMNS);
+        }
+        positions = found;
+        fieldCount = fields.size();
+        return true;
+    }
+
+    /**
+     * Reads the fields of one record into {@link #fields}.
+     *
+     * @return {@code false} at the end of the input
+     */
+    private boolean readFields() throws IOException {
+        fields.clear();
+        field.setLength(0);
+        recordLength = 0;
+        tooLong = false;
+        boolean quoted = false;
+        boolean inQuotes = false;
+        int c = read();
+        if (c == -1) {
+            return false;
+        }
+        while (true) {
+            if (inQuotes) {
+                if (c == -1) {
+                    throw new InvalidTaskRecordException("Кавычка не закрыта до конца данных");
+                }
+                if (c == '"') {
+                    c = read();
+                    if (c != '"') {
+                        inQuotes = false;
+                        continue;
+                    }
+                }
+                append(c);
+            } else if (c == ',') {
+                endField(quoted);
+                quoted = false;
+            } else if (c == '\n' || c == -1) {
+                endField(quoted);
+                break;
+            } else if (c == '"' && !quoted && field.isEmpty()) {
+                quoted = true;
+                inQuotes = true;
+            } else if (c != '\r') {
+                append(c);
+            }
+            c = read();
+        }
+        if (tooLong) {
+            throw tooLong();
+        }
+        return true;
+    }
+
+    private void append(int c) {
+        if (recordLength < maxRecordLength) {
+            field.append((char) c);
+            recordLength++;
+        } else {
+            tooLong = true;
+        }
+    }
+
+    private void endField(boolean quoted) {
+        fields.add(field.isEmpty() && !quoted ? null : field.toString());
+        field.setLength(0);
+    }
+
+    private boolean isEmptyRecord() {
+        return fields.size() == 1 && fields.getFirst() == null;
+    }
+
+    private String column(int column) {
+        return positions[column] < 0 ? null : fields.get(positions[column]);
+    }
+
+    private static Long parseUserId(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.strip());
+        } catch (NumberFormatException e) {
+            throw new InvalidTaskRecordException("Некорректный userId: " + value);
+        }
+    }
+
+    private static TaskStatus parseStatus(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return TaskStatus.valueOf(value.strip());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidTaskRecordException("Неизвестный статус: " + value + ", допустимы " + Arrays.toString(TaskStatus.values()));
+        }
+    }
+}
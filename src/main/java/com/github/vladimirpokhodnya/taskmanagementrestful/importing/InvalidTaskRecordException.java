@@ -0,0 +1,10 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.importing;
+
+/**
+ * A record of an import that is not a valid task. It has been consumed, so reading can go on with the next one.
+ */
+public class InvalidTaskRecordException extends RuntimeException {
+    public InvalidTaskRecordException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.importing;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * One {@link TaskDTO} as JSON per line; blank lines are skipped.
+ */
+final class NdjsonTaskRecordReader extends TaskRecordReader {
+
+    private final ObjectReader taskReader;
+    private final StringBuilder record = new StringBuilder();
+
+    NdjsonTaskRecordReader(Reader in, ObjectReader taskReader, int maxRecordLength) {
+        super(in, maxRecordLength);
+        this.taskReader = taskReader;
+    }
+
+    @Override
+    protected TaskDTO readRecord() throws IOException {
+        while (true) {
+            markRecordStart();
+            record.setLength(0);
+            boolean tooLong = false;
+            int c;
+            while ((c = read()) != -1 && c != '\n') {
+                if (record.length() < maxRecordLength) {
+                    record.append((char) c);
+                } else {
+                    tooLong = true;
+                }
+            }
+            if (tooLong) {
+                throw tooLong();
+            }
+            if (!isBlank(record)) {
+                return parse(record.toString());
+            }
+            if (c == -1) {
+                return null;
+            }
+        }
+    }
+
+    private TaskDTO parse(String json) {
+        TaskDTO task;
+        try {
+            task = taskReader.readValue(json);
+        } catch (JsonProcessingException e) {
+            throw new InvalidTaskRecordException(e.getOriginalMessage());
+        }
+        if (task == null) {
+            throw new InvalidTaskRecordException("Запись не является объектом задачи");
+        }
+        return task;
+    }
+
+    private static boolean isBlank(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (!Character.isWhitespace(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,106 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.importing;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+
+/**
+ * Writes tasks into a {@link #COPY} in PostgreSQL's text format. Rows are collected in a buffer that is handed to the
+ * driver when full, so the driver is called once per buffer rather than once per row.
+ */
+public final class TaskCopyWriter {
+
+    public static final String COPY = "copy task (id, bucket, title, description, user_id, status) from stdin";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final CopyIn copyIn;
+    private final StringBuilder row = new StringBuilder();
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int size;
+
+    public TaskCopyWriter(CopyIn copyIn) {
+        this.copyIn = copyIn;
+    }
+
+    public void write(long id, short bucket, TaskDTO task) throws SQLException {
+        row.setLength(0);
+        row.append(id).append('\t').append(bucket).append('\t');
+        appendText(task.getTitle());
+        row.append('\t');
+        appendText(task.getDescription());
+        row.append('\t');
+        if (task.getUserId() == null) {
+            row.append("\\N");
+        } else {
+            row.append(task.getUserId().longValue());
+        }
+        row.append('\t');
+        if (task.getStatus() == null) {
+            row.append("\\N");
+        } else {
+            row.append(task.getStatus().ordinal());
+        }
+        row.append('\n');
+
+        // The connection's client_encoding is UTF8
+        byte[] bytes = row.toString().getBytes(StandardCharsets.UTF_8);
+        if (size + bytes.length > buffer.length) {
+            flush();
+        }
+        if (bytes.length > buffer.length) {
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+        } else {
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+    }
+
+    /**
+     * Ends the {@code COPY}.
+     *
+     * @return the number of rows copied
+     */
+    public long finish() throws SQLException {
+        flush();
+        return copyIn.endCopy();
+    }
+
+    /**
+     * Aborts the {@code COPY} if it is still running, so that the connection can be used again.
+     */
+    public void cancel() {
+        try {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        } catch (SQLException e) {
+            // The transaction is rolled back anyway
+        }
+    }
+
+    private void flush() throws SQLException {
+        if (size > 0) {
+            copyIn.writeToCopy(buffer, 0, size);
+            size = 0;
+        }
+    }
+
+    private void appendText(String text) {
+        if (text == null) {
+            row.append("\\N");
+            return;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\' -> row.append("\\\\");
+                case '\n' -> row.append("\\n");
+                case '\r' -> row.append("\\r");
+                case '\t' -> row.append("\\t");
+                default -> row.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.importing;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Formats of an import upload, by {@code Content-Type}.
+ */
+public enum TaskImportFormat {
+
+    /**
+     * One JSON task per line, as written by {@code GET /tasks/export}.
+     */
+    NDJSON,
+
+    /**
+     * RFC 4180 with a header record naming the columns: {@code title}, {@code description}, {@code userId} and
+     * {@code status}, in any order. Other columns are ignored, missing ones are empty. An empty field is {@code null},
+     * a quoted empty field ({@code ""}) an empty string.
+     */
+    CSV;
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType(TEXT_CSV_VALUE);
+
+    public static TaskImportFormat of(MediaType contentType) {
+        return TEXT_CSV.isCompatibleWith(contentType) ? CSV : NDJSON;
+    }
+}
@@ -0,0 +1,100 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.importing;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.exception.TaskErrorCode;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskImportError;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskImportJobDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskImportJobDTO.State;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * State of one import, written by the request that uploads the tasks and read by the requests polling it.
+ */
+public final class TaskImportJob {
+
+    private final String id;
+    private final Instant createdAt = Instant.now();
+    private final int maxErrors;
+    private final AtomicReference<State> state = new AtomicReference<>(State.WAITING);
+    private final AtomicLong read = new AtomicLong();
+    private final AtomicLong imported = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final ConcurrentLinkedQueue<TaskImportError> errors = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger errorCount = new AtomicInteger();
+    private volatile Instant finishedAt;
+    private volatile TaskErrorCode failureCode;
+    private volatile String failure;
+
+    TaskImportJob(String id, int maxErrors) {
+        this.id = id;
+        this.maxErrors = maxErrors;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    /**
+     * @return {@code false} if the job has already been started
+     */
+    public boolean start() {
+        return state.compareAndSet(State.WAITING, State.RUNNING);
+    }
+
+    public void recordRead() {
+        read.incrementAndGet();
+    }
+
+    public void recordRejected(long line, String message) {
+        rejected.incrementAndGet();
+        addError(new TaskImportError(line, line, TaskErrorCode.INVALID_RECORD, message));
+    }
+
+    public void chunkCommitted(long tasks) {
+        imported.addAndGet(tasks);
+    }
+
+    public void chunkFailed(long fromLine, long toLine, long tasks, TaskErrorCode code) {
+        failed.addAndGet(tasks);
+        addError(new TaskImportError(fromLine, toLine, code, code.message()));
+    }
+
+    public void complete() {
+        finish(State.COMPLETED);
+    }
+
+    public void fail(TaskErrorCode code, String message) {
+        failureCode = code;
+        failure = message;
+        finish(State.FAILED);
+    }
+
+    /**
+     * @return the time the job finished, or {@code null} while it has not
+     */
+    Instant finishedAt() {
+        return finishedAt;
+    }
+
+    public TaskImportJobDTO toDTO() {
+        return new TaskImportJobDTO(id, state.get(), read.get(), imported.get(), rejected.get(), failed.get(),
+                createdAt, finishedAt, List.copyOf(errors), failureCode, failure);
+    }
+
+    private void finish(State finalState) {
+        finishedAt = Instant.now();
+        state.set(finalState);
+    }
+
+    private void addError(TaskImportError error) {
+        if (errorCount.getAndIncrement() < maxErrors) {
+            errors.add(error);
+        }
+    }
+}
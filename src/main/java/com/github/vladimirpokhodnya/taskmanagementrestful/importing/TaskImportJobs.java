@@ -0,0 +1,35 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.importing;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The imports of this node. Finished jobs are dropped {@code task.import.retention} after they finished.
+ */
+@Component
+public class TaskImportJobs {
+
+    private final Map<String, TaskImportJob> jobs = new ConcurrentHashMap<>();
+    private final TaskImportProperties properties;
+
+    public TaskImportJobs(TaskImportProperties properties) {
+        this.properties = properties;
+    }
+
+    public TaskImportJob create() {
+        Instant expired = Instant.now().minus(properties.retention());
+        jobs.values().removeIf(job -> job.finishedAt() != null && job.finishedAt().isBefore(expired));
+        TaskImportJob job = new TaskImportJob(UUID.randomUUID().toString(), properties.maxErrors());
+        jobs.put(job.id(), job);
+        return job;
+    }
+
+    public Optional<TaskImportJob> get(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+}
@@ -0,0 +1,19 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.importing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param chunkSize       tasks copied per transaction
+ * @param maxRecordLength longest record in characters; longer records are rejected without being held in memory
+ * @param maxErrors       rejected records and failed chunks listed per job; the ones beyond are only counted
+ * @param retention       how long a finished job can still be polled
+ */
+@ConfigurationProperties("task.import")
+public record TaskImportProperties(@DefaultValue("10000") int chunkSize,
+                                   @DefaultValue("1048576") int maxRecordLength,
+                                   @DefaultValue("1000") int maxErrors,
+                                   @DefaultValue("1h") Duration retention) {
+}
@@ -0,0 +1,123 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.importing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+
+/**
+ * Reads the tasks of an import one record at a time, so that memory is bounded by the longest record allowed rather
+ * than by the size of the upload. Records are validated against the columns of {@code task}, so that a bad record
+ * is rejected on its own instead of failing the {@code COPY} of its chunk.
+ */
+public abstract class TaskRecordReader {
+
+    // task.title is varchar(255)
+    static final int MAX_TITLE_LENGTH = 255;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    protected final int maxRecordLength;
+    private final Reader in;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private long line = 1;
+    private long recordLine = 1;
+
+    protected TaskRecordReader(Reader in, int maxRecordLength) {
+        this.in = in;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    public static TaskRecordReader open(TaskImportFormat format, InputStream in, Charset charset,
+                                        ObjectMapper objectMapper, int maxRecordLength) {
+        Reader reader = new InputStreamReader(in, charset);
+        return switch (format) {
+            case NDJSON -> new NdjsonTaskRecordReader(reader, objectMapper.readerFor(TaskDTO.class), maxRecordLength);
+            case CSV -> new CsvTaskRecordReader(reader, maxRecordLength);
+        };
+    }
+
+    /**
+     * Reads the next task. Ids and versions in the input are ignored.
+     *
+     * @return the task, or {@code null} at the end of the input
+     * @throws InvalidTaskRecordException if the record is not a valid task
+     * @throws IOException                if the input cannot be read, or is not in the format at all
+     */
+    public TaskDTO next() throws IOException {
+        TaskDTO task = readRecord();
+        if (task == null) {
+            return null;
+        }
+        validate(task);
+        task.setId(null);
+        task.setVersion(null);
+        return task;
+    }
+
+    /**
+     * The line the record last returned or rejected by {@link #next()} starts on.
+     */
+    public long recordLine() {
+        return recordLine;
+    }
+
+    /**
+     * The line reading goes on from.
+     */
+    public long line() {
+        return line;
+    }
+
+    /**
+     * @return the task of the next record, or {@code null} at the end of the input
+     */
+    protected abstract TaskDTO readRecord() throws IOException;
+
+    protected final void markRecordStart() {
+        recordLine = line;
+    }
+
+    /**
+     * @return the next character, or {@code -1} at the end of the input
+     */
+    protected final int read() throws IOException {
+        if (position == limit) {
+            limit = in.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        char c = buffer[position++];
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+
+    protected final InvalidTaskRecordException tooLong() {
+        return new InvalidTaskRecordException("Запись длиннее " + maxRecordLength + " символов");
+    }
+
+    private static void validate(TaskDTO task) {
+        String title = task.getTitle();
+        if (title != null && title.length() > MAX_TITLE_LENGTH && title.codePointCount(0, title.length()) > MAX_TITLE_LENGTH) {
+            throw new InvalidTaskRecordException("Заголовок длиннее " + MAX_TITLE_LENGTH + " символов");
+        }
+        // PostgreSQL text cannot hold NUL
+        if (containsNul(title) || containsNul(task.getDescription())) {
+            throw new InvalidTaskRecordException("Текст содержит символ NUL");
+        }
+    }
+
+    private static boolean containsNul(String text) {
+        return text != null && text.indexOf('\0') >= 0;
+    }
+}
@@ -0,0 +1,48 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import org.hibernate.SessionEventListener;
+
+/**
+ * Per-session (and so per request) counts of SQL statements and flushed entities issued through Hibernate.
+ * <p>
+ * Hibernate creates one instance per session from {@code hibernate.session.events.auto}, so the summaries are
+ * registered in the global registry, which Spring Boot adds its registry to.
+ */
+public class HibernateSessionMetrics implements SessionEventListener {
+
+    private static final DistributionSummary STATEMENTS = DistributionSummary.builder("task.hibernate.session.statements")
+            .description("SQL statements executed by one Hibernate session")
+            .publishPercentiles(0.5, 0.99, 0.999)
+            .register(Metrics.globalRegistry);
+
+    private static final DistributionSummary FLUSHED_ENTITIES = DistributionSummary.builder("task.hibernate.session.flushed.entities")
+            .description("Entities flushed by one Hibernate session")
+            .publishPercentiles(0.5, 0.99, 0.999)
+            .register(Metrics.globalRegistry);
+
+    private int statements;
+    private int flushedEntities;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statements++;
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        statements++;
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        flushedEntities += numberOfEntities;
+    }
+
+    @Override
+    public void end() {
+        STATEMENTS.record(statements);
+        FLUSHED_ENTITIES.record(flushedEntities);
+    }
+}
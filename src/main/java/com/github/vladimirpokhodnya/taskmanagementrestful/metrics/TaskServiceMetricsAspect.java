@@ -0,0 +1,88 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public method of the task services as {@code task.service}, tagged with the class, the method
+ * and the outcome: {@code SUCCESS}, {@code NOT_FOUND} (empty {@link Optional} or {@code false}) or
+ * {@code ERROR} together with the exception class.
+ * <p>
+ * Timers are resolved once per method and outcome, so recording a call costs two {@code nanoTime} reads and
+ * a map lookup by {@link Method}.
+ */
+@Aspect
+@Component
+public class TaskServiceMetricsAspect {
+
+    static final String METRIC_NAME = "task.service";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, MethodTimers> timers = new ConcurrentHashMap<>();
+
+    public TaskServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.github.vladimirpokhodnya.taskmanagementrestful.service.Task*Service.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodTimers methodTimers = timers.computeIfAbsent(((MethodSignature) joinPoint.getSignature()).getMethod(),
+                MethodTimers::new);
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            methodTimers.of(result).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            methodTimers.error(e).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private final class MethodTimers {
+
+        private final String className;
+        private final String methodName;
+        private final Timer success;
+        private final Timer notFound;
+        private final Map<Class<?>, Timer> errors = new ConcurrentHashMap<>();
+
+        MethodTimers(Method method) {
+            this.className = method.getDeclaringClass().getSimpleName();
+            this.methodName = method.getName();
+            this.success = timer("SUCCESS", "none");
+            this.notFound = timer("NOT_FOUND", "none");
+        }
+
+        Timer of(Object result) {
+            if (result instanceof Optional<?> optional && optional.isEmpty() || Boolean.FALSE.equals(result)) {
+                return notFound;
+            }
+            return success;
+        }
+
+        Timer error(Throwable e) {
+            return errors.computeIfAbsent(e.getClass(), type -> timer("ERROR", type.getSimpleName()));
+        }
+
+        private Timer timer(String outcome, String exception) {
+            return Timer.builder(METRIC_NAME)
+                    .tag("class", className)
+                    .tag("method", methodName)
+                    .tag("outcome", outcome)
+                    .tag("exception", exception)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -1,29 +1,62 @@
 package com.github.vladimirpokhodnya.taskmanagementrestful.model;
 
+import com.github.vladimirpokhodnya.taskmanagementrestful.partition.TaskIdSequence;
+import com.github.vladimirpokhodnya.taskmanagementrestful.partition.TaskPartitions;
+import jakarta.persistence.Basic;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.PartitionKey;
+import org.hibernate.type.SqlTypes;
 
+import java.time.Instant;
 import java.util.Objects;
 
+/**
+ * The description is loaded on first access, which needs the bytecode enhancement of the build, so that loading
+ * tasks to change their status does not read it; updates only write the changed columns.
+ */
 @Entity
 @Table(name = "task")
+@DynamicUpdate
 public class Task {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TaskIdSequence
     private Long id;
+    // The partition of the task, see TaskPartitions; set on insert, and only the SQL updates move it. Updates of the
+    // entity name it next to the id, so that they touch one partition only
+    @PartitionKey
+    @Column(nullable = false, updatable = false)
+    private short bucket;
     private String title;
+    @Basic(fetch = FetchType.LAZY)
+    @Column(columnDefinition = "text")
     private String description;
     private Long userId;
+    @Enumerated(EnumType.ORDINAL)
+    @JdbcTypeCode(SqlTypes.SMALLINT)
     private TaskStatus status;
+    @Version
+    private Long version;
+    // Lease of a claimed task, see TaskClaimService; a change of the status ends it
+    private Instant leaseUntil;
 
     public Task() {
     }
 
+    @PrePersist
+    void assignBucket() {
+        bucket = TaskPartitions.bucket(userId);
+    }
+
     public void setId(Long id) {
         this.id = id;
     }
@@ -32,6 +65,10 @@ public class Task {
         return id;
     }
 
+    public short getBucket() {
+        return bucket;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -60,11 +97,26 @@ public class Task {
         return status;
     }
 
-    @Enumerated(EnumType.STRING)
     public void setStatus(TaskStatus status) {
         this.status = status;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Instant getLeaseUntil() {
+        return leaseUntil;
+    }
+
+    public void setLeaseUntil(Instant leaseUntil) {
+        this.leaseUntil = leaseUntil;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,81 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.model;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.exception.InvalidTaskFieldException;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The properties of {@link TaskDTO} a client can select with {@code ?fields=}, and the columns they are read from.
+ */
+public enum TaskField {
+    ID("id", "id"),
+    TITLE("title", "title"),
+    DESCRIPTION("description", "description"),
+    USER_ID("userId", "user_id"),
+    STATUS("status", "status");
+
+    private final String property;
+    private final String column;
+
+    TaskField(String property, String column) {
+        this.property = property;
+        this.column = column;
+    }
+
+    public String property() {
+        return property;
+    }
+
+    public String column() {
+        return column;
+    }
+
+    /**
+     * Parses a comma-separated list of property names; the id is always selected, as pages are continued after it.
+     *
+     * @return {@code null}, meaning every field, if {@code fields} is {@code null}
+     */
+    public static Set<TaskField> parse(String fields) {
+        if (fields == null) {
+            return null;
+        }
+        Set<TaskField> selected = EnumSet.of(ID);
+        for (String name : fields.split(",")) {
+            String property = name.strip();
+            if (!property.isEmpty()) {
+                selected.add(ofProperty(property));
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * The selected properties of the task, in the order of the enum, to be serialized in place of the task.
+     */
+    public static Map<String, Object> project(TaskDTO task, Set<TaskField> fields) {
+        Map<String, Object> projection = new LinkedHashMap<>();
+        for (TaskField field : fields) {
+            projection.put(field.property, switch (field) {
+                case ID -> task.getId();
+                case TITLE -> task.getTitle();
+                case DESCRIPTION -> task.getDescription();
+                case USER_ID -> task.getUserId();
+                case STATUS -> task.getStatus();
+            });
+        }
+        return projection;
+    }
+
+    private static TaskField ofProperty(String property) {
+        for (TaskField field : values()) {
+            if (field.property.equals(property)) {
+                return field;
+            }
+        }
+        throw new InvalidTaskFieldException(property);
+    }
+}
@@ -1,5 +1,8 @@
 package com.github.vladimirpokhodnya.taskmanagementrestful.model;
 
+/**
+ * Stored by ordinal in a {@code smallint} column, so new values must only be appended.
+ */
 public enum TaskStatus {
     NOT_STARTED,
     IN_PROGRESS,
@@ -0,0 +1,22 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.model.dto;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.exception.TaskErrorCode;
+
+public record TaskBatchItemResult(int index, Long id, Outcome outcome, TaskErrorCode code, String error) {
+
+    public enum Outcome {
+        CREATED,
+        UPDATED,
+        DELETED,
+        NOT_FOUND,
+        FAILED
+    }
+
+    public static TaskBatchItemResult of(int index, Long id, Outcome outcome) {
+        return new TaskBatchItemResult(index, id, outcome, null, null);
+    }
+
+    public static TaskBatchItemResult failed(int index, Long id, TaskErrorCode code) {
+        return new TaskBatchItemResult(index, id, Outcome.FAILED, code, code.message());
+    }
+}
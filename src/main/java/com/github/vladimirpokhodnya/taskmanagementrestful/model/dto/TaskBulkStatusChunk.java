@@ -0,0 +1,12 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.model.dto;
+
+import java.util.List;
+
+/**
+ * One committed chunk of a bulk status update.
+ *
+ * @param ids      the tasks updated by the chunk, in id order
+ * @param affected the tasks updated so far, this chunk included
+ */
+public record TaskBulkStatusChunk(List<Long> ids, long affected) {
+}
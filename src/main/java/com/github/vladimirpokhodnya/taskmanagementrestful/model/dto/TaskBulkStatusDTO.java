@@ -0,0 +1,18 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.model.dto;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskStatus;
+
+import java.util.Set;
+
+/**
+ * Sets {@code status} on every task matching the filter; filter fields that are {@code null} match every task, but at
+ * least one must be set.
+ *
+ * @param userId   owner of the tasks
+ * @param statuses current statuses of the tasks
+ * @param fromId   lowest id, inclusive
+ * @param toId     highest id, inclusive
+ * @param status   the new status
+ */
+public record TaskBulkStatusDTO(Long userId, Set<TaskStatus> statuses, Long fromId, Long toId, TaskStatus status) {
+}
@@ -0,0 +1,15 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.model.dto;
+
+import java.time.Instant;
+
+/**
+ * One entry of the task change feed. {@code task} is the state after the change, or the last state for
+ * {@link Type#DELETED}. {@code previousUserId} is the owner before an update that reassigned the task, otherwise
+ * {@code null}.
+ */
+public record TaskChangeEvent(long seq, Type type, Long taskId, TaskDTO task, Long previousUserId, Instant changedAt) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+}
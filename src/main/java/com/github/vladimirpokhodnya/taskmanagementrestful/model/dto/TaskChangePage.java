@@ -0,0 +1,9 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.model.dto;
+
+import java.util.List;
+
+/**
+ * @param lastSeq the {@code since} to pass for the next page; unchanged if there were no new changes
+ */
+public record TaskChangePage(List<TaskChangeEvent> changes, long lastSeq) {
+}
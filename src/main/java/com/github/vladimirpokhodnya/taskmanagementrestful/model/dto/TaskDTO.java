@@ -1,6 +1,7 @@
 package com.github.vladimirpokhodnya.taskmanagementrestful.model.dto;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskStatus;
 
 public class TaskDTO {
@@ -9,10 +10,25 @@ public class TaskDTO {
     private String description;
     private Long userId;
     private TaskStatus status;
+    @JsonIgnore
+    private Long version;
 
     public TaskDTO() {
     }
 
+    public TaskDTO(Long id, String title, String description, Long userId, TaskStatus status) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.userId = userId;
+        this.status = status;
+    }
+
+    public TaskDTO(Long id, String title, String description, Long userId, TaskStatus status, Long version) {
+        this(id, title, description, userId, status);
+        this.version = version;
+    }
+
     public Long getId() {
         return id;
     }
@@ -53,6 +69,14 @@ public class TaskDTO {
         this.userId = userId;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return "TaskDTO{" +
@@ -61,6 +85,7 @@ public class TaskDTO {
                ", description='" + description + '\'' +
                ", userId=" + userId +
                ", status=" + status +
+               ", version=" + version +
                '}';
     }
 }
@@ -0,0 +1,11 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.model.dto;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.exception.TaskErrorCode;
+
+/**
+ * A rejected record, {@code fromLine == toLine}, or a chunk whose {@code COPY} failed and was rolled back as a whole.
+ * The {@code message} of a rejected record says what is wrong with it; that of a failed chunk is the one of its
+ * {@code code}, the database's own is only logged.
+ */
+public record TaskImportError(long fromLine, long toLine, TaskErrorCode code, String message) {
+}
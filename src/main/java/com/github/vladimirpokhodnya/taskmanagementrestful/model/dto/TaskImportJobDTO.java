@@ -0,0 +1,30 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.model.dto;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.exception.TaskErrorCode;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Progress of an import. {@code imported} counts committed tasks only; {@code failed} counts the valid records of
+ * chunks that were rolled back. {@code failureCode} and {@code failure} are set when the job stopped early.
+ */
+public record TaskImportJobDTO(String id,
+                               State state,
+                               long read,
+                               long imported,
+                               long rejected,
+                               long failed,
+                               Instant createdAt,
+                               Instant finishedAt,
+                               List<TaskImportError> errors,
+                               TaskErrorCode failureCode,
+                               String failure) {
+
+    public enum State {
+        WAITING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -0,0 +1,18 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.model.dto;
+
+import java.util.List;
+
+/**
+ * @param truncated whether search results may miss matches, see
+ *                  {@link com.github.vladimirpokhodnya.taskmanagementrestful.repository.TaskSearchResult}
+ */
+public record TaskPage(List<TaskDTO> items, String nextCursor, boolean truncated) {
+
+    public TaskPage(List<TaskDTO> items, String nextCursor) {
+        this(items, nextCursor, false);
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -3,5 +3,9 @@ package com.github.vladimirpokhodnya.taskmanagementrestful.model.dto;
 
 import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskStatus;
 
-public record TaskStatusDTO(Long id, TaskStatus status) {}
+public record TaskStatusDTO(Long id, TaskStatus status, TaskStatus expectedStatus) {
 
+    public TaskStatusDTO(Long id, TaskStatus status) {
+        this(id, status, null);
+    }
+}
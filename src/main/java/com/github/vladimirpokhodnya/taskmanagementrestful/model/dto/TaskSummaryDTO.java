@@ -0,0 +1,8 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.model.dto;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskStatus;
+
+import java.util.Map;
+
+public record TaskSummaryDTO(Long userId, long total, Map<TaskStatus, Long> byStatus) {
+}
@@ -0,0 +1,249 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.outbox;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskStatus;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskChangeEvent;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Read side of the change feed and the sequencer that numbers committed outbox rows.
+ * <p>
+ * {@code task_change.id} reflects insert order, not commit order, so readers cannot resume from it without
+ * skipping rows of slower transactions. Instead a single sequencer (one node at a time, guarded by an advisory
+ * lock) assigns {@code seq} to rows that are already committed, in batches that commit one after another.
+ * A reader that has seen {@code seq = n} therefore never misses a later row with a smaller number.
+ * <p>
+ * Local commits wake the sequencer immediately; rows of other nodes are numbered within
+ * {@code task.changes.sequencer-interval}. Waiting readers use a {@link Condition} rather than monitors so that
+ * virtual threads do not pin their carriers.
+ */
+@Component
+public class TaskChangeFeed implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskChangeFeed.class);
+    private static final long SEQUENCER_LOCK = 0x7461736b5f636847L;
+    private static final Duration CLEANUP_INTERVAL = Duration.ofHours(1);
+
+    private static final String SEQUENCE = """
+            update task_change c set seq = numbered.seq
+            from (select id, nextval('task_change_seq') as seq
+                  from (select id from task_change where seq is null order by id limit ?) pending) numbered
+            where c.id = numbered.id
+            """;
+
+    private static final String READ = """
+            select seq, type, task_id, title, description, user_id, status, version, previous_user_id, changed_at
+            from task_change
+            where seq > ?
+            order by seq
+            limit ?
+            """;
+
+    private static final String READ_FOR_USER = """
+            select seq, type, task_id, title, description, user_id, status, version, previous_user_id, changed_at
+            from task_change
+            where seq > ? and (user_id = ? or previous_user_id = ?)
+            order by seq
+            limit ?
+            """;
+
+    private static final RowMapper<TaskChangeEvent> ROW_MAPPER = (rs, rowNum) -> {
+        short status = rs.getShort("status");
+        TaskStatus taskStatus = rs.wasNull() ? null : TaskStatus.values()[status];
+        long taskId = rs.getLong("task_id");
+        TaskDTO task = new TaskDTO(taskId, rs.getString("title"), rs.getString("description"),
+                rs.getObject("user_id", Long.class), taskStatus, rs.getObject("version", Long.class));
+        return new TaskChangeEvent(rs.getLong("seq"), TaskChangeEvent.Type.valueOf(rs.getString("type")), taskId,
+                task, rs.getObject("previous_user_id", Long.class), rs.getObject("changed_at", OffsetDateTime.class).toInstant());
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskChangeProperties properties;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition pending = lock.newCondition();
+    private final Condition sequenced = lock.newCondition();
+    private boolean signalled;
+
+    private volatile boolean running;
+    private Thread thread;
+    private Instant lastCleanup = Instant.EPOCH;
+
+    public TaskChangeFeed(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                          TaskChangeProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    /**
+     * Changes with {@code seq > since}, oldest first.
+     */
+    public List<TaskChangeEvent> read(long since, int limit) {
+        return jdbcTemplate.query(READ, ROW_MAPPER, since, Math.max(1, Math.min(limit, properties.batchSize())));
+    }
+
+    /**
+     * Changes of the tasks of one user with {@code seq > since}, oldest first, including the reassignments of tasks
+     * away from the user.
+     */
+    public List<TaskChangeEvent> readForUser(long userId, long since, int limit) {
+        return jdbcTemplate.query(READ_FOR_USER, ROW_MAPPER, since, userId, userId,
+                Math.max(1, Math.min(limit, properties.batchSize())));
+    }
+
+    /**
+     * The highest {@code seq} assigned so far, or {@code 0} if the feed is empty.
+     */
+    public long latestSeq() {
+        Long latest = jdbcTemplate.queryForObject("select max(seq) from task_change", Long.class);
+        return latest == null ? 0 : latest;
+    }
+
+    /**
+     * Like {@link #read}, but if there are no changes yet, waits up to {@code timeout} for the next one.
+     */
+    public List<TaskChangeEvent> await(long since, int limit, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            List<TaskChangeEvent> changes = read(since, limit);
+            long remaining = deadline - System.nanoTime();
+            if (!changes.isEmpty() || remaining <= 0 || !running) {
+                return changes;
+            }
+            lock.lock();
+            try {
+                sequenced.awaitNanos(Math.min(remaining, properties.pollInterval().toNanos()));
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Called after a local transaction with outbox rows commits.
+     */
+    public void signal() {
+        lock.lock();
+        try {
+            signalled = true;
+            pending.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int sequencePending() {
+        Integer numbered = transactionTemplate.execute(status -> {
+            Boolean locked = jdbcTemplate.queryForObject("select pg_try_advisory_xact_lock(?)", Boolean.class, SEQUENCER_LOCK);
+            return Boolean.TRUE.equals(locked) ? jdbcTemplate.update(SEQUENCE, properties.batchSize()) : 0;
+        });
+        if (numbered != null && numbered > 0) {
+            lock.lock();
+            try {
+                sequenced.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+        return numbered == null ? 0 : numbered;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this::run, "task-change-sequencer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        lock.lock();
+        try {
+            sequenced.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Starts before and stops after the readers that tail the feed.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 1;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                if (sequencePending() < properties.batchSize()) {
+                    awaitSignal();
+                }
+                cleanUpIfDue();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Failed to sequence task changes", e);
+                try {
+                    Thread.sleep(properties.sequencerInterval().toMillis());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void awaitSignal() throws InterruptedException {
+        lock.lock();
+        try {
+            if (!signalled) {
+                pending.await(properties.sequencerInterval().toNanos(), TimeUnit.NANOSECONDS);
+            }
+            signalled = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void cleanUpIfDue() {
+        Instant now = Instant.now();
+        if (lastCleanup.plus(CLEANUP_INTERVAL).isAfter(now)) {
+            return;
+        }
+        lastCleanup = now;
+        int deleted = jdbcTemplate.update("delete from task_change where seq is not null and changed_at < now() - ?::interval",
+                properties.retention().toSeconds() + " seconds");
+        if (deleted > 0) {
+            log.info("Removed {} task changes older than {}", deleted, properties.retention());
+        }
+    }
+}
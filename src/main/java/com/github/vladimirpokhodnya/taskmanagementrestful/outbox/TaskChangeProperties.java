@@ -0,0 +1,24 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.outbox;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param sequencerInterval how often committed changes of other nodes are numbered; local commits are numbered
+ *                          right away
+ * @param pollInterval      how often a waiting reader re-checks the feed for changes numbered by other nodes
+ * @param batchSize         maximum number of changes numbered at once and returned per page
+ * @param maxWait           upper bound of the long-poll {@code wait} parameter
+ * @param keepAlive         interval of SSE comments sent while there are no changes
+ * @param retention         how long numbered changes are kept
+ */
+@ConfigurationProperties("task.changes")
+public record TaskChangeProperties(@DefaultValue("1s") Duration sequencerInterval,
+                                   @DefaultValue("1s") Duration pollInterval,
+                                   @DefaultValue("1000") int batchSize,
+                                   @DefaultValue("30s") Duration maxWait,
+                                   @DefaultValue("15s") Duration keepAlive,
+                                   @DefaultValue("7d") Duration retention) {
+}
@@ -0,0 +1,109 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.outbox;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskChangeEvent;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.repository.TaskChange;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Write side of the change feed: records task mutations in {@code task_change} within the caller's transaction,
+ * so a change is published if and only if it commits.
+ */
+@Component
+public class TaskOutbox {
+
+    private static final String INSERT = """
+            insert into task_change (type, task_id, title, description, user_id, status, version, previous_user_id)
+            values (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_ROWS = """
+            insert into task_change (type, task_id, title, description, user_id, status, version)
+            select ?, id, title, description, user_id, status, version
+            from task
+            where bucket = ? and id = any(cast(? as bigint[]))
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskChangeFeed feed;
+
+    public TaskOutbox(JdbcTemplate jdbcTemplate, TaskChangeFeed feed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.feed = feed;
+    }
+
+    public void record(TaskChangeEvent.Type type, TaskDTO task) {
+        recordAll(type, List.of(task));
+    }
+
+    public void recordAll(TaskChangeEvent.Type type, List<TaskDTO> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT, tasks, tasks.size(), (ps, task) -> bind(ps, type, task, null));
+        signalAfterCommit();
+    }
+
+    /**
+     * Records updates together with the owners the tasks were reassigned from, if any.
+     */
+    public void recordChanges(List<TaskChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT, changes, changes.size(),
+                (ps, change) -> bind(ps, TaskChangeEvent.Type.UPDATED, change.task(), change.reassignedFrom()));
+        signalAfterCommit();
+    }
+
+    /**
+     * Records the tasks as the statement finds them in the table, for writers that do not hold them in memory, such
+     * as a {@code COPY}. The ids are given per bucket, so that every statement reads a single partition.
+     */
+    public void recordRows(TaskChangeEvent.Type type, Map<Short, List<Long>> idsByBucket) {
+        if (idsByBucket.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<Short, List<Long>>> buckets = List.copyOf(idsByBucket.entrySet());
+        jdbcTemplate.batchUpdate(INSERT_ROWS, buckets, buckets.size(), (ps, bucket) -> {
+            ps.setString(1, type.name());
+            ps.setShort(2, bucket.getKey());
+            ps.setObject(3, bucket.getValue().toArray(Long[]::new));
+        });
+        signalAfterCommit();
+    }
+
+    private void signalAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    feed.signal();
+                }
+            });
+        } else {
+            feed.signal();
+        }
+    }
+
+    private static void bind(PreparedStatement ps, TaskChangeEvent.Type type, TaskDTO task, Long previousUserId)
+            throws SQLException {
+        ps.setString(1, type.name());
+        ps.setLong(2, task.getId());
+        ps.setString(3, task.getTitle());
+        ps.setString(4, task.getDescription());
+        ps.setObject(5, task.getUserId(), Types.BIGINT);
+        ps.setObject(6, task.getStatus() == null ? null : (short) task.getStatus().ordinal(), Types.SMALLINT);
+        ps.setObject(7, task.getVersion(), Types.BIGINT);
+        ps.setObject(8, previousUserId, Types.BIGINT);
+    }
+}
@@ -0,0 +1,42 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.partition;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Whether the legacy partition still has tasks, as last read from the database by {@link LegacyTaskMover}; until
+ * then, it is assumed to have some. Once empty, it stays empty: nothing writes bucket -1 any more, see
+ * {@code V8__task_partitions.sql}.
+ */
+@Component
+public class LegacyPartition {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile boolean empty;
+
+    public LegacyPartition(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * The bucket to look in besides {@code bucket}: the legacy one until it is known to be empty, then
+     * {@code bucket} itself.
+     */
+    public short legacyOr(short bucket) {
+        return empty ? bucket : TaskPartitions.LEGACY_BUCKET;
+    }
+
+    /**
+     * Reads whether the legacy partition is empty; rows skipped by the mover as locked still count.
+     *
+     * @return whether it is
+     */
+    public boolean refresh() {
+        if (!empty) {
+            empty = Boolean.FALSE.equals(jdbcTemplate.queryForObject(
+                    "select exists(select 1 from task where bucket = -1)", Boolean.class));
+        }
+        return empty;
+    }
+}
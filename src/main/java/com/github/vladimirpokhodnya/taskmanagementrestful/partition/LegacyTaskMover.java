@@ -0,0 +1,101 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.partition;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the tasks created before partitioning out of the legacy partition into the partitions of their users, a
+ * batch per transaction, and stops once the legacy partition is empty. On nodes that do not move, it only checks
+ * from time to time whether the legacy partition is empty yet. From then on, queries of the node leave the legacy
+ * partition out, see {@link LegacyPartition}.
+ * <p>
+ * Only the bucket changes, so caches, counters and the change feed are not involved. Rows locked by requests are
+ * skipped and picked up by a later batch, and several nodes can move at the same time. A request that updates a
+ * task in the moment it is being moved fails like any other serialization failure, with 409; repeated, it finds the
+ * task in its new partition.
+ */
+@Component
+public class LegacyTaskMover implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(LegacyTaskMover.class);
+
+    private static final String MOVE = """
+            update task set bucket = task_bucket(user_id)
+            where bucket = -1
+              and id in (select id from task where bucket = -1 limit ? for update skip locked)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskPartitionProperties properties;
+    private final LegacyPartition legacyPartition;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public LegacyTaskMover(JdbcTemplate jdbcTemplate, TaskPartitionProperties properties, LegacyPartition legacyPartition) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.legacyPartition = legacyPartition;
+    }
+
+    /**
+     * Moves one batch.
+     *
+     * @return the number of tasks moved
+     */
+    public int moveBatch() {
+        return jdbcTemplate.update(MOVE, properties.moveBatchSize());
+    }
+
+    @Override
+    public void start() {
+        if (!properties.moveLegacy() && properties.checkInterval().isZero()) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "task-legacy-mover");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        long moved = 0;
+        while (running) {
+            try {
+                int batch = properties.moveLegacy() ? moveBatch() : 0;
+                moved += batch;
+                if (batch == 0 && legacyPartition.refresh()) {
+                    if (moved > 0) {
+                        log.info("Moved {} tasks out of the legacy partition", moved);
+                    }
+                    running = false;
+                    return;
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to move legacy tasks", e);
+            }
+            try {
+                Thread.sleep(properties.moveLegacy() ? properties.moveInterval() : properties.checkInterval());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.partition;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.Task;
+import org.hibernate.MappingException;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.AnnotationBasedGenerator;
+import org.hibernate.generator.GeneratorCreationContext;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.lang.reflect.Member;
+import java.util.Properties;
+
+/**
+ * {@code task_seq} with the pooled optimizer, as before, with the bucket of the task's user encoded into each id.
+ * Configured by {@link TaskIdSequence}.
+ */
+public class TaskIdGenerator extends SequenceStyleGenerator implements AnnotationBasedGenerator<TaskIdSequence> {
+
+    private TaskIdSequence sequence;
+
+    @Override
+    public void initialize(TaskIdSequence annotation, Member member, GeneratorCreationContext context) {
+        this.sequence = annotation;
+    }
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        parameters.setProperty(SEQUENCE_PARAM, sequence.name());
+        parameters.setProperty(INCREMENT_PARAM, String.valueOf(sequence.allocationSize()));
+        super.configure(type, parameters, serviceRegistry);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        long sequenceValue = ((Number) super.generate(session, object)).longValue();
+        return TaskPartitions.encodeId(sequenceValue, TaskPartitions.bucket(((Task) object).getUserId()));
+    }
+}
@@ -0,0 +1,23 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.partition;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Generates the id with {@link TaskIdGenerator}, from the given sequence.
+ */
+@IdGeneratorType(TaskIdGenerator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface TaskIdSequence {
+
+    String name() default "task_seq";
+
+    int allocationSize() default 50;
+}
@@ -0,0 +1,20 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.partition;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param moveLegacy    whether this node moves the tasks from before partitioning to the partitions of their users
+ * @param moveBatchSize tasks moved per transaction
+ * @param moveInterval  pause between two batches, so that the move does not compete with requests
+ * @param checkInterval how often a node that does not move checks whether the legacy partition is empty yet, see
+ *                      {@link LegacyPartition}; {@code 0} never, so that queries always include it
+ */
+@ConfigurationProperties("task.partitions")
+public record TaskPartitionProperties(@DefaultValue("true") boolean moveLegacy,
+                                      @DefaultValue("1000") int moveBatchSize,
+                                      @DefaultValue("100ms") Duration moveInterval,
+                                      @DefaultValue("1m") Duration checkInterval) {
+}
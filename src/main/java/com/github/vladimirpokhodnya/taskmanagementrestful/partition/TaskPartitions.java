@@ -0,0 +1,44 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.partition;
+
+/**
+ * Layout of the partitioned {@code task} table, see {@code V8__task_partitions.sql}.
+ * <p>
+ * A task lives in the partition of its {@code bucket}, which is derived from its user, so that all tasks of a user
+ * share one partition. The bucket is also encoded in the low bits of the task id when the task is created, so a
+ * lookup by id finds the partition without knowing the user. Tasks created before partitioning keep their ids and
+ * start out in {@link #LEGACY_BUCKET}, until {@link LegacyTaskMover} has moved them to the bucket of their user;
+ * {@link LegacyPartition} tells whether any are left. Where a task is that has left both its id's bucket and the
+ * legacy one is kept in {@code task_location}.
+ * <p>
+ * The primary key is {@code (id, bucket)}, as PostgreSQL needs the partition key in it. The id alone is unique by
+ * construction, see {@code V10__task_location.sql}.
+ * <p>
+ * {@link #bucket(Long)} must match the SQL function {@code task_bucket(bigint)}.
+ */
+public final class TaskPartitions {
+
+    public static final int BUCKETS = 16;
+    public static final short LEGACY_BUCKET = -1;
+
+    private TaskPartitions() {
+    }
+
+    public static short bucket(Long userId) {
+        return userId == null ? 0 : (short) Math.floorMod(userId, BUCKETS);
+    }
+
+    /**
+     * A task id from a {@code task_seq} value and the bucket of the task's user.
+     */
+    public static long encodeId(long sequenceValue, short bucket) {
+        return sequenceValue * BUCKETS + bucket;
+    }
+
+    /**
+     * The bucket the task was created in, for ids from {@link #encodeId}. The task may have moved since: by a change
+     * of its user, or because it was created before partitioning and its id encodes nothing.
+     */
+    public static short bucketOfId(long id) {
+        return (short) Math.floorMod(id, BUCKETS);
+    }
+}
@@ -0,0 +1,324 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.repository;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.counter.TaskCounterDeltas;
+import com.github.vladimirpokhodnya.taskmanagementrestful.counter.TaskCounters;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskField;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskStatus;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskChangeEvent;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.partition.LegacyPartition;
+import com.github.vladimirpokhodnya.taskmanagementrestful.partition.TaskPartitions;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * R2DBC counterpart of {@link TaskRepository} for the reactive task API, with the same statements as
+ * {@link TaskRepositoryCustomImpl}. It also writes the {@code task_counter}, {@code task_change} and cache
+ * invalidation rows, so that they join the caller's R2DBC transaction.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveTaskRepository {
+
+    private static final String COLUMNS = "id, title, description, user_id, status";
+    private static final int EXPORT_FETCH_SIZE = 1000;
+
+    private final DatabaseClient databaseClient;
+    private final LegacyPartition legacyPartition;
+
+    public ReactiveTaskRepository(DatabaseClient databaseClient, LegacyPartition legacyPartition) {
+        this.databaseClient = databaseClient;
+        this.legacyPartition = legacyPartition;
+    }
+
+    public Mono<TaskDTO> findById(long id) {
+        return locate(id, buckets -> "with target as (" + TaskRepositoryCustomImpl.SELECT_TASK + " and " + buckets + ")",
+                spec -> spec.bind("id", id), ReactiveTaskRepository::mapRow);
+    }
+
+    /**
+     * The tasks among {@code ids}, in no particular order; ids without a task are ignored.
+     */
+    public Flux<TaskDTO> findByIds(Collection<Long> ids) {
+        return locate(ids, buckets -> "with target as (" + TaskRepositoryCustomImpl.SELECT_TASKS + " and " + buckets + ")",
+                spec -> spec.bind("ids", ids.toArray(Long[]::new)), ReactiveTaskRepository::mapRow);
+    }
+
+    public Mono<Boolean> existsById(long id) {
+        return databaseClient.sql("select exists(select 1 from task where id = :id)")
+                .bind("id", id)
+                .map(row -> row.get(0, Boolean.class))
+                .one();
+    }
+
+    public Flux<TaskDTO> findPageAfter(long after, Long userId, TaskStatus status, int limit) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("select " + COLUMNS + " from task where id > :after"
+                        + filter(userId, status) + " order by id limit :limit")
+                .bind("after", after)
+                .bind("limit", limit);
+        return bindFilter(spec, userId, status)
+                .map(ReactiveTaskRepository::mapSummary)
+                .all();
+    }
+
+    /**
+     * Reads a page like {@link #findPageAfter} but only the id and the columns of {@code fields}, see
+     * {@link TaskRepositoryCustom#findProjectedPageAfter}.
+     */
+    public Flux<TaskDTO> findProjectedPageAfter(long after, Long userId, TaskStatus status, Set<TaskField> fields, int limit) {
+        StringBuilder columns = new StringBuilder("id");
+        for (TaskField field : fields) {
+            if (field != TaskField.ID) {
+                columns.append(", ").append(field.column());
+            }
+        }
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("select " + columns + " from task where id > :after"
+                        + filter(userId, status) + " order by id limit :limit")
+                .bind("after", after)
+                .bind("limit", limit);
+        return bindFilter(spec, userId, status)
+                .map(row -> {
+                    TaskDTO task = new TaskDTO();
+                    task.setId(row.get("id", Long.class));
+                    for (TaskField field : fields) {
+                        switch (field) {
+                            case TITLE -> task.setTitle(row.get("title", String.class));
+                            case DESCRIPTION -> task.setDescription(row.get("description", String.class));
+                            case USER_ID -> task.setUserId(row.get("user_id", Long.class));
+                            case STATUS -> {
+                                Short ordinal = row.get("status", Short.class);
+                                task.setStatus(ordinal == null ? null : TaskStatus.values()[ordinal]);
+                            }
+                        }
+                    }
+                    return task;
+                })
+                .all();
+    }
+
+    /**
+     * Streams the matching tasks through a server-side cursor; rows are fetched as the subscriber requests them.
+     */
+    public Flux<TaskDTO> streamAll(Long userId, TaskStatus status) {
+        String filter = filter(userId, status);
+        String where = filter.isEmpty() ? "" : " where" + filter.substring(" and".length());
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("select " + COLUMNS + " from task" + where + " order by id")
+                .filter(statement -> statement.fetchSize(EXPORT_FETCH_SIZE));
+        return bindFilter(spec, userId, status)
+                .map(ReactiveTaskRepository::mapSummary)
+                .all();
+    }
+
+    /**
+     * Inserts the task with an id of its own from {@code task_seq}, encoded like
+     * {@link TaskPartitions#encodeId}. The JPA pooled optimizer only hands out the block ending at a value it has
+     * fetched itself, so ids taken here never collide with it.
+     */
+    public Mono<TaskDTO> insert(TaskDTO taskDTO) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("""
+                insert into task (id, title, description, user_id, status, version, bucket)
+                values (nextval('task_seq') * %d + task_bucket(:userId), :title, :description, :userId, :status, 0,
+                        task_bucket(:userId))
+                """.formatted(TaskPartitions.BUCKETS) + TaskRepositoryCustomImpl.RETURNING);
+        return bindTask(spec, taskDTO)
+                .map(ReactiveTaskRepository::mapRow)
+                .one();
+    }
+
+    public Mono<TaskChange> update(long id, TaskDTO taskDTO, Long expectedVersion) {
+        String update = """
+                update task t
+                set title = :title, description = :description, user_id = :userId, status = :status,
+                    bucket = task_bucket(:userId), version = t.version + 1,
+                    lease_until = case when t.status = :status then t.lease_until end
+                from previous
+                where t.id = previous.id and t.bucket = previous.bucket
+                """ + (expectedVersion != null ? " and t.version = :expectedVersion" : "");
+        return locate(id, buckets -> TaskRepositoryCustomImpl.withPrevious(buckets, update), spec -> {
+            spec = bindTask(spec.bind("id", id), taskDTO);
+            return expectedVersion != null ? spec.bind("expectedVersion", expectedVersion) : spec;
+        }, ReactiveTaskRepository::mapChange);
+    }
+
+    public Mono<TaskChange> updateStatus(long id, TaskStatus status, TaskStatus expectedStatus, Long expectedVersion) {
+        String update = "update task t set status = :status, version = t.version + 1, " + TaskRepositoryCustomImpl.KEEP_LEASE
+                + " from previous where t.id = previous.id and t.bucket = previous.bucket"
+                + (expectedStatus != null ? " and t.status = :expectedStatus" : "")
+                + (expectedVersion != null ? " and t.version = :expectedVersion" : "");
+        return locate(id, buckets -> TaskRepositoryCustomImpl.withPrevious(buckets, update), spec -> {
+            spec = bindNullable(spec.bind("id", id), "status", TaskRepositoryCustomImpl.toColumn(status), Short.class);
+            if (expectedStatus != null) {
+                spec = spec.bind("expectedStatus", TaskRepositoryCustomImpl.toColumn(expectedStatus));
+            }
+            return expectedVersion != null ? spec.bind("expectedVersion", expectedVersion) : spec;
+        }, ReactiveTaskRepository::mapChange);
+    }
+
+    public Mono<TaskDTO> deleteReturning(long id) {
+        return locate(id, buckets -> "with target as (delete from task where id = :id and " + buckets
+                        + TaskRepositoryCustomImpl.RETURNING + ")",
+                spec -> spec.bind("id", id), ReactiveTaskRepository::mapRow);
+    }
+
+    /**
+     * Adds the deltas to one stripe of {@code task_counter}, see {@link TaskCounters}, and returns the id of the
+     * writing transaction, or {@code 0} if there was nothing to add.
+     */
+    public Mono<Long> addCounters(TaskCounterDeltas deltas, short stripe) {
+        return Flux.fromIterable(deltas.entries())
+                .concatMap(entry -> addCounter(entry, stripe))
+                .last(0L);
+    }
+
+    public Mono<Void> recordChange(TaskChangeEvent.Type type, TaskDTO task, Long previousUserId) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("""
+                        insert into task_change (type, task_id, title, description, user_id, status, version,
+                                                 previous_user_id)
+                        values (:type, :taskId, :title, :description, :userId, :status, :version, :previousUserId)
+                        """)
+                .bind("type", type.name())
+                .bind("taskId", task.getId());
+        spec = bindNullable(bindTask(spec, task), "version", task.getVersion(), Long.class);
+        spec = bindNullable(spec, "previousUserId", previousUserId, Long.class);
+        return spec.then();
+    }
+
+    /**
+     * Sends a cache invalidation for the task to all nodes when the transaction commits, see {@code TaskCache}.
+     */
+    public Mono<Void> notifyEvicted(String channel, long id) {
+        return databaseClient.sql("select pg_notify(:channel, :payload)")
+                .bind("channel", channel)
+                .bind("payload", String.valueOf(id))
+                .then();
+    }
+
+    private Mono<Long> addCounter(Map.Entry<TaskCounterDeltas.Key, Long> entry, short stripe) {
+        TaskCounterDeltas.Key key = entry.getKey();
+        return databaseClient.sql("""
+                        insert into task_counter (user_id, status, stripe, count) values (:userId, :status, :stripe, :count)
+                        on conflict (user_id, status, stripe) do update set count = task_counter.count + excluded.count
+                        returning pg_current_xact_id()::text::bigint as xid
+                        """)
+                .bind("userId", key.userId() == null ? TaskCounters.NO_USER : key.userId())
+                .bind("status", key.status() == null ? TaskCounters.NO_STATUS : TaskRepositoryCustomImpl.toColumn(key.status()))
+                .bind("stripe", stripe)
+                .bind("count", entry.getValue())
+                .map(row -> row.get("xid", Long.class))
+                .one();
+    }
+
+    private <T> Mono<T> locate(long id, Function<String, String> statement,
+                               UnaryOperator<DatabaseClient.GenericExecuteSpec> bind,
+                               BiFunction<Row, RowMetadata, T> mapper) {
+        return locate(List.of(id), statement, bind, mapper).singleOrEmpty();
+    }
+
+    /**
+     * Runs a statement on tasks by id like {@code TaskRepositoryCustomImpl.locate}: in the buckets their ids point
+     * to, and once more in the buckets of those that have moved, if any have.
+     */
+    private <T> Flux<T> locate(Collection<Long> ids, Function<String, String> statement,
+                               UnaryOperator<DatabaseClient.GenericExecuteSpec> bind,
+                               BiFunction<Row, RowMetadata, T> mapper) {
+        String sql = statement.apply(TaskRepositoryCustomImpl.inBucketsOfIds(legacyPartition, ids)) + TaskRepositoryCustomImpl.LOCATE;
+        return bind.apply(databaseClient.sql(sql))
+                .bind("locateIds", ids.toArray(Long[]::new))
+                .map((row, metadata) -> {
+                    Short bucket = row.get("located_bucket", Short.class);
+                    return bucket == null ? new Located<>(mapper.apply(row, metadata), null) : new Located<T>(null, bucket);
+                })
+                .all()
+                .collectList()
+                .flatMapMany(results -> {
+                    List<T> found = new ArrayList<>();
+                    Set<Short> located = new TreeSet<>();
+                    for (Located<T> result : results) {
+                        if (result.bucket() == null) {
+                            found.add(result.row());
+                        } else {
+                            located.add(result.bucket());
+                        }
+                    }
+                    if (located.isEmpty()) {
+                        return Flux.fromIterable(found);
+                    }
+                    return Flux.fromIterable(found).concatWith(bind.apply(databaseClient.sql(
+                                    statement.apply(TaskRepositoryCustomImpl.inBuckets(located)) + TaskRepositoryCustomImpl.SELECT_TARGET))
+                            .map(mapper)
+                            .all());
+                });
+    }
+
+    private record Located<T>(T row, Short bucket) {
+    }
+
+    private String filter(Long userId, TaskStatus status) {
+        return (userId != null ? " and user_id = :userId and " + TaskRepositoryCustomImpl.inBuckets(legacyPartition, TaskPartitions.bucket(userId)) : "")
+                + (status != null ? " and status = :status" : "");
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindFilter(DatabaseClient.GenericExecuteSpec spec, Long userId, TaskStatus status) {
+        if (userId != null) {
+            spec = spec.bind("userId", userId);
+        }
+        if (status != null) {
+            spec = spec.bind("status", TaskRepositoryCustomImpl.toColumn(status));
+        }
+        return spec;
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindTask(DatabaseClient.GenericExecuteSpec spec, TaskDTO taskDTO) {
+        spec = bindNullable(spec, "title", taskDTO.getTitle(), String.class);
+        spec = bindNullable(spec, "description", taskDTO.getDescription(), String.class);
+        spec = bindNullable(spec, "userId", taskDTO.getUserId(), Long.class);
+        return bindNullable(spec, "status", TaskRepositoryCustomImpl.toColumn(taskDTO.getStatus()), Short.class);
+    }
+
+    private static <T> DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec, String name,
+                                                                      T value, Class<T> type) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, type);
+    }
+
+    private static TaskDTO mapRow(Row row, RowMetadata metadata) {
+        TaskDTO task = mapSummary(row, metadata);
+        task.setVersion(row.get("version", Long.class));
+        return task;
+    }
+
+    /**
+     * Lists and exports leave the version out, as the JPA projections of {@code TaskRepository} do.
+     */
+    private static TaskDTO mapSummary(Row row, RowMetadata metadata) {
+        Short status = row.get("status", Short.class);
+        return new TaskDTO(
+                row.get("id", Long.class),
+                row.get("title", String.class),
+                row.get("description", String.class),
+                row.get("user_id", Long.class),
+                status == null ? null : TaskStatus.values()[status]);
+    }
+
+    private static TaskChange mapChange(Row row, RowMetadata metadata) {
+        Short previousStatus = row.get("previous_status", Short.class);
+        return new TaskChange(
+                mapRow(row, metadata),
+                row.get("previous_user_id", Long.class),
+                previousStatus == null ? null : TaskStatus.values()[previousStatus]);
+    }
+}
@@ -0,0 +1,19 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.repository;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskStatus;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+
+import java.util.Objects;
+
+/**
+ * An updated task row together with the owner and status it had before the update.
+ */
+public record TaskChange(TaskDTO task, Long previousUserId, TaskStatus previousStatus) {
+
+    /**
+     * The owner before the update if the update reassigned the task, otherwise {@code null}.
+     */
+    public Long reassignedFrom() {
+        return Objects.equals(previousUserId, task.getUserId()) ? null : previousUserId;
+    }
+}
@@ -0,0 +1,12 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.repository;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Tasks claimed by one statement and the time their lease expires, {@code null} if no task was claimed.
+ */
+public record TaskClaim(List<TaskDTO> tasks, Instant leaseUntil) {
+}
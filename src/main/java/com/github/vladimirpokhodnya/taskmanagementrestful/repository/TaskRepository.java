@@ -5,6 +5,10 @@ import com.github.vladimirpokhodnya.taskmanagementrestful.model.Task;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+/**
+ * Queries that read or change tasks by id or by user are in {@link TaskRepositoryCustom}, so that they can name the
+ * partitions the tasks can be in as literals, see {@link TaskRepositoryCustomImpl#inBuckets(com.github.vladimirpokhodnya.taskmanagementrestful.partition.LegacyPartition, short)}.
+ */
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
 }
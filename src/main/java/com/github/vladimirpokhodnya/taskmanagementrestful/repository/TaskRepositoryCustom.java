@@ -0,0 +1,151 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.repository;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskField;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskStatus;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskBulkStatusDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * PostgreSQL-specific statements that are not expressible through JPQL.
+ * <p>
+ * Statements on tasks by id or by user name the partitions the tasks can be in, see
+ * {@link com.github.vladimirpokhodnya.taskmanagementrestful.partition.TaskPartitions}. Statements by id on a single
+ * task look for a moved task the way {@link #findTask} does.
+ */
+public interface TaskRepositoryCustom {
+
+    /**
+     * Looks the task up in the partition its id was created in, see
+     * {@link com.github.vladimirpokhodnya.taskmanagementrestful.partition.TaskPartitions#bucketOfId(long)}, and in
+     * the legacy one, and learns from {@code task_location} in the same query where it is if it has moved since;
+     * only a moved task takes a second query, in its partition.
+     */
+    Optional<TaskDTO> findTask(long id);
+
+    /**
+     * Looks the tasks up like {@link #findTask} with one {@code id = any(...)} query, and a second one for those that
+     * have moved; ids without a task are ignored.
+     */
+    List<TaskDTO> findTasks(Collection<Long> ids);
+
+    /**
+     * Reads a page of tasks after {@code after} in id order, of the user and with the status if given, without
+     * versions.
+     */
+    List<TaskDTO> findPageAfter(long after, Long userId, TaskStatus status, Limit limit);
+
+    /**
+     * Reads a page of the user's tasks like {@link #findPageAfter}.
+     */
+    List<TaskDTO> findUserPageAfter(long userId, long after, Limit limit);
+
+    /**
+     * Reads a page of the user's tasks with the status like {@link #findPageAfter}.
+     */
+    List<TaskDTO> findUserPageAfter(long userId, TaskStatus status, long after, Limit limit);
+
+    /**
+     * Streams the matching tasks in id order through a cursor, without versions; the caller closes the stream
+     * within its transaction.
+     */
+    Stream<TaskDTO> streamAll(Long userId, TaskStatus status);
+
+    /**
+     * Reads a page like {@link #findPageAfter} but only the id and the columns of {@code fields}, so that
+     * descriptions are not read when they are not asked for; the other properties are left {@code null}.
+     */
+    List<TaskDTO> findProjectedPageAfter(long after, Long userId, TaskStatus status, Set<TaskField> fields, int limit);
+
+    /**
+     * Updates all mutable columns of the task and bumps its version with a single {@code UPDATE ... RETURNING}.
+     * A task that changes its user moves to the user's partition.
+     *
+     * @param expectedVersion if not {@code null}, the row is only updated while it still has this version
+     * @return the updated row and its previous owner and status, or empty if no row was affected
+     */
+    Optional<TaskChange> update(long id, TaskDTO taskDTO, Long expectedVersion);
+
+    /**
+     * Sets the status of the task and bumps its version with a single {@code UPDATE ... RETURNING}.
+     *
+     * @param expectedStatus  if not {@code null}, the row is only updated while it still has this status
+     * @param expectedVersion if not {@code null}, the row is only updated while it still has this version
+     * @return the updated row and its previous owner and status, or empty if no row was affected
+     */
+    Optional<TaskChange> updateStatus(long id, TaskStatus status, TaskStatus expectedStatus, Long expectedVersion);
+
+    /**
+     * Sets the status of every task in {@code statuses} and bumps their versions with a single
+     * {@code UPDATE ... RETURNING}, and a second one for those that have moved, see {@link #findTask}; ids without
+     * a task are ignored. Rows are locked in id order, those of moved tasks after the others.
+     *
+     * @return the updated rows and their previous owners and statuses
+     */
+    List<TaskChange> updateStatuses(Map<Long, TaskStatus> statuses);
+
+    /**
+     * Sets the status of up to {@code limit} tasks that match the filter of {@code bulkStatusDTO}, have an id above
+     * {@code afterId} and do not have the status yet, lowest ids first, and bumps their versions with a single
+     * {@code UPDATE ... RETURNING}. Rows are locked in id order.
+     *
+     * @return the updated rows and their previous owners and statuses; empty once no task is left to update
+     */
+    List<TaskChange> updateStatusesWhere(TaskBulkStatusDTO bulkStatusDTO, long afterId, int limit);
+
+    /**
+     * Moves up to {@code limit} {@code NOT_STARTED} tasks, of the user if given, to {@code IN_PROGRESS} and leases
+     * them for {@code lease} with an {@code UPDATE ... RETURNING}. Rows locked by concurrent claims are skipped rather
+     * than waited for, so concurrent claimers get different tasks. The lease ends when the status of the task
+     * changes.
+     * <p>
+     * So that concurrent claimers do not all step over the same locked rows at the head of the queue, a claim starts
+     * at a random point: in a random partition, or for a user at a random id between the lowest and the highest of
+     * the user's queue, and takes the lowest ids from there. Only if that part of the queue runs short, a second
+     * statement takes the rest from the other partitions, or the user's lower ids.
+     */
+    TaskClaim claim(Long userId, int limit, Duration lease);
+
+    /**
+     * Returns up to {@code limit} {@code IN_PROGRESS} tasks whose lease has expired to {@code NOT_STARTED}, oldest
+     * lease first, skipping rows locked by requests.
+     *
+     * @return the released rows
+     */
+    List<TaskDTO> releaseExpiredLeases(int limit);
+
+    /**
+     * Deletes the task with a single {@code DELETE ... RETURNING}.
+     *
+     * @return the deleted row, or empty if there was no such task
+     */
+    Optional<TaskDTO> deleteReturning(long id);
+
+    /**
+     * Deletes the tasks with a single {@code DELETE ... RETURNING}, and a second one for those that have moved, see
+     * {@link #findTask}; ids without a task are ignored.
+     *
+     * @return the deleted rows
+     */
+    List<TaskDTO> deleteAllReturning(Collection<Long> ids);
+
+    /**
+     * Full-text search over title and description through the {@code search_vector} GIN index, ordered by
+     * {@code ts_rank} descending and id.
+     *
+     * @param tsQuery       a {@code to_tsquery('simple', ...)} expression
+     * @param afterRank     if not {@code null}, only hits after ({@code afterRank}, {@code afterId}) in that order
+     * @param maxCandidates how many matches, the newest ones, are ranked at most; bounds the cost of terms that match
+     *                      a large part of the table, which the result then reports as truncated
+     */
+    TaskSearchResult search(String tsQuery, Long userId, TaskStatus status, Float afterRank, Long afterId, int limit,
+                               int maxCandidates);
+}
@@ -0,0 +1,550 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.repository;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskField;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskStatus;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskBulkStatusDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.partition.LegacyPartition;
+import com.github.vladimirpokhodnya.taskmanagementrestful.partition.TaskPartitions;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    static final String RETURNING = " returning id, title, description, user_id, status, version";
+
+    static final RowMapper<TaskDTO> TASK_DTO_ROW_MAPPER = TaskRepositoryCustomImpl::mapRow;
+
+    static final String SELECT_TASK = "select id, title, description, user_id, status, version from task where id = :id";
+
+    static final String SELECT_TASKS = "select id, title, description, user_id, status, version from task where id = any(cast(:ids as bigint[]))";
+
+    static final String SUMMARY_COLUMNS = "id, title, description, user_id, status";
+
+    /**
+     * Locks the row and remembers the columns the update may change, so the caller learns the previous owner and
+     * status from the same statement. Takes the condition on {@code bucket}.
+     */
+    static final String PREVIOUS = "with previous as (select id, bucket, user_id, status from task where id = :id and %s for update)";
+
+    /**
+     * A claimed task keeps its lease until its status changes, see {@link TaskRepositoryCustom#claim}.
+     */
+    static final String KEEP_LEASE = "lease_until = case when t.status = :status then t.lease_until end";
+
+    static final String RETURNING_CHANGE = """
+             returning t.id, t.title, t.description, t.user_id, t.status, t.version,
+                previous.user_id as previous_user_id, previous.status as previous_status
+            """;
+
+    /**
+     * Completes a statement on tasks by id that ends with a {@code target} CTE. Besides the rows of {@code target},
+     * it returns a row with only {@code located_id} and {@code located_bucket} for each of {@code :locateIds} that
+     * is in none of the buckets the statement named but in {@code task_location}, see
+     * {@code V10__task_location.sql}.
+     */
+    static final String LOCATE = """
+             select target.*, null::bigint as located_id, null::smallint as located_bucket from target
+            union all
+            select target.*, l.id, l.bucket
+            from task_location l left join target on false
+            where l.id = any(cast(:locateIds as bigint[])) and l.id not in (select id from target)
+            """;
+
+    static final String SELECT_TARGET = " select * from target";
+
+    /**
+     * Claims up to {@code :limit} {@code NOT_STARTED} tasks that match a condition, lowest ids first, as the
+     * {@code claimed} CTE. Statements use it for a part of the queue each, see {@link #claim}.
+     */
+    private static final String CLAIM = """
+            locked as (
+                select id, bucket from task
+                where status = 0%s
+                order by id
+                limit :limit
+                for update skip locked),
+            claimed as (
+                update task t
+                set status = 1, version = t.version + 1, lease_until = now() + :leaseMillis * interval '1 millisecond'
+                from locked
+                where t.id = locked.id and t.bucket = locked.bucket
+                returning t.id, t.title, t.description, t.user_id, t.status, t.version, t.lease_until)
+            """;
+
+    private static final String SELECT_CLAIMED = "select * from claimed";
+
+    private static final int CLAIMED_COLUMNS = 7;
+
+    private static final int EXPORT_FETCH_SIZE = 1000;
+
+    private static final RowMapper<TaskDTO> SUMMARY_ROW_MAPPER = (rs, rowNum) -> new TaskDTO(
+            rs.getLong("id"),
+            rs.getString("title"),
+            rs.getString("description"),
+            rs.getObject("user_id", Long.class),
+            fromColumn(rs, "status"));
+
+    private static final RowMapper<TaskChange> TASK_CHANGE_ROW_MAPPER = (rs, rowNum) -> new TaskChange(
+            mapRow(rs, rowNum),
+            rs.getObject("previous_user_id", Long.class),
+            fromColumn(rs, "previous_status"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final LegacyPartition legacyPartition;
+    // Fetches exports in chunks through a cursor rather than all at once
+    private final NamedParameterJdbcTemplate exportTemplate;
+
+    TaskRepositoryCustomImpl(NamedParameterJdbcTemplate jdbcTemplate, LegacyPartition legacyPartition) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.legacyPartition = legacyPartition;
+        JdbcTemplate export = new JdbcTemplate(jdbcTemplate.getJdbcTemplate().getDataSource());
+        export.setFetchSize(EXPORT_FETCH_SIZE);
+        this.exportTemplate = new NamedParameterJdbcTemplate(export);
+    }
+
+    /**
+     * The condition on {@code bucket} for tasks of a user in {@code bucket}: that bucket and the legacy one while it
+     * has tasks. The buckets are literals rather than parameters, so that PostgreSQL leaves the other partitions
+     * out while planning, also in the generic plan of a prepared statement, instead of opening and locking all of
+     * them on every execution and pruning them only then. There are 17 buckets, so a statement gets at most as
+     * many texts.
+     */
+    static String inBuckets(LegacyPartition legacyPartition, short bucket) {
+        return inBuckets(Set.of(bucket, legacyPartition.legacyOr(bucket)));
+    }
+
+    /**
+     * Like {@link #inBuckets(LegacyPartition, short)} for the buckets the ids were created in.
+     */
+    static String inBucketsOfIds(LegacyPartition legacyPartition, Collection<Long> ids) {
+        Set<Short> buckets = new HashSet<>();
+        for (Long id : ids) {
+            short bucket = TaskPartitions.bucketOfId(id);
+            buckets.add(bucket);
+            buckets.add(legacyPartition.legacyOr(bucket));
+        }
+        return inBuckets(buckets);
+    }
+
+    static String inBuckets(Collection<Short> buckets) {
+        return buckets.stream()
+                .sorted()
+                .map(String::valueOf)
+                .collect(Collectors.joining(", ", "bucket in (", ")"));
+    }
+
+    /**
+     * A statement that locks the task, see {@link #PREVIOUS}, and updates it with {@code update}, as the
+     * {@code target} CTE for {@link #LOCATE}.
+     */
+    static String withPrevious(String buckets, String update) {
+        return PREVIOUS.formatted(buckets) + ", target as (" + update + RETURNING_CHANGE + ")";
+    }
+
+    @Override
+    public Optional<TaskDTO> findTask(long id) {
+        return locate(id, buckets -> "with target as (" + SELECT_TASK + " and " + buckets + ")",
+                new MapSqlParameterSource("id", id), TASK_DTO_ROW_MAPPER);
+    }
+
+    @Override
+    public List<TaskDTO> findTasks(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return locate(ids, buckets -> "with target as (" + SELECT_TASKS + " and " + buckets + ")",
+                new MapSqlParameterSource("ids", ids.toArray(Long[]::new)), TASK_DTO_ROW_MAPPER);
+    }
+
+    @Override
+    public List<TaskDTO> findPageAfter(long after, Long userId, TaskStatus status, Limit limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("after", after)
+                .addValue("limit", limit.max());
+        return jdbcTemplate.query("select " + SUMMARY_COLUMNS + " from task" + where(userId, status, params, "id > :after")
+                + " order by id limit :limit", params, SUMMARY_ROW_MAPPER);
+    }
+
+    @Override
+    public List<TaskDTO> findUserPageAfter(long userId, long after, Limit limit) {
+        return findPageAfter(after, userId, null, limit);
+    }
+
+    @Override
+    public List<TaskDTO> findUserPageAfter(long userId, TaskStatus status, long after, Limit limit) {
+        return findPageAfter(after, userId, status, limit);
+    }
+
+    @Override
+    public Stream<TaskDTO> streamAll(Long userId, TaskStatus status) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        return exportTemplate.queryForStream("select " + SUMMARY_COLUMNS + " from task" + where(userId, status, params)
+                + " order by id", params, SUMMARY_ROW_MAPPER);
+    }
+
+    @Override
+    public List<TaskDTO> findProjectedPageAfter(long after, Long userId, TaskStatus status, Set<TaskField> fields, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("after", after)
+                .addValue("limit", limit);
+        StringBuilder sql = new StringBuilder("select id");
+        for (TaskField field : fields) {
+            if (field != TaskField.ID) {
+                sql.append(", ").append(field.column());
+            }
+        }
+        sql.append(" from task").append(where(userId, status, params, "id > :after")).append(" order by id limit :limit");
+        return jdbcTemplate.query(sql.toString(), params, (rs, rowNum) -> {
+            TaskDTO task = new TaskDTO();
+            task.setId(rs.getLong("id"));
+            for (TaskField field : fields) {
+                switch (field) {
+                    case TITLE -> task.setTitle(rs.getString("title"));
+                    case DESCRIPTION -> task.setDescription(rs.getString("description"));
+                    case USER_ID -> task.setUserId(rs.getObject("user_id", Long.class));
+                    case STATUS -> task.setStatus(fromColumn(rs, "status"));
+                }
+            }
+            return task;
+        });
+    }
+
+    @Override
+    public Optional<TaskChange> update(long id, TaskDTO taskDTO, Long expectedVersion) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("title", taskDTO.getTitle(), Types.VARCHAR)
+                .addValue("description", taskDTO.getDescription(), Types.VARCHAR)
+                .addValue("userId", taskDTO.getUserId(), Types.BIGINT)
+                .addValue("status", toColumn(taskDTO.getStatus()), Types.SMALLINT);
+        String update = whereVersion("""
+                update task t
+                set title = :title, description = :description, user_id = :userId, status = :status,
+                    bucket = task_bucket(:userId), version = t.version + 1,
+                    lease_until = case when t.status = :status then t.lease_until end
+                from previous
+                where t.id = previous.id and t.bucket = previous.bucket
+                """, params, expectedVersion);
+        return locate(id, buckets -> withPrevious(buckets, update), params, TASK_CHANGE_ROW_MAPPER);
+    }
+
+    @Override
+    public Optional<TaskChange> updateStatus(long id, TaskStatus status, TaskStatus expectedStatus, Long expectedVersion) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("status", toColumn(status), Types.SMALLINT);
+        String sql = "update task t set status = :status, version = t.version + 1, " + KEEP_LEASE
+                + " from previous where t.id = previous.id and t.bucket = previous.bucket";
+        if (expectedStatus != null) {
+            sql += " and t.status = :expectedStatus";
+            params.addValue("expectedStatus", toColumn(expectedStatus), Types.SMALLINT);
+        }
+        String update = whereVersion(sql, params, expectedVersion);
+        return locate(id, buckets -> withPrevious(buckets, update), params, TASK_CHANGE_ROW_MAPPER);
+    }
+
+    @Override
+    public List<TaskChange> updateStatuses(Map<Long, TaskStatus> statuses) {
+        if (statuses.isEmpty()) {
+            return List.of();
+        }
+        Long[] ids = new Long[statuses.size()];
+        Short[] values = new Short[statuses.size()];
+        int i = 0;
+        for (Map.Entry<Long, TaskStatus> entry : statuses.entrySet()) {
+            ids[i] = entry.getKey();
+            values[i++] = toColumn(entry.getValue());
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("statuses", values);
+        String sql = """
+                with changes as (select * from unnest(cast(:ids as bigint[]), cast(:statuses as smallint[])) as c (id, status)),
+                previous as (
+                    select t.id, t.bucket, t.user_id, t.status from task t join changes c on c.id = t.id
+                    where t.%s
+                    order by t.id
+                    for update of t),
+                target as (
+                    update task t set status = changes.status, version = t.version + 1,
+                        lease_until = case when t.status = changes.status then t.lease_until end
+                    from changes, previous
+                    where t.id = changes.id and t.id = previous.id and t.bucket = previous.bucket
+                """ + RETURNING_CHANGE + ")";
+        return locate(statuses.keySet(), sql::formatted, params, TASK_CHANGE_ROW_MAPPER);
+    }
+
+    @Override
+    public List<TaskChange> updateStatusesWhere(TaskBulkStatusDTO bulkStatusDTO, long afterId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("afterId", afterId)
+                .addValue("status", toColumn(bulkStatusDTO.status()), Types.SMALLINT)
+                .addValue("limit", limit);
+        StringBuilder filter = new StringBuilder();
+        if (bulkStatusDTO.userId() != null) {
+            filter.append(" and user_id = :userId and ").append(inBuckets(legacyPartition, TaskPartitions.bucket(bulkStatusDTO.userId())));
+            params.addValue("userId", bulkStatusDTO.userId());
+        }
+        if (bulkStatusDTO.statuses() != null && !bulkStatusDTO.statuses().isEmpty()) {
+            filter.append(" and status = any(cast(:statuses as smallint[]))");
+            params.addValue("statuses", bulkStatusDTO.statuses().stream().map(TaskRepositoryCustomImpl::toColumn).toArray(Short[]::new));
+        }
+        if (bulkStatusDTO.toId() != null) {
+            filter.append(" and id <= :toId");
+            params.addValue("toId", bulkStatusDTO.toId());
+        }
+        String sql = """
+                with previous as (
+                    select id, bucket, user_id, status from task
+                    where id > :afterId and status is distinct from :status%s
+                    order by id
+                    limit :limit
+                    for update)
+                update task t set status = :status, version = t.version + 1, %s
+                from previous
+                where t.id = previous.id and t.bucket = previous.bucket
+                """.formatted(filter, KEEP_LEASE);
+        return jdbcTemplate.query(sql + RETURNING_CHANGE, params, TASK_CHANGE_ROW_MAPPER);
+    }
+
+    @Override
+    public TaskClaim claim(Long userId, int limit, Duration lease) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("limit", limit)
+                .addValue("leaseMillis", lease.toMillis());
+        List<TaskDTO> tasks = new ArrayList<>();
+        Instant leaseUntil;
+        if (userId == null) {
+            short start = (short) ThreadLocalRandom.current().nextInt(TaskPartitions.BUCKETS);
+            leaseUntil = claim("with " + CLAIM.formatted(" and bucket = " + start) + SELECT_CLAIMED, params, tasks);
+            if (tasks.size() < limit) {
+                params.addValue("limit", limit - tasks.size());
+                leaseUntil = max(leaseUntil, claim("with " + CLAIM.formatted(" and bucket <> " + start) + SELECT_CLAIMED, params, tasks));
+            }
+        } else {
+            String byUser = " and user_id = :userId and " + inBuckets(legacyPartition, TaskPartitions.bucket(userId));
+            params.addValue("userId", userId)
+                    .addValue("offset", ThreadLocalRandom.current().nextDouble());
+            String sql = """
+                    with start as (
+                        select min(id) + floor(:offset * (max(id) - min(id) + 1))::bigint as id
+                        from task
+                        where status = 0%s),
+                    """.formatted(byUser) + CLAIM.formatted(byUser + " and id >= (select id from start)") + """
+                    select claimed.*, start.id as start from start left join claimed on true
+                    """;
+            leaseUntil = claim(sql, params, tasks);
+            if (tasks.size() < limit && params.hasValue("start") && params.getValue("start") != null) {
+                params.addValue("limit", limit - tasks.size());
+                leaseUntil = max(leaseUntil, claim("with " + CLAIM.formatted(byUser + " and id < :start") + SELECT_CLAIMED, params, tasks));
+            }
+        }
+        return new TaskClaim(tasks, leaseUntil);
+    }
+
+    /**
+     * Runs one claim statement, adds the claimed tasks to {@code tasks} and sets the {@code start} parameter if the
+     * statement returns one.
+     *
+     * @return the end of the lease, or {@code null} if no task was claimed
+     */
+    private Instant claim(String sql, MapSqlParameterSource params, List<TaskDTO> tasks) {
+        return jdbcTemplate.query(sql, params, rs -> {
+            Instant leaseUntil = null;
+            boolean hasStart = rs.getMetaData().getColumnCount() > CLAIMED_COLUMNS;
+            while (rs.next()) {
+                if (hasStart) {
+                    params.addValue("start", rs.getObject("start", Long.class));
+                }
+                if (rs.getObject("id") != null) {
+                    tasks.add(mapRow(rs, tasks.size()));
+                    leaseUntil = rs.getObject("lease_until", Timestamp.class).toInstant();
+                }
+            }
+            return leaseUntil;
+        });
+    }
+
+    private static Instant max(Instant a, Instant b) {
+        return a == null || (b != null && b.isAfter(a)) ? b : a;
+    }
+
+    @Override
+    public List<TaskDTO> releaseExpiredLeases(int limit) {
+        String sql = """
+                with expired as (
+                    select id, bucket from task
+                    where status = 1 and lease_until < now()
+                    order by lease_until
+                    limit :limit
+                    for update skip locked)
+                update task t set status = 0, version = t.version + 1, lease_until = null
+                from expired
+                where t.id = expired.id and t.bucket = expired.bucket
+                returning t.id, t.title, t.description, t.user_id, t.status, t.version
+                """;
+        return jdbcTemplate.query(sql, new MapSqlParameterSource("limit", limit), TASK_DTO_ROW_MAPPER);
+    }
+
+    @Override
+    public Optional<TaskDTO> deleteReturning(long id) {
+        return locate(id, buckets -> "with target as (delete from task where id = :id and " + buckets + RETURNING + ")",
+                new MapSqlParameterSource("id", id), TASK_DTO_ROW_MAPPER);
+    }
+
+    @Override
+    public List<TaskDTO> deleteAllReturning(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return locate(ids,
+                buckets -> "with target as (delete from task where id = any(cast(:ids as bigint[])) and " + buckets + RETURNING + ")",
+                new MapSqlParameterSource("ids", ids.toArray(Long[]::new)), TASK_DTO_ROW_MAPPER);
+    }
+
+    @Override
+    public TaskSearchResult search(String tsQuery, Long userId, TaskStatus status, Float afterRank, Long afterId, int limit,
+                                      int maxCandidates) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("query", tsQuery)
+                .addValue("limit", limit)
+                .addValue("maxCandidates", maxCandidates);
+        StringBuilder sql = new StringBuilder("""
+                with query as (select to_tsquery('simple', :query) as query),
+                candidates as (
+                    select t.id, t.title, t.description, t.user_id, t.status, t.version, t.search_vector
+                    from task t, query q
+                    where t.search_vector @@ q.query
+                """);
+        if (userId != null) {
+            sql.append(" and t.user_id = :userId and t.").append(inBuckets(legacyPartition, TaskPartitions.bucket(userId)));
+            params.addValue("userId", userId);
+        }
+        if (status != null) {
+            sql.append(" and t.status = :status");
+            params.addValue("status", toColumn(status), Types.SMALLINT);
+        }
+        sql.append("""
+                 order by t.id desc limit :maxCandidates + 1)
+                select id, title, description, user_id, status, version, rank, truncated
+                from (select c.id, c.title, c.description, c.user_id, c.status, c.version,
+                             ts_rank(c.search_vector, q.query) as rank,
+                             count(*) over () > :maxCandidates as truncated,
+                             row_number() over (order by c.id desc) as position
+                      from candidates c, query q) hits
+                where position <= :maxCandidates
+                """);
+        if (afterRank != null) {
+            sql.append(" and (rank < :afterRank or (rank = :afterRank and id > :afterId))");
+            params.addValue("afterRank", afterRank, Types.REAL)
+                    .addValue("afterId", afterId);
+        }
+        sql.append(" order by rank desc, id limit :limit");
+        boolean[] truncated = new boolean[1];
+        List<TaskSearchHit> hits = jdbcTemplate.query(sql.toString(), params, (rs, rowNum) -> {
+            truncated[0] = rs.getBoolean("truncated");
+            return new TaskSearchHit(mapRow(rs, rowNum), rs.getFloat("rank"));
+        });
+        return new TaskSearchResult(hits, truncated[0]);
+    }
+
+    private static String whereVersion(String sql, MapSqlParameterSource params, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return sql;
+        }
+        params.addValue("expectedVersion", expectedVersion);
+        return sql + " and t.version = :expectedVersion";
+    }
+
+    /**
+     * The conditions, and those on the user and status if given, as a {@code where} clause.
+     */
+    private String where(Long userId, TaskStatus status, MapSqlParameterSource params, String... conditions) {
+        List<String> where = new ArrayList<>(List.of(conditions));
+        if (userId != null) {
+            where.add("user_id = :userId and " + inBuckets(legacyPartition, TaskPartitions.bucket(userId)));
+            params.addValue("userId", userId);
+        }
+        if (status != null) {
+            where.add("status = :status");
+            params.addValue("status", toColumn(status), Types.SMALLINT);
+        }
+        return where.isEmpty() ? "" : " where " + String.join(" and ", where);
+    }
+
+    private <T> Optional<T> locate(long id, Function<String, String> statement, MapSqlParameterSource params,
+                                   RowMapper<T> rowMapper) {
+        return locate(List.of(id), statement, params, rowMapper).stream().findFirst();
+    }
+
+    /**
+     * Runs a statement on tasks by id in the buckets their ids were created in, and, with {@link #LOCATE}, learns
+     * in the same round trip where the tasks are that have moved since. Only if there are any, it runs the
+     * statement once more in their buckets, which the first run did not name.
+     *
+     * @param statement the statement for a condition on {@code bucket}, ending with a {@code target} CTE
+     */
+    private <T> List<T> locate(Collection<Long> ids, Function<String, String> statement, MapSqlParameterSource params,
+                               RowMapper<T> rowMapper) {
+        Set<Short> located = new TreeSet<>();
+        params.addValue("locateIds", ids.toArray(Long[]::new));
+        List<T> rows = jdbcTemplate.query(statement.apply(inBucketsOfIds(legacyPartition, ids)) + LOCATE, params, rs -> {
+            List<T> found = new ArrayList<>();
+            while (rs.next()) {
+                short bucket = rs.getShort("located_bucket");
+                if (rs.wasNull()) {
+                    found.add(rowMapper.mapRow(rs, found.size()));
+                } else {
+                    located.add(bucket);
+                }
+            }
+            return found;
+        });
+        if (!located.isEmpty()) {
+            rows.addAll(jdbcTemplate.query(statement.apply(inBuckets(located)) + SELECT_TARGET, params, rowMapper));
+        }
+        return rows;
+    }
+
+    static Short toColumn(TaskStatus status) {
+        return status == null ? null : (short) status.ordinal();
+    }
+
+    static TaskStatus fromColumn(ResultSet rs, String column) throws SQLException {
+        short ordinal = rs.getShort(column);
+        return rs.wasNull() ? null : TaskStatus.values()[ordinal];
+    }
+
+    private static TaskDTO mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new TaskDTO(
+                rs.getLong("id"),
+                rs.getString("title"),
+                rs.getString("description"),
+                rs.getObject("user_id", Long.class),
+                fromColumn(rs, "status"),
+                rs.getObject("version", Long.class));
+    }
+}
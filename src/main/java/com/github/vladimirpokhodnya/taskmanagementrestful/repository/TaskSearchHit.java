@@ -0,0 +1,9 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.repository;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+
+/**
+ * A task matched by full-text search with its {@code ts_rank}.
+ */
+public record TaskSearchHit(TaskDTO task, float rank) {
+}
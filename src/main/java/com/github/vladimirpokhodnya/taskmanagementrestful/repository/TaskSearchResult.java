@@ -0,0 +1,10 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.repository;
+
+import java.util.List;
+
+/**
+ * A page of search hits; {@code truncated} if more tasks matched than were ranked, so that older matches may be
+ * missing however relevant they are.
+ */
+public record TaskSearchResult(List<TaskSearchHit> hits, boolean truncated) {
+}
@@ -0,0 +1,67 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.routing;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.web.ReadConsistencyFilter;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Hands out read-your-writes tokens. After a read-write transaction of a request commits, the primary's current
+ * WAL position, which is past the commit record, goes into the {@value ReadConsistencyFilter#HEADER} response header
+ * and becomes the position that the rest of the request must read.
+ * <p>
+ * The position is read on the connection of the committed transaction, which is still bound to the thread at this
+ * point, so a write never needs a second pooled connection. Transactions outside of requests, such as the
+ * write-behind flushes, get no token.
+ */
+public class CommitLsnListener implements TransactionExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(CommitLsnListener.class);
+
+    private final DataSource dataSource;
+
+    public CommitLsnListener(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure != null || transaction.isReadOnly()
+                || !(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)
+                || attributes.getResponse() == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.hasResource(dataSource)) {
+            return;
+        }
+        Lsn lsn;
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("select pg_current_wal_lsn()::text")) {
+            rs.next();
+            lsn = Lsn.parse(rs.getString(1));
+        } catch (SQLException e) {
+            log.warn("Cannot read the WAL position after commit: {}", e.getMessage());
+            return;
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+        ReadConsistency.require(lsn);
+        HttpServletResponse response = attributes.getResponse();
+        if (!response.isCommitted()) {
+            response.setHeader(ReadConsistencyFilter.HEADER, ReadConsistency.required().toString());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.routing;
+
+/**
+ * A position in the PostgreSQL write-ahead log, in the text form of {@code pg_lsn} ({@code 16/B374D848}).
+ */
+public record Lsn(long value) implements Comparable<Lsn> {
+
+    private static final long HALF = 0xFFFFFFFFL;
+
+    public static Lsn parse(String text) {
+        int slash = text.indexOf('/');
+        if (slash <= 0 || slash == text.length() - 1) {
+            throw new IllegalArgumentException("Invalid LSN: " + text);
+        }
+        long high = Long.parseLong(text, 0, slash, 16);
+        long low = Long.parseLong(text, slash + 1, text.length(), 16);
+        if (high < 0 || high > HALF || low < 0 || low > HALF) {
+            throw new IllegalArgumentException("Invalid LSN: " + text);
+        }
+        return new Lsn(high << 32 | low);
+    }
+
+    @Override
+    public int compareTo(Lsn other) {
+        return Long.compareUnsigned(value, other.value);
+    }
+
+    @Override
+    public String toString() {
+        return Long.toHexString(value >>> 32).toUpperCase() + "/" + Long.toHexString(value & HALF).toUpperCase();
+    }
+}
@@ -0,0 +1,53 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.routing;
+
+import java.util.function.Supplier;
+
+/**
+ * What the reads of the current thread must see when they go to a replica: the WAL position of the client's
+ * token and of the thread's own commits, or nothing but the primary.
+ */
+public final class ReadConsistency {
+
+    private static final ThreadLocal<Lsn> REQUIRED = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    private ReadConsistency() {
+    }
+
+    /**
+     * Raises the position that the following reads of this thread must see.
+     */
+    public static void require(Lsn lsn) {
+        Lsn required = REQUIRED.get();
+        if (required == null || lsn.compareTo(required) > 0) {
+            REQUIRED.set(lsn);
+        }
+    }
+
+    public static Lsn required() {
+        return REQUIRED.get();
+    }
+
+    public static void clear() {
+        REQUIRED.remove();
+    }
+
+    /**
+     * Runs {@code reads} against the primary, e.g. to fill a cache that other requests read without a token.
+     */
+    public static <T> T onPrimary(Supplier<T> reads) {
+        if (Boolean.TRUE.equals(PRIMARY_ONLY.get())) {
+            return reads.get();
+        }
+        PRIMARY_ONLY.set(true);
+        try {
+            return reads.get();
+        } finally {
+            PRIMARY_ONLY.remove();
+        }
+    }
+
+    static boolean primaryOnly() {
+        return Boolean.TRUE.equals(PRIMARY_ONLY.get());
+    }
+}
@@ -0,0 +1,242 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The replicas that read-only transactions are routed to.
+ * <p>
+ * A background thread polls every replica for the WAL position it has replayed and for how far it is behind the
+ * primary. A read goes to the next replica, round robin, that is within {@code task.replicas.max-lag} and has
+ * replayed up to {@link ReadConsistency#required()}; if there is none, it goes to the primary.
+ */
+public class ReplicaPool implements SmartLifecycle, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaPool.class);
+    private static final Duration CONNECTION_TIMEOUT = Duration.ofSeconds(1);
+
+    // A replica that has received everything it has replayed is not behind, however old its last transaction is
+    private static final String LAG = """
+            select pg_last_wal_replay_lsn()::text,
+                   case when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+                        else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0) end
+            """;
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Duration maxLag;
+    private final Duration checkInterval;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter replicaReads;
+    private final Counter primaryReads;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public ReplicaPool(ReplicaProperties properties, String username, String password, MeterRegistry meterRegistry) {
+        this(properties, createDataSources(properties, username, password, meterRegistry), meterRegistry);
+    }
+
+    ReplicaPool(ReplicaProperties properties, List<DataSource> dataSources, MeterRegistry meterRegistry) {
+        this.maxLag = properties.maxLag();
+        this.checkInterval = properties.checkInterval();
+        for (int i = 0; i < dataSources.size(); i++) {
+            Replica replica = new Replica("replica-" + (i + 1), dataSources.get(i));
+            replicas.add(replica);
+            Gauge.builder("task.replicas.lag", replica, r -> r.available ? r.lagSeconds : Double.NaN)
+                    .description("Replication lag of the replica in seconds, NaN while it cannot be read from")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+        }
+        this.replicaReads = readCounter("replica", meterRegistry);
+        this.primaryReads = readCounter("primary", meterRegistry);
+    }
+
+    /**
+     * A connection for a read-only transaction: from a replica that can serve it, otherwise from {@code primary}.
+     */
+    public Connection getConnection(DataSource primary) throws SQLException {
+        if (!ReadConsistency.primaryOnly() && !replicas.isEmpty()) {
+            Lsn required = ReadConsistency.required();
+            int start = next.getAndIncrement();
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+                if (!replica.available) {
+                    continue;
+                }
+                try {
+                    Connection connection = replica.dataSource.getConnection();
+                    if (replica.hasReplayed(required) || hasReplayedNow(replica, connection, required)) {
+                        replicaReads.increment();
+                        return connection;
+                    }
+                } catch (SQLException e) {
+                    log.warn("Cannot read from {}, reading elsewhere: {}", replica.name, e.getMessage());
+                    replica.available = false;
+                }
+            }
+        }
+        primaryReads.increment();
+        return primary.getConnection();
+    }
+
+    /**
+     * Asks the replica itself when the last poll saw it behind the token: right after a write it usually has caught
+     * up already, and the read would otherwise go to the primary. Closes the connection unless it can be read from.
+     */
+    private static boolean hasReplayedNow(Replica replica, Connection connection, Lsn required) throws SQLException {
+        boolean replayed = false;
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("select pg_last_wal_replay_lsn()::text")) {
+            String position = rs.next() ? rs.getString(1) : null;
+            if (position != null) {
+                replica.advance(Lsn.parse(position));
+                replayed = replica.hasReplayed(required);
+            }
+        } finally {
+            if (!replayed) {
+                connection.close();
+            }
+        }
+        return replayed;
+    }
+
+    void check(Replica replica) {
+        try {
+            replica.jdbcTemplate.query(LAG, rs -> {
+                String replayed = rs.getString(1);
+                replica.update(replayed == null ? null : Lsn.parse(replayed), rs.getDouble(2), maxLag);
+            });
+        } catch (RuntimeException e) {
+            if (replica.available) {
+                log.warn("Stopped reading from {}: {}", replica.name, e.getMessage());
+            }
+            replica.available = false;
+        }
+    }
+
+    List<Replica> replicas() {
+        return replicas;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this::run, "task-replica-check");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void destroy() {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof HikariDataSource hikari) {
+                hikari.close();
+            }
+        }
+    }
+
+    private void run() {
+        while (running) {
+            replicas.forEach(this::check);
+            try {
+                Thread.sleep(checkInterval);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private static List<DataSource> createDataSources(ReplicaProperties properties, String username, String password,
+                                                      MeterRegistry meterRegistry) {
+        List<DataSource> dataSources = new ArrayList<>();
+        for (String url : properties.urls()) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("replica-" + (dataSources.size() + 1));
+            dataSource.setJdbcUrl(url);
+            dataSource.setUsername(properties.username() != null ? properties.username() : username);
+            dataSource.setPassword(properties.password() != null ? properties.password() : password);
+            dataSource.setMaximumPoolSize(properties.poolSize());
+            dataSource.setReadOnly(true);
+            dataSource.setConnectionTimeout(CONNECTION_TIMEOUT.toMillis());
+            // Start without the replica and keep trying, reads go to the primary meanwhile
+            dataSource.setInitializationFailTimeout(-1);
+            dataSource.setMetricRegistry(meterRegistry);
+            dataSources.add(dataSource);
+        }
+        return dataSources;
+    }
+
+    private static Counter readCounter(String target, MeterRegistry meterRegistry) {
+        return Counter.builder("task.replicas.reads")
+                .description("Read-only transactions by the database they were routed to")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    static final class Replica {
+
+        final String name;
+        final DataSource dataSource;
+        final JdbcTemplate jdbcTemplate;
+
+        volatile boolean available;
+        volatile Lsn replayed;
+        volatile double lagSeconds;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.jdbcTemplate = new JdbcTemplate(dataSource);
+        }
+
+        void update(Lsn replayed, double lagSeconds, Duration maxLag) {
+            this.replayed = replayed;
+            this.lagSeconds = lagSeconds;
+            // Not in recovery (replayed == null) means it is not a replica at all
+            this.available = replayed != null && lagSeconds * 1000 <= maxLag.toMillis();
+        }
+
+        void advance(Lsn position) {
+            Lsn current = replayed;
+            if (current == null || position.compareTo(current) > 0) {
+                replayed = position;
+            }
+        }
+
+        boolean hasReplayed(Lsn required) {
+            Lsn position = replayed;
+            return required == null || position != null && position.compareTo(required) >= 0;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.routing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * @param enabled       whether read-only transactions are routed to the replicas
+ * @param urls          JDBC urls of the replicas
+ * @param username      user for the replicas; {@code spring.datasource.username} if not set
+ * @param password      password for the replicas; {@code spring.datasource.password} if not set
+ * @param poolSize      connections per replica
+ * @param maxLag        replicas that are further behind the primary are not read from
+ * @param checkInterval how often the lag and the replayed WAL position of every replica are polled
+ */
+@ConfigurationProperties("task.replicas")
+public record ReplicaProperties(@DefaultValue("false") boolean enabled,
+                                @DefaultValue List<String> urls,
+                                String username,
+                                String password,
+                                @DefaultValue("10") int poolSize,
+                                @DefaultValue("1s") Duration maxLag,
+                                @DefaultValue("200ms") Duration checkInterval) {
+}
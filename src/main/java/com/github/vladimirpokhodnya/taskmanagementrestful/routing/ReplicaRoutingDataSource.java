@@ -0,0 +1,33 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.routing;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * The read-only data source of a {@link LazyConnectionDataSourceProxy}: connections of read-only transactions come
+ * from the {@link ReplicaPool}, which falls back to the primary.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final ReplicaPool replicaPool;
+
+    public ReplicaRoutingDataSource(DataSource primary, ReplicaPool replicaPool) {
+        this.primary = primary;
+        this.replicaPool = replicaPool;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return replicaPool.getConnection(primary);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLException("Replica connections use the configured credentials");
+    }
+}
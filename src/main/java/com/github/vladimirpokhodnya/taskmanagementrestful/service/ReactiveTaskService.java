@@ -0,0 +1,183 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.service;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.cache.TaskCacheProperties;
+import com.github.vladimirpokhodnya.taskmanagementrestful.counter.TaskCounterDeltas;
+import com.github.vladimirpokhodnya.taskmanagementrestful.counter.TaskCounterProperties;
+import com.github.vladimirpokhodnya.taskmanagementrestful.counter.TaskCounters;
+import com.github.vladimirpokhodnya.taskmanagementrestful.exception.TaskStatusConflictException;
+import com.github.vladimirpokhodnya.taskmanagementrestful.exception.TaskVersionMismatchException;
+import com.github.vladimirpokhodnya.taskmanagementrestful.exception.TooManyTaskIdsException;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskField;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskStatus;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskChangeEvent;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskPage;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskSummaryDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.outbox.TaskChangeFeed;
+import com.github.vladimirpokhodnya.taskmanagementrestful.repository.ReactiveTaskRepository;
+import com.github.vladimirpokhodnya.taskmanagementrestful.repository.TaskChange;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Non-blocking counterpart of {@link TaskService} for the reactive task API.
+ * <p>
+ * Every write runs in one R2DBC transaction together with its counter deltas, outbox row and cache invalidation.
+ * The in-memory counter snapshot and the change feed are updated once the transaction has committed:
+ * {@link TransactionalOperator#transactional(Mono)} only emits after the commit. Reads go to the database;
+ * the in-process task cache belongs to the servlet stack.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveTaskService {
+
+    private final ReactiveTaskRepository taskRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final TaskCounters taskCounters;
+    private final TaskChangeFeed taskChangeFeed;
+    private final int counterStripes;
+    private final String cacheChannel;
+
+    public ReactiveTaskService(ReactiveTaskRepository taskRepository, TransactionalOperator transactionalOperator,
+                               TaskCounters taskCounters, TaskChangeFeed taskChangeFeed,
+                               TaskCounterProperties counterProperties, TaskCacheProperties cacheProperties) {
+        this.taskRepository = taskRepository;
+        this.transactionalOperator = transactionalOperator;
+        this.taskCounters = taskCounters;
+        this.taskChangeFeed = taskChangeFeed;
+        this.counterStripes = counterProperties.stripes();
+        this.cacheChannel = cacheProperties.channel();
+    }
+
+    public Mono<TaskDTO> createTask(TaskDTO taskDTO) {
+        return write(taskRepository.insert(taskDTO)
+                .flatMap(created -> record(TaskChangeEvent.Type.CREATED, created,
+                        new TaskCounterDeltas().created(created.getUserId(), created.getStatus()))));
+    }
+
+    public Mono<TaskDTO> getTaskById(long id) {
+        return taskRepository.findById(id);
+    }
+
+    /**
+     * @return the updated task, or empty if there is no such task
+     */
+    public Mono<TaskDTO> updateTask(long id, TaskDTO taskDTO, Long expectedVersion) {
+        return write(taskRepository.update(id, taskDTO, expectedVersion)
+                .flatMap(this::recordChange)
+                .switchIfEmpty(Mono.defer(() -> expectedVersion == null
+                        ? Mono.empty()
+                        : taskRepository.existsById(id).flatMap(exists -> exists
+                                ? Mono.error(new TaskVersionMismatchException(id))
+                                : Mono.empty()))));
+    }
+
+    /**
+     * @return the updated task, or empty if there is no such task
+     */
+    public Mono<TaskDTO> updateStatus(long id, TaskStatus newStatus, TaskStatus expectedStatus, Long expectedVersion) {
+        return write(taskRepository.updateStatus(id, newStatus, expectedStatus, expectedVersion)
+                .flatMap(this::recordChange)
+                .switchIfEmpty(Mono.defer(() -> expectedStatus == null && expectedVersion == null
+                        ? Mono.empty()
+                        : taskRepository.findById(id).flatMap(current -> {
+                            if (expectedStatus == null || (expectedVersion != null && !expectedVersion.equals(current.getVersion()))) {
+                                return Mono.error(new TaskVersionMismatchException(id));
+                            }
+                            return Mono.error(new TaskStatusConflictException(id, expectedStatus));
+                        }))));
+    }
+
+    public Mono<Boolean> deleteTask(long id) {
+        return write(taskRepository.deleteReturning(id)
+                .flatMap(deleted -> record(TaskChangeEvent.Type.DELETED, deleted,
+                        new TaskCounterDeltas().deleted(deleted.getUserId(), deleted.getStatus()))))
+                .hasElement();
+    }
+
+    /**
+     * The existing tasks among {@code ids}, in the order of their first occurrence, like
+     * {@link TaskService#getTasksByIds}, read with one query.
+     */
+    public Mono<List<TaskDTO>> getTasksByIds(List<Long> ids) {
+        if (ids.size() > TaskService.MAX_PAGE_SIZE) {
+            return Mono.error(new TooManyTaskIdsException(ids.size(), TaskService.MAX_PAGE_SIZE));
+        }
+        if (ids.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        return taskRepository.findByIds(new LinkedHashSet<>(ids))
+                .collectMap(TaskDTO::getId)
+                .map(found -> ids.stream()
+                        .distinct()
+                        .map(found::get)
+                        .filter(Objects::nonNull)
+                        .toList());
+    }
+
+    /**
+     * @param fields if not {@code null}, only these fields are read, see {@link TaskField#parse}
+     */
+    public Mono<TaskPage> getTasks(String cursor, Long after, Integer limit, Long userId, TaskStatus status,
+                                   Set<TaskField> fields) {
+        return Mono.defer(() -> {
+            long afterId = cursor != null ? TaskCursor.decode(cursor) : (after != null ? after : 0L);
+            int pageSize = TaskService.pageSize(limit);
+            Flux<TaskDTO> rows = fields != null
+                    ? taskRepository.findProjectedPageAfter(afterId, userId, status, fields, pageSize + 1)
+                    : taskRepository.findPageAfter(afterId, userId, status, pageSize + 1);
+            return rows.collectList()
+                    .map(page -> TaskService.toPage(page, pageSize));
+        });
+    }
+
+    public Flux<TaskDTO> exportTasks(Long userId, TaskStatus status) {
+        return taskRepository.streamAll(userId, status);
+    }
+
+    public TaskSummaryDTO getTaskSummary() {
+        return taskCounters.summary();
+    }
+
+    private Mono<Written> recordChange(TaskChange change) {
+        TaskDTO task = change.task();
+        return record(TaskChangeEvent.Type.UPDATED, task, change.reassignedFrom(), new TaskCounterDeltas()
+                .moved(change.previousUserId(), change.previousStatus(), task.getUserId(), task.getStatus()));
+    }
+
+    private Mono<Written> record(TaskChangeEvent.Type type, TaskDTO task, TaskCounterDeltas deltas) {
+        return record(type, task, null, deltas);
+    }
+
+    private Mono<Written> record(TaskChangeEvent.Type type, TaskDTO task, Long previousUserId, TaskCounterDeltas deltas) {
+        short stripe = (short) ThreadLocalRandom.current().nextInt(counterStripes);
+        Mono<Void> evict = type == TaskChangeEvent.Type.CREATED
+                ? Mono.empty()
+                : taskRepository.notifyEvicted(cacheChannel, task.getId());
+        return taskRepository.addCounters(deltas, stripe)
+                .flatMap(xid -> taskRepository.recordChange(type, task, previousUserId)
+                        .then(evict)
+                        .thenReturn(new Written(task, deltas, xid)));
+    }
+
+    private Mono<TaskDTO> write(Mono<Written> work) {
+        return transactionalOperator.transactional(work)
+                .map(written -> {
+                    taskCounters.addToSnapshot(written.deltas(), written.xid());
+                    taskChangeFeed.signal();
+                    return written.task();
+                });
+    }
+
+    private record Written(TaskDTO task, TaskCounterDeltas deltas, long xid) {
+    }
+}
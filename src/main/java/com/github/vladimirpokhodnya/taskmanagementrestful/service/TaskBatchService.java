@@ -0,0 +1,238 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.service;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.cache.TaskCache;
+import com.github.vladimirpokhodnya.taskmanagementrestful.counter.TaskCounterDeltas;
+import com.github.vladimirpokhodnya.taskmanagementrestful.counter.TaskCounters;
+import com.github.vladimirpokhodnya.taskmanagementrestful.exception.InvalidBulkStatusException;
+import com.github.vladimirpokhodnya.taskmanagementrestful.exception.TaskErrorCode;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.Task;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskStatus;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskBatchItemResult;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskBatchItemResult.Outcome;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskBulkStatusChunk;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskBulkStatusDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskChangeEvent;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskStatusDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.outbox.TaskOutbox;
+import com.github.vladimirpokhodnya.taskmanagementrestful.repository.TaskChange;
+import com.github.vladimirpokhodnya.taskmanagementrestful.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk variants of the {@link TaskService} write operations.
+ * <p>
+ * Items are processed in chunks of {@link #CHUNK_SIZE}; every chunk runs in its own transaction,
+ * so Hibernate flushes it as JDBC batches and a failing chunk does not roll back the others. The items of a
+ * failing chunk are then retried one by one, so a single bad item fails alone.
+ */
+@Service
+public class TaskBatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskBatchService.class);
+
+    static final int CHUNK_SIZE = 500;
+
+    private final TaskRepository taskRepository;
+    private final TaskCache taskCache;
+    private final TaskCounters taskCounters;
+    private final TaskOutbox taskOutbox;
+    private final TransactionTemplate transactionTemplate;
+
+    public TaskBatchService(TaskRepository taskRepository, TaskCache taskCache, TaskCounters taskCounters,
+                            TaskOutbox taskOutbox, PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.taskCache = taskCache;
+        this.taskCounters = taskCounters;
+        this.taskOutbox = taskOutbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public List<TaskBatchItemResult> createTasks(List<TaskDTO> taskDTOs) {
+        return inChunks(taskDTOs, dto -> null, (offset, chunk) -> {
+            List<Task> tasks = chunk.stream()
+                    .map(TaskService::mapToEntity)
+                    .toList();
+            List<Task> created = taskRepository.saveAll(tasks);
+
+            TaskCounterDeltas deltas = new TaskCounterDeltas();
+            List<TaskBatchItemResult> results = new ArrayList<>(created.size());
+            for (int i = 0; i < created.size(); i++) {
+                Task task = created.get(i);
+                deltas.created(task.getUserId(), task.getStatus());
+                results.add(TaskBatchItemResult.of(offset + i, task.getId(), Outcome.CREATED));
+            }
+            taskCounters.apply(deltas);
+            taskOutbox.recordAll(TaskChangeEvent.Type.CREATED, created.stream().map(TaskService::mapToDTO).toList());
+            return results;
+        });
+    }
+
+    public List<TaskBatchItemResult> updateStatuses(List<TaskStatusDTO> statusDTOs) {
+        return inChunks(statusDTOs, TaskStatusDTO::id, (offset, chunk) -> {
+            // The last status of a task wins, as if the items were applied one after another
+            Map<Long, TaskStatus> statuses = new LinkedHashMap<>();
+            chunk.forEach(statusDTO -> statuses.put(statusDTO.id(), statusDTO.status()));
+            List<TaskChange> changes = taskRepository.updateStatuses(statuses);
+
+            TaskCounterDeltas deltas = new TaskCounterDeltas();
+            List<TaskDTO> updated = new ArrayList<>(changes.size());
+            for (TaskChange change : changes) {
+                TaskDTO task = change.task();
+                deltas.moved(change.previousUserId(), change.previousStatus(), task.getUserId(), task.getStatus());
+                updated.add(task);
+            }
+            Set<Long> existing = updated.stream().map(TaskDTO::getId).collect(Collectors.toSet());
+            taskCache.evictAll(existing);
+            taskCounters.apply(deltas);
+            taskOutbox.recordAll(TaskChangeEvent.Type.UPDATED, updated);
+
+            List<TaskBatchItemResult> results = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                Long id = chunk.get(i).id();
+                results.add(TaskBatchItemResult.of(offset + i, id, existing.contains(id) ? Outcome.UPDATED : Outcome.NOT_FOUND));
+            }
+            return results;
+        });
+    }
+
+    public List<TaskBatchItemResult> deleteTasks(List<Long> ids) {
+        return inChunks(ids, Function.identity(), (offset, chunk) -> {
+            TaskCounterDeltas deltas = new TaskCounterDeltas();
+            Set<Long> existing = new HashSet<>();
+            List<TaskDTO> deleted = taskRepository.deleteAllReturning(chunk);
+            for (TaskDTO task : deleted) {
+                existing.add(task.getId());
+                deltas.deleted(task.getUserId(), task.getStatus());
+            }
+            taskCache.evictAll(existing);
+            taskCounters.apply(deltas);
+            taskOutbox.recordAll(TaskChangeEvent.Type.DELETED, deleted);
+
+            List<TaskBatchItemResult> results = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                Long id = chunk.get(i);
+                results.add(TaskBatchItemResult.of(offset + i, id, existing.contains(id) ? Outcome.DELETED : Outcome.NOT_FOUND));
+            }
+            return results;
+        });
+    }
+
+    /**
+     * Sets the status of every task matching the filter of {@code bulkStatusDTO} with set-based updates of up to
+     * {@link #CHUNK_SIZE} tasks in id order, each committed in its own transaction so that locks are held briefly
+     * and no single transaction grows with the number of tasks. Tasks that already have the status are left alone,
+     * so repeating the request after a failure resumes it.
+     *
+     * @param sink receives every chunk after it has been committed
+     * @return the number of tasks updated
+     * @throws InvalidBulkStatusException see {@link #checkBulkStatus}
+     */
+    public long updateStatusesWhere(TaskBulkStatusDTO bulkStatusDTO, Consumer<TaskBulkStatusChunk> sink) {
+        checkBulkStatus(bulkStatusDTO);
+        Long fromId = bulkStatusDTO.fromId();
+        long afterId = fromId == null || fromId == Long.MIN_VALUE ? Long.MIN_VALUE : fromId - 1;
+        long affected = 0;
+        while (true) {
+            long after = afterId;
+            List<Long> ids = transactionTemplate.execute(status -> {
+                List<TaskChange> changes = taskRepository.updateStatusesWhere(bulkStatusDTO, after, CHUNK_SIZE);
+                TaskCounterDeltas deltas = new TaskCounterDeltas();
+                List<TaskDTO> updated = new ArrayList<>(changes.size());
+                for (TaskChange change : changes) {
+                    TaskDTO task = change.task();
+                    deltas.moved(change.previousUserId(), change.previousStatus(), task.getUserId(), task.getStatus());
+                    updated.add(task);
+                }
+                List<Long> updatedIds = updated.stream().map(TaskDTO::getId).sorted().toList();
+                taskCache.evictAll(updatedIds);
+                taskCounters.apply(deltas);
+                taskOutbox.recordAll(TaskChangeEvent.Type.UPDATED, updated);
+                return updatedIds;
+            });
+            if (ids.isEmpty()) {
+                return affected;
+            }
+            affected += ids.size();
+            sink.accept(new TaskBulkStatusChunk(ids, affected));
+            afterId = ids.get(ids.size() - 1);
+        }
+    }
+
+    /**
+     * Rejects a bulk status change without a new status, or without any filter, which would change every task.
+     *
+     * @throws InvalidBulkStatusException if {@code bulkStatusDTO} is one of those
+     */
+    public void checkBulkStatus(TaskBulkStatusDTO bulkStatusDTO) {
+        if (bulkStatusDTO.status() == null) {
+            throw new InvalidBulkStatusException("Не указан новый статус задач");
+        }
+        boolean filtered = bulkStatusDTO.userId() != null
+                || bulkStatusDTO.statuses() != null && !bulkStatusDTO.statuses().isEmpty()
+                || bulkStatusDTO.fromId() != null || bulkStatusDTO.toId() != null;
+        if (!filtered) {
+            throw new InvalidBulkStatusException("Не указано ни одного условия отбора задач: userId, statuses, fromId или toId");
+        }
+    }
+
+    private <T> List<TaskBatchItemResult> inChunks(List<T> items,
+                                                   Function<T, Long> idOf,
+                                                   BiFunction<Integer, List<T>, List<TaskBatchItemResult>> chunkAction) {
+        List<TaskBatchItemResult> results = new ArrayList<>(items.size());
+        for (int offset = 0; offset < items.size(); offset += CHUNK_SIZE) {
+            int start = offset;
+            List<T> chunk = items.subList(start, Math.min(start + CHUNK_SIZE, items.size()));
+            try {
+                results.addAll(transactionTemplate.execute(status -> chunkAction.apply(start, chunk)));
+            } catch (RuntimeException e) {
+                TaskErrorCode code = TaskErrorCode.of(e);
+                log.warn("Batch chunk [{}, {}) failed with {}", start, start + chunk.size(), code, e);
+                if (chunk.size() == 1 || code == TaskErrorCode.DATABASE_UNAVAILABLE) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        results.add(TaskBatchItemResult.failed(start + i, idOf.apply(chunk.get(i)), code));
+                    }
+                } else {
+                    results.addAll(oneByOne(start, chunk, idOf, chunkAction));
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Retries the items of a failed chunk in a transaction each, so that only the items that fail on their own
+     * are reported as failed.
+     */
+    private <T> List<TaskBatchItemResult> oneByOne(int offset, List<T> chunk, Function<T, Long> idOf,
+                                                   BiFunction<Integer, List<T>, List<TaskBatchItemResult>> chunkAction) {
+        List<TaskBatchItemResult> results = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            int index = offset + i;
+            T item = chunk.get(i);
+            try {
+                results.addAll(transactionTemplate.execute(status -> chunkAction.apply(index, List.of(item))));
+            } catch (RuntimeException e) {
+                TaskErrorCode code = TaskErrorCode.of(e);
+                log.debug("Batch item {} failed with {}", index, code, e);
+                results.add(TaskBatchItemResult.failed(index, idOf.apply(item), code));
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,78 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.service;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.cache.TaskCache;
+import com.github.vladimirpokhodnya.taskmanagementrestful.claim.TaskClaimProperties;
+import com.github.vladimirpokhodnya.taskmanagementrestful.counter.TaskCounterDeltas;
+import com.github.vladimirpokhodnya.taskmanagementrestful.counter.TaskCounters;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskStatus;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskChangeEvent;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.outbox.TaskOutbox;
+import com.github.vladimirpokhodnya.taskmanagementrestful.repository.TaskClaim;
+import com.github.vladimirpokhodnya.taskmanagementrestful.repository.TaskRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Work-queue access to the tasks: workers claim {@code NOT_STARTED} tasks, which become {@code IN_PROGRESS} under a
+ * lease, and report the outcome with a status update. Tasks whose worker does not do so before the lease expires are
+ * returned to {@code NOT_STARTED} by {@link com.github.vladimirpokhodnya.taskmanagementrestful.claim.TaskLeaseReaper}.
+ * <p>
+ * Claiming and releasing bump the version, so a worker that updates the status with {@code If-Match} cannot
+ * overwrite a task that has been released and claimed by another worker in the meantime.
+ */
+@Service
+public class TaskClaimService {
+
+    static final int DEFAULT_CLAIM_SIZE = 1;
+
+    private final TaskRepository taskRepository;
+    private final TaskCache taskCache;
+    private final TaskCounters taskCounters;
+    private final TaskOutbox taskOutbox;
+    private final TaskClaimProperties properties;
+
+    public TaskClaimService(TaskRepository taskRepository, TaskCache taskCache, TaskCounters taskCounters,
+                            TaskOutbox taskOutbox, TaskClaimProperties properties) {
+        this.taskRepository = taskRepository;
+        this.taskCache = taskCache;
+        this.taskCounters = taskCounters;
+        this.taskOutbox = taskOutbox;
+        this.properties = properties;
+    }
+
+    @Transactional
+    public TaskClaim claimTasks(Long userId, Integer limit) {
+        int claimSize = limit == null ? DEFAULT_CLAIM_SIZE : Math.max(1, Math.min(limit, TaskService.MAX_PAGE_SIZE));
+        TaskClaim claim = taskRepository.claim(userId, claimSize, properties.lease());
+        applyTransition(claim.tasks(), TaskStatus.NOT_STARTED);
+        return claim;
+    }
+
+    /**
+     * Returns one batch of tasks with an expired lease to {@code NOT_STARTED}.
+     *
+     * @return the number of tasks returned
+     */
+    @Transactional
+    public int releaseExpiredLeases() {
+        List<TaskDTO> released = taskRepository.releaseExpiredLeases(properties.reapBatchSize());
+        applyTransition(released, TaskStatus.IN_PROGRESS);
+        return released.size();
+    }
+
+    private void applyTransition(List<TaskDTO> tasks, TaskStatus previousStatus) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        TaskCounterDeltas deltas = new TaskCounterDeltas();
+        for (TaskDTO task : tasks) {
+            deltas.moved(task.getUserId(), previousStatus, task.getUserId(), task.getStatus());
+        }
+        taskCache.evictAll(tasks.stream().map(TaskDTO::getId).toList());
+        taskCounters.apply(deltas);
+        taskOutbox.recordAll(TaskChangeEvent.Type.UPDATED, tasks);
+    }
+}
@@ -0,0 +1,69 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.service;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for keyset pagination: the id of the last task of the page,
+ * so the next page starts right after it. Search pages also carry the exact rank of that task.
+ */
+public final class TaskCursor {
+
+    private static final String PREFIX = "v1:";
+    private static final String SEARCH_PREFIX = "s1:";
+
+    private TaskCursor() {
+    }
+
+    public static String encode(long lastId) {
+        return encode(PREFIX + lastId);
+    }
+
+    public static long decode(String cursor) {
+        try {
+            return Long.parseLong(payload(cursor, PREFIX));
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+    public static String encodeSearch(float lastRank, long lastId) {
+        return encode(SEARCH_PREFIX + Integer.toHexString(Float.floatToIntBits(lastRank)) + ":" + lastId);
+    }
+
+    public static SearchPosition decodeSearch(String cursor) {
+        String payload = payload(cursor, SEARCH_PREFIX);
+        int separator = payload.indexOf(':');
+        if (separator < 0) {
+            throw new InvalidCursorException(cursor);
+        }
+        try {
+            float rank = Float.intBitsToFloat(Integer.parseUnsignedInt(payload.substring(0, separator), 16));
+            return new SearchPosition(rank, Long.parseLong(payload.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(value.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String payload(String cursor, String prefix) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (!value.startsWith(prefix)) {
+                throw new InvalidCursorException(cursor);
+            }
+            return value.substring(prefix.length());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+    public record SearchPosition(float rank, long id) {
+    }
+}
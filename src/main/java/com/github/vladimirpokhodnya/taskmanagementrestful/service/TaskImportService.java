@@ -0,0 +1,240 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.vladimirpokhodnya.taskmanagementrestful.counter.TaskCounterDeltas;
+import com.github.vladimirpokhodnya.taskmanagementrestful.counter.TaskCounters;
+import com.github.vladimirpokhodnya.taskmanagementrestful.exception.TaskErrorCode;
+import com.github.vladimirpokhodnya.taskmanagementrestful.exception.TaskImportJobNotFoundException;
+import com.github.vladimirpokhodnya.taskmanagementrestful.exception.TaskImportJobStartedException;
+import com.github.vladimirpokhodnya.taskmanagementrestful.importing.InvalidTaskRecordException;
+import com.github.vladimirpokhodnya.taskmanagementrestful.importing.TaskCopyWriter;
+import com.github.vladimirpokhodnya.taskmanagementrestful.importing.TaskImportFormat;
+import com.github.vladimirpokhodnya.taskmanagementrestful.importing.TaskImportJob;
+import com.github.vladimirpokhodnya.taskmanagementrestful.importing.TaskImportJobs;
+import com.github.vladimirpokhodnya.taskmanagementrestful.importing.TaskImportProperties;
+import com.github.vladimirpokhodnya.taskmanagementrestful.importing.TaskRecordReader;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskChangeEvent;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskImportJobDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.outbox.TaskOutbox;
+import com.github.vladimirpokhodnya.taskmanagementrestful.partition.TaskPartitions;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Bulk import of tasks through PostgreSQL's {@code COPY FROM STDIN}.
+ * <p>
+ * The upload is parsed one record at a time and streamed into the {@code COPY} as it arrives, so memory stays bounded
+ * by the longest record whatever the size of the upload. Every {@code task.import.chunk-size} tasks the {@code COPY}
+ * is ended and committed together with the counters and change feed entries of the chunk, which keeps transactions
+ * and WAL bursts small; a chunk that fails is rolled back and reported with its lines and a {@link TaskErrorCode}
+ * while the import goes on, the database's message is only logged.
+ * Records that are not valid tasks are skipped and reported with their line.
+ * <p>
+ * Ids are reserved from {@code task_seq} in the same blocks as Hibernate's pooled optimizer uses, see
+ * {@link com.github.vladimirpokhodnya.taskmanagementrestful.partition.TaskIdGenerator}, so they never collide with
+ * tasks created through the API. Jobs are kept in the memory of the node that created them, so the upload and the
+ * polling must reach the same node.
+ */
+@Service
+public class TaskImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskImportService.class);
+
+    // increment_size of task_seq, see Task
+    static final int ID_BLOCK_SIZE = 50;
+    private static final String RESERVE_IDS = "select nextval('task_seq') from generate_series(1, ?)";
+
+    private final TaskImportJobs jobs;
+    private final TaskImportProperties properties;
+    private final TaskCounters taskCounters;
+    private final TaskOutbox taskOutbox;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public TaskImportService(TaskImportJobs jobs, TaskImportProperties properties, TaskCounters taskCounters,
+                             TaskOutbox taskOutbox, JdbcTemplate jdbcTemplate, DataSource dataSource,
+                             ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.jobs = jobs;
+        this.properties = properties;
+        this.taskCounters = taskCounters;
+        this.taskOutbox = taskOutbox;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public TaskImportJobDTO createJob() {
+        return jobs.create().toDTO();
+    }
+
+    public Optional<TaskImportJobDTO> getJob(String id) {
+        return jobs.get(id).map(TaskImportJob::toDTO);
+    }
+
+    /**
+     * Imports the tasks of {@code in} into the job, which must not have been started yet.
+     *
+     * @return the final state of the job, {@code FAILED} if the upload could not be read to its end
+     */
+    public TaskImportJobDTO runJob(String id, TaskImportFormat format, InputStream in, Charset charset) {
+        TaskImportJob job = jobs.get(id).orElseThrow(() -> new TaskImportJobNotFoundException(id));
+        if (!job.start()) {
+            throw new TaskImportJobStartedException(id);
+        }
+        TaskRecordReader reader = TaskRecordReader.open(format, in, charset, objectMapper, properties.maxRecordLength());
+        try {
+            while (importChunk(job, reader)) {
+                // next chunk
+            }
+            job.complete();
+        } catch (IOException e) {
+            log.warn("Import {} failed at line {}", id, reader.line(), e);
+            // The reader's messages describe the upload, not the server
+            job.fail(TaskErrorCode.UNREADABLE_INPUT, e.getMessage() != null
+                    ? e.getMessage() : TaskErrorCode.UNREADABLE_INPUT.message());
+        } catch (RuntimeException e) {
+            log.warn("Import {} failed at line {}", id, reader.line(), e);
+            TaskErrorCode code = TaskErrorCode.of(e);
+            job.fail(code, code.message());
+        }
+        return job.toDTO();
+    }
+
+    /**
+     * @return {@code false} once the end of the input has been reached
+     */
+    private boolean importChunk(TaskImportJob job, TaskRecordReader reader) throws IOException {
+        Chunk chunk = new Chunk(reader.line());
+        try {
+            transactionTemplate.executeWithoutResult(status -> copyChunk(job, reader, chunk));
+            job.chunkCommitted(chunk.tasks);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (DataAccessException | TransactionException e) {
+            if (chunk.records == 0) {
+                // Nothing of the input has been consumed, so the next chunk would fail the same way
+                throw e;
+            }
+            log.warn("Import {} failed to copy lines {}-{}", job.id(), chunk.fromLine, reader.recordLine(), e);
+            job.chunkFailed(chunk.fromLine, reader.recordLine(), chunk.tasks, TaskErrorCode.of(e));
+        }
+        return !chunk.endOfInput;
+    }
+
+    private void copyChunk(TaskImportJob job, TaskRecordReader reader, Chunk chunk) {
+        SequenceValues ids = new SequenceValues(jdbcTemplate.queryForList(RESERVE_IDS, Long.class,
+                (properties.chunkSize() + ID_BLOCK_SIZE - 1) / ID_BLOCK_SIZE));
+        TaskCounterDeltas deltas = new TaskCounterDeltas();
+        Map<Short, List<Long>> idsByBucket = new HashMap<>();
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        TaskCopyWriter writer = null;
+        try {
+            writer = new TaskCopyWriter(connection.unwrap(PGConnection.class).getCopyAPI().copyIn(TaskCopyWriter.COPY));
+            while (chunk.tasks < properties.chunkSize() && ids.hasNext()) {
+                TaskDTO task;
+                try {
+                    task = reader.next();
+                } catch (InvalidTaskRecordException e) {
+                    chunk.records++;
+                    job.recordRead();
+                    job.recordRejected(reader.recordLine(), e.getMessage());
+                    continue;
+                }
+                if (task == null) {
+                    chunk.endOfInput = true;
+                    break;
+                }
+                chunk.records++;
+                job.recordRead();
+                short bucket = TaskPartitions.bucket(task.getUserId());
+                long id = TaskPartitions.encodeId(ids.next(), bucket);
+                writer.write(id, bucket, task);
+                chunk.tasks++;
+                deltas.created(task.getUserId(), task.getStatus());
+                idsByBucket.computeIfAbsent(bucket, key -> new ArrayList<>()).add(id);
+            }
+            writer.finish();
+            writer = null;
+        } catch (SQLException e) {
+            throw new UncategorizedSQLException("COPY", TaskCopyWriter.COPY, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (writer != null) {
+                writer.cancel();
+            }
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+        taskCounters.apply(deltas);
+        taskOutbox.recordRows(TaskChangeEvent.Type.CREATED, idsByBucket);
+    }
+
+    private static final class Chunk {
+
+        final long fromLine;
+        long records;
+        long tasks;
+        boolean endOfInput;
+
+        Chunk(long fromLine) {
+            this.fromLine = fromLine;
+        }
+    }
+
+    /**
+     * The values of the reserved {@code task_seq} blocks: a block reserved with the sequence value {@code v} is
+     * {@code v - 49 .. v}, as in the pooled optimizer.
+     */
+    private static final class SequenceValues {
+
+        private final List<Long> blocks;
+        private int block;
+        private long next = 1;
+        private long end;
+
+        SequenceValues(List<Long> blocks) {
+            this.blocks = blocks;
+        }
+
+        boolean hasNext() {
+            while (next > end) {
+                if (block == blocks.size()) {
+                    return false;
+                }
+                end = blocks.get(block++);
+                next = Math.max(1, end - ID_BLOCK_SIZE + 1);
+            }
+            return true;
+        }
+
+        long next() {
+            return next++;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.service;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.cache.TaskCacheProperties;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.repository.TaskRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Loads tasks by id for the cache, merging the loads that arrive within {@code task.cache.load-window} into one
+ * {@link TaskRepository#findTasks} query.
+ * <p>
+ * The first load of a batch waits for the window to pass and then runs the query for everything that has joined the
+ * batch in the meantime; the others wait for its result. The load that brings a batch to
+ * {@code task.cache.load-batch-size} runs it right away. A burst of misses thus costs one query and one connection
+ * checkout per batch instead of per task, at the price of up to one window of latency on a miss.
+ */
+@Component
+public class TaskLoader {
+
+    private final TaskRepository taskRepository;
+    private final long windowNanos;
+    private final int batchSize;
+    private final DistributionSummary batchSizes;
+    private final ReentrantLock lock = new ReentrantLock();
+    private Batch open;
+
+    public TaskLoader(TaskRepository taskRepository, TaskCacheProperties properties, MeterRegistry meterRegistry) {
+        this.taskRepository = taskRepository;
+        this.windowNanos = properties.loadWindow().toNanos();
+        this.batchSize = properties.loadBatchSize();
+        this.batchSizes = DistributionSummary.builder("task.cache.load.batch")
+                .description("Tasks loaded per query on cache misses")
+                .register(meterRegistry);
+    }
+
+    public Optional<TaskDTO> load(Long id) {
+        if (windowNanos <= 0 || batchSize <= 1) {
+            batchSizes.record(1);
+            return taskRepository.findTask(id);
+        }
+        Batch batch;
+        boolean first;
+        boolean full;
+        CompletableFuture<Optional<TaskDTO>> result;
+        lock.lock();
+        try {
+            first = open == null;
+            if (first) {
+                open = new Batch();
+            }
+            batch = open;
+            result = batch.add(id);
+            full = batch.size() >= batchSize;
+            if (full) {
+                open = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (full) {
+            batch.run();
+        } else if (first) {
+            batch.awaitFull();
+            if (close(batch)) {
+                batch.run();
+            }
+        }
+        return join(result);
+    }
+
+    private boolean close(Batch batch) {
+        lock.lock();
+        try {
+            if (open != batch) {
+                return false;
+            }
+            open = null;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Optional<TaskDTO> join(CompletableFuture<Optional<TaskDTO>> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private final class Batch {
+
+        // Only changed under the loader's lock, and only read by run() once the batch is closed
+        private final Map<Long, CompletableFuture<Optional<TaskDTO>>> pending = new LinkedHashMap<>();
+        private final CountDownLatch full = new CountDownLatch(1);
+
+        CompletableFuture<Optional<TaskDTO>> add(Long id) {
+            return pending.computeIfAbsent(id, key -> new CompletableFuture<>());
+        }
+
+        int size() {
+            return pending.size();
+        }
+
+        void awaitFull() {
+            try {
+                full.await(windowNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                // The batch is still run, the others are waiting for it
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        void run() {
+            full.countDown();
+            batchSizes.record(pending.size());
+            try {
+                Map<Long, TaskDTO> found = taskRepository.findTasks(pending.keySet()).stream()
+                        .collect(Collectors.toMap(TaskDTO::getId, Function.identity()));
+                pending.forEach((id, result) -> result.complete(Optional.ofNullable(found.get(id))));
+            } catch (RuntimeException e) {
+                pending.values().forEach(result -> result.completeExceptionally(e));
+            }
+        }
+    }
+}
@@ -1,84 +1,292 @@
 package com.github.vladimirpokhodnya.taskmanagementrestful.service;
 
+import com.github.vladimirpokhodnya.taskmanagementrestful.cache.TaskCache;
+import com.github.vladimirpokhodnya.taskmanagementrestful.counter.TaskCounterDeltas;
+import com.github.vladimirpokhodnya.taskmanagementrestful.counter.TaskCounters;
+import com.github.vladimirpokhodnya.taskmanagementrestful.exception.InvalidSearchQueryException;
+import com.github.vladimirpokhodnya.taskmanagementrestful.exception.TaskStatusConflictException;
+import com.github.vladimirpokhodnya.taskmanagementrestful.exception.TaskVersionMismatchException;
+import com.github.vladimirpokhodnya.taskmanagementrestful.exception.TooManyTaskIdsException;
 import com.github.vladimirpokhodnya.taskmanagementrestful.model.Task;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskField;
 import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskStatus;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskChangeEvent;
 import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskPage;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskSummaryDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.outbox.TaskOutbox;
+import com.github.vladimirpokhodnya.taskmanagementrestful.repository.TaskChange;
 import com.github.vladimirpokhodnya.taskmanagementrestful.repository.TaskRepository;
+import com.github.vladimirpokhodnya.taskmanagementrestful.repository.TaskSearchHit;
+import com.github.vladimirpokhodnya.taskmanagementrestful.repository.TaskSearchResult;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class TaskService {
 
+    static final int DEFAULT_PAGE_SIZE = 100;
+    static final int MAX_PAGE_SIZE = 1000;
+    static final int MAX_SEARCH_WORDS = 16;
+    static final int MIN_SEARCH_PREFIX_LENGTH = 3;
+    static final int MAX_SEARCH_CANDIDATES = 10_000;
+    private static final Pattern SEARCH_SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
     private final TaskRepository taskRepository;
+    private final TaskCache taskCache;
+    private final TaskCounters taskCounters;
+    private final TaskOutbox taskOutbox;
+    private final TaskLoader taskLoader;
 
-    public TaskService(TaskRepository taskRepository) {
+    public TaskService(TaskRepository taskRepository, TaskCache taskCache, TaskCounters taskCounters, TaskOutbox taskOutbox,
+                       TaskLoader taskLoader) {
         this.taskRepository = taskRepository;
+        this.taskCache = taskCache;
+        this.taskCounters = taskCounters;
+        this.taskOutbox = taskOutbox;
+        this.taskLoader = taskLoader;
     }
 
+    @Transactional
     public TaskDTO createTask(TaskDTO taskDTO) {
         Task task = mapToEntity(taskDTO);
         Task createdTask = taskRepository.save(task);
-        return mapToDTO(createdTask);
+        taskCounters.apply(new TaskCounterDeltas().created(createdTask.getUserId(), createdTask.getStatus()));
+        TaskDTO created = mapToDTO(createdTask);
+        taskOutbox.record(TaskChangeEvent.Type.CREATED, created);
+        return created;
     }
 
     public Optional<TaskDTO> getTaskById(Long id) {
-        return taskRepository.findById(id)
-                .map(this::mapToDTO);
+        return taskCache.get(id, taskLoader::load);
+    }
+
+    /**
+     * The existing tasks among {@code ids}, in the order of their first occurrence; the ones not cached are loaded
+     * with one query.
+     */
+    public List<TaskDTO> getTasksByIds(List<Long> ids) {
+        if (ids.size() > MAX_PAGE_SIZE) {
+            throw new TooManyTaskIdsException(ids.size(), MAX_PAGE_SIZE);
+        }
+        Map<Long, TaskDTO> found = taskCache.getAll(ids, taskRepository::findTasks);
+        return ids.stream()
+                .distinct()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
+    @Transactional
     public Optional<TaskDTO> updateTask(Long id, TaskDTO taskDTO) {
-        return taskRepository.findById(id)
-                .map(task -> {
-                    task.setTitle(taskDTO.getTitle());
-                    task.setDescription(taskDTO.getDescription());
-                    task.setUserId(taskDTO.getUserId());
-                    task.setStatus(taskDTO.getStatus());
-                    return mapToDTO(taskRepository.save(task));
-                });
+        return updateTask(id, taskDTO, null);
     }
 
+    @Transactional
+    public Optional<TaskDTO> updateTask(Long id, TaskDTO taskDTO, Long expectedVersion) {
+        Optional<TaskDTO> updated = taskRepository.update(id, taskDTO, expectedVersion).map(this::applyChange);
+        if (updated.isEmpty() && expectedVersion != null && taskRepository.findTask(id).isPresent()) {
+            throw new TaskVersionMismatchException(id);
+        }
+        return updated;
+    }
+
+    @Transactional
     public boolean deleteTask(Long id) {
-        if (!taskRepository.existsById(id)) {
-            return false;
+        Optional<TaskDTO> deleted = taskRepository.deleteReturning(id);
+        deleted.ifPresent(task -> {
+            taskCache.evict(id);
+            taskCounters.apply(new TaskCounterDeltas().deleted(task.getUserId(), task.getStatus()));
+            taskOutbox.record(TaskChangeEvent.Type.DELETED, task);
+        });
+        return deleted.isPresent();
+    }
+
+    @Transactional(readOnly = true)
+    public TaskPage getTasks(String cursor, Long after, Integer limit, Long userId, TaskStatus status) {
+        return getTasks(cursor, after, limit, userId, status, null);
+    }
+
+    /**
+     * @param fields if not {@code null}, only these fields are read, see {@link TaskField#parse}
+     */
+    @Transactional(readOnly = true)
+    public TaskPage getTasks(String cursor, Long after, Integer limit, Long userId, TaskStatus status, Set<TaskField> fields) {
+        long afterId = cursor != null ? TaskCursor.decode(cursor) : (after != null ? after : 0L);
+        int pageSize = pageSize(limit);
+
+        List<TaskDTO> rows = fields != null
+                ? taskRepository.findProjectedPageAfter(afterId, userId, status, fields, pageSize + 1)
+                : taskRepository.findPageAfter(afterId, userId, status, Limit.of(pageSize + 1));
+        return toPage(rows, pageSize);
+    }
+
+    @Transactional(readOnly = true)
+    public TaskPage getUserTasks(long userId, TaskStatus status, String cursor, Integer limit) {
+        return getUserTasks(userId, status, cursor, limit, null);
+    }
+
+    /**
+     * @param fields if not {@code null}, only these fields are read, see {@link TaskField#parse}
+     */
+    @Transactional(readOnly = true)
+    public TaskPage getUserTasks(long userId, TaskStatus status, String cursor, Integer limit, Set<TaskField> fields) {
+        long afterId = cursor != null ? TaskCursor.decode(cursor) : 0L;
+        int pageSize = pageSize(limit);
+
+        List<TaskDTO> rows;
+        if (fields != null) {
+            rows = taskRepository.findProjectedPageAfter(afterId, userId, status, fields, pageSize + 1);
+        } else {
+            rows = status == null
+                    ? taskRepository.findUserPageAfter(userId, afterId, Limit.of(pageSize + 1))
+                    : taskRepository.findUserPageAfter(userId, status, afterId, Limit.of(pageSize + 1));
+        }
+        return toPage(rows, pageSize);
+    }
+
+    @Transactional(readOnly = true)
+    public TaskPage searchTasks(String query, Long userId, TaskStatus status, String cursor, Integer limit) {
+        String tsQuery = toPrefixTsQuery(query);
+        TaskCursor.SearchPosition after = cursor != null ? TaskCursor.decodeSearch(cursor) : null;
+        int pageSize = pageSize(limit);
+
+        TaskSearchResult result = taskRepository.search(tsQuery, userId, status,
+                after != null ? after.rank() : null, after != null ? after.id() : null, pageSize + 1, MAX_SEARCH_CANDIDATES);
+        List<TaskSearchHit> hits = result.hits();
+        List<TaskDTO> items = hits.stream().limit(pageSize).map(TaskSearchHit::task).toList();
+        if (hits.size() <= pageSize) {
+            return new TaskPage(items, null, result.truncated());
         }
-        taskRepository.deleteById(id);
-        return true;
+        TaskSearchHit last = hits.get(pageSize - 1);
+        return new TaskPage(items, TaskCursor.encodeSearch(last.rank(), last.task().getId()), result.truncated());
     }
 
+    public TaskSummaryDTO getUserTaskSummary(long userId) {
+        return taskCounters.summary(userId);
+    }
+
+    public TaskSummaryDTO getTaskSummary() {
+        return taskCounters.summary();
+    }
 
-    public List<TaskDTO> getAllTasks() {
-        return taskRepository.findAll().stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public void exportTasks(Long userId, TaskStatus status, Consumer<TaskDTO> sink) {
+        try (Stream<TaskDTO> tasks = taskRepository.streamAll(userId, status)) {
+            tasks.forEach(sink);
+        }
     }
 
+    @Transactional
     public Optional<TaskDTO> updateStatus(Long taskId, TaskStatus newStatus) {
+        return updateStatus(taskId, newStatus, null, null);
+    }
 
-        return taskRepository.findById(taskId)
-                .map(task -> {
-                    task.setStatus(newStatus);
-                    return mapToDTO(taskRepository.save(task));
-                });
+    @Transactional
+    public Optional<TaskDTO> updateStatus(Long taskId, TaskStatus newStatus, TaskStatus expectedStatus, Long expectedVersion) {
+        Optional<TaskDTO> updated = taskRepository.updateStatus(taskId, newStatus, expectedStatus, expectedVersion)
+                .map(this::applyChange);
+        if (updated.isPresent() || (expectedStatus == null && expectedVersion == null)) {
+            return updated;
+        }
+        Optional<TaskDTO> current = taskRepository.findTask(taskId);
+        if (current.isEmpty()) {
+            return Optional.empty();
+        }
+        if (expectedStatus == null || (expectedVersion != null && !expectedVersion.equals(current.get().getVersion()))) {
+            throw new TaskVersionMismatchException(taskId);
+        }
+        throw new TaskStatusConflictException(taskId, expectedStatus);
+    }
+
+    /**
+     * Applies the unconditional status transitions with one statement; tasks that do not exist are skipped.
+     *
+     * @return the updated tasks
+     */
+    @Transactional
+    public List<TaskDTO> updateStatuses(Map<Long, TaskStatus> statuses) {
+        List<TaskChange> changes = taskRepository.updateStatuses(statuses);
+        TaskCounterDeltas deltas = new TaskCounterDeltas();
+        List<TaskDTO> updated = new ArrayList<>(changes.size());
+        for (TaskChange change : changes) {
+            TaskDTO task = change.task();
+            deltas.moved(change.previousUserId(), change.previousStatus(), task.getUserId(), task.getStatus());
+            updated.add(task);
+        }
+        taskCache.evictAll(updated.stream().map(TaskDTO::getId).toList());
+        taskCounters.apply(deltas);
+        taskOutbox.recordAll(TaskChangeEvent.Type.UPDATED, updated);
+        return updated;
     }
 
+    private TaskDTO applyChange(TaskChange change) {
+        TaskDTO task = change.task();
+        taskCache.evict(task.getId());
+        taskCounters.apply(new TaskCounterDeltas()
+                .moved(change.previousUserId(), change.previousStatus(), task.getUserId(), task.getStatus()));
+        taskOutbox.recordChanges(List.of(change));
+        return task;
+    }
+
+    /**
+     * Turns free text into a {@code tsquery} that matches tasks containing every word, each as a prefix.
+     * Only letters and digits are kept, so user input never reaches the {@code tsquery} parser as syntax.
+     * Words shorter than {@link #MIN_SEARCH_PREFIX_LENGTH} match whole words only, as a prefix of one or two letters
+     * matches a large part of the index; at least one word must be long enough to be searched as a prefix.
+     */
+    static String toPrefixTsQuery(String query) {
+        List<String> words = query == null ? List.of() : Arrays.stream(SEARCH_SEPARATORS.split(query.toLowerCase(Locale.ROOT)))
+                .filter(word -> !word.isEmpty())
+                .limit(MAX_SEARCH_WORDS)
+                .toList();
+        if (words.stream().noneMatch(word -> word.length() >= MIN_SEARCH_PREFIX_LENGTH)) {
+            throw new InvalidSearchQueryException(query);
+        }
+        return words.stream()
+                .map(word -> word.length() >= MIN_SEARCH_PREFIX_LENGTH ? word + ":*" : word)
+                .collect(Collectors.joining(" & "));
+    }
+
+    static int pageSize(Integer limit) {
+        return limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    static TaskPage toPage(List<TaskDTO> rows, int pageSize) {
+        if (rows.size() <= pageSize) {
+            return new TaskPage(rows, null);
+        }
+        List<TaskDTO> items = rows.subList(0, pageSize);
+        return new TaskPage(items, TaskCursor.encode(items.get(pageSize - 1).getId()));
+    }
 
-    private TaskDTO mapToDTO(Task task) {
+    static TaskDTO mapToDTO(Task task) {
         TaskDTO taskDTO = new TaskDTO();
         taskDTO.setId(task.getId());
         taskDTO.setTitle(task.getTitle());
         taskDTO.setDescription(task.getDescription());
         taskDTO.setUserId(task.getUserId());
         taskDTO.setStatus(task.getStatus());
+        taskDTO.setVersion(task.getVersion());
         return taskDTO;
     }
 
-    private Task mapToEntity(TaskDTO taskDTO) {
+    static Task mapToEntity(TaskDTO taskDTO) {
         Task task = new Task();
-        task.setId(taskDTO.getId());
         task.setTitle(taskDTO.getTitle());
         task.setDescription(taskDTO.getDescription());
         task.setUserId(taskDTO.getUserId());
@@ -0,0 +1,58 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.sql;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.web.RequestIdFilter;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.MDC;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Hands statements that ran longer than the threshold, plus a random sample of the others, to {@link SqlLogWriter}.
+ * Everything else costs one comparison (and one random number when sampling is on).
+ */
+public class SlowQueryListener implements QueryExecutionListener {
+
+    private final long thresholdMillis;
+    private final double sampleRate;
+    private final SqlLogWriter writer;
+
+    public SlowQueryListener(SqlLogProperties properties, SqlLogWriter writer) {
+        this.thresholdMillis = properties.threshold().toMillis();
+        this.sampleRate = properties.sampleRate();
+        this.writer = writer;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        boolean slow = execInfo.getElapsedTime() >= thresholdMillis;
+        if (!slow && (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return;
+        }
+        for (QueryInfo queryInfo : queryInfoList) {
+            writer.submit(new SqlLogEntry(execInfo.getElapsedTime(), slow, MDC.get(RequestIdFilter.MDC_KEY),
+                    queryInfo.getQuery(), parameters(queryInfo), execInfo.getBatchSize(), execInfo.isSuccess()));
+        }
+    }
+
+    private static List<Object[]> parameters(QueryInfo queryInfo) {
+        List<Object[]> parameters = new ArrayList<>(queryInfo.getParametersList().size());
+        for (List<ParameterSetOperation> operations : queryInfo.getParametersList()) {
+            Object[] values = new Object[operations.size()];
+            for (int i = 0; i < values.length; i++) {
+                Object[] args = operations.get(i).getArgs();
+                values[i] = args.length > 1 ? args[1] : null;
+            }
+            parameters.add(values);
+        }
+        return parameters;
+    }
+}
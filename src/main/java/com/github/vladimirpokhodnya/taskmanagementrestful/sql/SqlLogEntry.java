@@ -0,0 +1,11 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.sql;
+
+import java.util.List;
+
+/**
+ * A timed statement waiting to be written by {@link SqlLogWriter}. Parameters are kept as bound and only formatted
+ * on the writer thread.
+ */
+record SqlLogEntry(long elapsedMillis, boolean slow, String requestId, String sql, List<Object[]> parameters,
+                   int batchSize, boolean success) {
+}
@@ -0,0 +1,19 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.sql;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param enabled       whether JDBC statements are timed and logged at all
+ * @param threshold     statements running at least this long are always logged
+ * @param sampleRate    fraction (0..1) of the faster statements that is logged as well
+ * @param queueCapacity log entries waiting for the writer thread; entries beyond it are dropped
+ */
+@ConfigurationProperties("task.sql-log")
+public record SqlLogProperties(@DefaultValue("true") boolean enabled,
+                               @DefaultValue("200ms") Duration threshold,
+                               @DefaultValue("0") double sampleRate,
+                               @DefaultValue("10000") int queueCapacity) {
+}
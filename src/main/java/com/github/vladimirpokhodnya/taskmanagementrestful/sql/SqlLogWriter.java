@@ -0,0 +1,111 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.sql;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Writes {@link SqlLogEntry SQL log entries} on a dedicated thread, so request threads only pay for a
+ * non-blocking {@code offer} to a bounded queue. Entries that do not fit are dropped and counted.
+ */
+public class SqlLogWriter implements SmartLifecycle, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger("task.sql");
+    private static final int DRAIN_BATCH = 256;
+
+    private final BlockingQueue<SqlLogEntry> queue;
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public SqlLogWriter(int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    void submit(SqlLogEntry entry) {
+        if (!queue.offer(entry)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("task.sql.log.dropped", dropped, AtomicLong::get)
+                .description("SQL log entries dropped because the log queue was full")
+                .register(registry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this::run, "sql-log-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        drain();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                SqlLogEntry entry = queue.poll(1, TimeUnit.SECONDS);
+                if (entry != null) {
+                    write(entry);
+                    drain();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void drain() {
+        List<SqlLogEntry> entries = new ArrayList<>(DRAIN_BATCH);
+        while (queue.drainTo(entries, DRAIN_BATCH) > 0) {
+            entries.forEach(this::write);
+            entries.clear();
+        }
+    }
+
+    private void write(SqlLogEntry entry) {
+        if (entry.slow()) {
+            log.warn("Slow SQL {} ms [requestId={}] batch={} success={} {} params={}", entry.elapsedMillis(),
+                    entry.requestId(), entry.batchSize(), entry.success(), entry.sql(), format(entry.parameters()));
+        } else {
+            log.info("Sampled SQL {} ms [requestId={}] batch={} success={} {} params={}", entry.elapsedMillis(),
+                    entry.requestId(), entry.batchSize(), entry.success(), entry.sql(), format(entry.parameters()));
+        }
+    }
+
+    private static String format(List<Object[]> parameters) {
+        return parameters.stream()
+                .map(Arrays::toString)
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+}
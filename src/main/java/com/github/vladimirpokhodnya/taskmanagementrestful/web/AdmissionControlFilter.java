@@ -0,0 +1,129 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Limits how many requests work with the database at once.
+ * <p>
+ * With virtual threads the number of concurrent requests is practically unbounded, and all of them would pile up
+ * on connection acquisition in the pool. Requests instead wait in a fair queue for one of as many permits as there
+ * are connections, and are rejected with 503 and {@code Retry-After} once they have waited longer than the queue
+ * budget.
+ * <p>
+ * A request that goes asynchronous (streaming exports, bulk status changes) keeps its permit until the async
+ * processing completes, not just until the container thread leaves the filter. The change feed and the event streams
+ * are left out: they stay open for as long as the client listens while using a connection only now and then, and
+ * would otherwise hold every permit with a handful of subscribers.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final List<String> UNLIMITED_PATHS = List.of("/tasks/changes", "/users/*/tasks/events");
+
+    private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+    private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
+
+    private final Semaphore permits;
+    private final long queueTimeoutNanos;
+    private final String retryAfterSeconds;
+    private final Counter rejected;
+
+    public AdmissionControlFilter(int permits, Duration queueTimeout, Duration retryAfter, MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(permits, true);
+        this.queueTimeoutNanos = queueTimeout.toNanos();
+        this.retryAfterSeconds = String.valueOf(Math.max(1, retryAfter.toSeconds()));
+        this.rejected = Counter.builder("task.admission.rejected")
+                .description("Requests rejected because no database permit became free within the queue budget")
+                .register(meterRegistry);
+        meterRegistry.gauge("task.admission.queued", this.permits, Semaphore::getQueueLength);
+        meterRegistry.gauge("task.admission.available", this.permits, Semaphore::availablePermits);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = URL_PATH_HELPER.getPathWithinApplication(request);
+        return UNLIMITED_PATHS.stream().anyMatch(pattern -> PATH_MATCHER.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(queueTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Сервер перегружен, повторите запрос позже.");
+            return;
+        }
+        Permit permit = new Permit();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(permit);
+            } else {
+                permit.release();
+            }
+        }
+    }
+
+    /**
+     * Releases the permit exactly once, either directly or when the async request completes.
+     * {@code onComplete} follows a timeout or an error as well; releasing on error too keeps the permit from leaking
+     * if the container fails the request before completing it.
+     */
+    private final class Permit implements AsyncListener {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.web;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param enabled      whether requests to the task API pass through the admission limiter
+ * @param permits      number of requests allowed to work with the database at once; {@code 0} means the size
+ *                     of the connection pool
+ * @param queueTimeout how long a request may wait for a permit before it is rejected with 503
+ * @param retryAfter   value of the {@code Retry-After} header of rejected requests
+ */
+@ConfigurationProperties("task.admission")
+public record AdmissionControlProperties(@DefaultValue("true") boolean enabled,
+                                         @DefaultValue("0") int permits,
+                                         @DefaultValue("200ms") Duration queueTimeout,
+                                         @DefaultValue("1s") Duration retryAfter) {
+}
@@ -0,0 +1,26 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.web;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+
+import java.time.Duration;
+
+/**
+ * Sets the async timeout of a single request, for handlers whose return type, such as
+ * {@link org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody}, has no timeout of its own.
+ */
+public final class AsyncTimeouts {
+
+    private AsyncTimeouts() {
+    }
+
+    /**
+     * @param timeout {@code 0} means no timeout
+     */
+    public static void set(NativeWebRequest request, Duration timeout) {
+        // Spring MVC passes the AsyncWebRequest it is about to start as the handler's NativeWebRequest
+        if (request instanceof AsyncWebRequest asyncRequest) {
+            asyncRequest.setTimeout(timeout.isZero() ? -1L : timeout.toMillis());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.web;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.routing.Lsn;
+import com.github.vladimirpokhodnya.taskmanagementrestful.routing.ReadConsistency;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Read-your-writes across requests: a client sends back the {@value #HEADER} token of its last write, and the reads
+ * of the request then go only to replicas that have replayed up to it, or to the primary.
+ */
+public class ReadConsistencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Task-Lsn";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String token = request.getHeader(HEADER);
+        if (token != null) {
+            try {
+                ReadConsistency.require(Lsn.parse(token));
+            } catch (IllegalArgumentException e) {
+                response.sendError(HttpStatus.BAD_REQUEST.value(), "Некорректный заголовок " + HEADER + ".");
+                return;
+            }
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadConsistency.clear();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.web;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param timeout how long a streamed response, such as {@code /tasks/export}, may take before it is cut off;
+ *                {@code 0} means no limit. Other asynchronous requests keep {@code spring.mvc.async.request-timeout}.
+ */
+@ConfigurationProperties("task.streaming")
+public record StreamingProperties(@DefaultValue("1h") Duration timeout) {
+}
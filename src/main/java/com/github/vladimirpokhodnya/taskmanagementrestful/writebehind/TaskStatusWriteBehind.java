@@ -0,0 +1,305 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.writebehind;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskStatus;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.service.TaskService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind buffer for unconditional status updates.
+ * <p>
+ * Updates are collected in shards keyed by task id. An update of a task that is already buffered replaces the
+ * buffered status, so a burst of transitions of one task costs a single row update. Each shard is flushed by its own
+ * thread with {@link TaskService#updateStatuses} every {@code task.write-behind.flush-interval}, or as soon as it
+ * holds {@code task.write-behind.max-batch} tasks. On shutdown the buffers are drained before the data source is
+ * closed.
+ * <p>
+ * Writes that bypass the buffer call {@link #flush(Collection)} or {@link #flushAll()} first, so that an older
+ * buffered status is not flushed over them.
+ */
+@Component
+public class TaskStatusWriteBehind implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskStatusWriteBehind.class);
+
+    private final TaskService taskService;
+    private final TaskWriteBehindProperties properties;
+    private final Shard[] shards;
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final Counter coalesced;
+    private final Counter failed;
+
+    private volatile boolean running;
+
+    public TaskStatusWriteBehind(TaskService taskService, TaskWriteBehindProperties properties, MeterRegistry meterRegistry) {
+        this.taskService = taskService;
+        this.properties = properties;
+        this.shards = new Shard[properties.mode() == TaskWriteBehindProperties.Mode.OFF ? 0 : properties.shards()];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard();
+        }
+        this.coalesced = Counter.builder("task.write-behind.coalesced")
+                .description("Status updates that replaced an update of the same task still waiting in the buffer")
+                .register(meterRegistry);
+        this.failed = Counter.builder("task.write-behind.failed")
+                .description("Buffered status updates whose flush failed")
+                .register(meterRegistry);
+        meterRegistry.gauge("task.write-behind.pending", pendingCount);
+    }
+
+    public TaskWriteBehindProperties.Mode mode() {
+        return properties.mode();
+    }
+
+    /**
+     * Buffers the status update. If the task already has a buffered update, that update is replaced and both
+     * callers get the same result.
+     *
+     * @return completes with the updated task, or empty if there is no such task, once the batch containing the
+     * update has been committed; {@code null} if the update was not buffered and has to be written directly
+     */
+    public CompletableFuture<Optional<TaskDTO>> submit(long id, TaskStatus status) {
+        if (shards.length == 0) {
+            return null;
+        }
+        return shardOf(id).submit(id, status);
+    }
+
+    private Shard shardOf(long id) {
+        return shards[(int) Math.floorMod(id, (long) shards.length)];
+    }
+
+    /**
+     * Writes the buffered updates of the tasks in the calling thread, after the write the flusher of their shard may
+     * have in flight. Called before a write that bypasses the buffer, which would otherwise be overwritten by the older
+     * buffered status.
+     */
+    public void flush(Collection<Long> ids) {
+        if (shards.length == 0 || ids.isEmpty()) {
+            return;
+        }
+        ids.stream()
+                .collect(Collectors.groupingBy(this::shardOf))
+                .forEach(Shard::flush);
+    }
+
+    /**
+     * Like {@link #flush(Collection)} for all buffered tasks; called before writes that select their tasks by a
+     * filter.
+     */
+    public void flushAll() {
+        for (Shard shard : shards) {
+            shard.flush(null);
+        }
+    }
+
+    int pendingCount() {
+        return pendingCount.get();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        for (int i = 0; i < shards.length; i++) {
+            shards[i].start("task-write-behind-" + i);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        long deadline = System.nanoTime() + properties.shutdownTimeout().toNanos();
+        for (Shard shard : shards) {
+            shard.signal();
+        }
+        try {
+            for (Shard shard : shards) {
+                shard.join(deadline);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (pendingCount.get() > 0) {
+            log.warn("Stopped with {} buffered status updates not flushed", pendingCount.get());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops after the graceful shutdown of the web server has let in-flight requests finish, so nothing is buffered
+     * once the drain has started.
+     */
+    @Override
+    public int getPhase() {
+        return WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 1;
+    }
+
+    private void write(Map<Long, Pending> batch) {
+        List<Map.Entry<Long, Pending>> entries = new ArrayList<>(batch.entrySet());
+        for (int from = 0; from < entries.size(); from += properties.maxBatch()) {
+            List<Map.Entry<Long, Pending>> chunk = entries.subList(from, Math.min(from + properties.maxBatch(), entries.size()));
+            Map<Long, TaskStatus> statuses = new LinkedHashMap<>();
+            chunk.forEach(entry -> statuses.put(entry.getKey(), entry.getValue().status));
+            try {
+                Map<Long, TaskDTO> updated = taskService.updateStatuses(statuses).stream()
+                        .collect(Collectors.toMap(TaskDTO::getId, Function.identity()));
+                chunk.forEach(entry -> entry.getValue().result.complete(Optional.ofNullable(updated.get(entry.getKey()))));
+            } catch (RuntimeException e) {
+                failed.increment(chunk.size());
+                log.warn("Failed to flush {} buffered status updates", chunk.size(), e);
+                chunk.forEach(entry -> entry.getValue().result.completeExceptionally(e));
+            }
+        }
+    }
+
+    private static final class Pending {
+
+        final CompletableFuture<Optional<TaskDTO>> result = new CompletableFuture<>();
+        TaskStatus status;
+
+        Pending(TaskStatus status) {
+            this.status = status;
+        }
+    }
+
+    private final class Shard {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition ready = lock.newCondition();
+        // Held from taking updates out of the buffer until they are committed, so that the writes of a task commit
+        // in the order they were taken; always acquired before lock
+        private final ReentrantLock writeLock = new ReentrantLock();
+        private Map<Long, Pending> pending = new LinkedHashMap<>();
+        private Thread flusher;
+
+        CompletableFuture<Optional<TaskDTO>> submit(long id, TaskStatus status) {
+            lock.lock();
+            try {
+                Pending existing = pending.get(id);
+                if (existing != null) {
+                    existing.status = status;
+                    coalesced.increment();
+                    return existing.result;
+                }
+                if (!running || pending.size() >= properties.maxPending()) {
+                    return null;
+                }
+                Pending added = new Pending(status);
+                pending.put(id, added);
+                pendingCount.incrementAndGet();
+                if (pending.size() >= properties.maxBatch()) {
+                    ready.signal();
+                }
+                return added.result;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * @param ids the tasks to flush, or {@code null} for all
+         */
+        void flush(Collection<Long> ids) {
+            writeLock.lock();
+            try {
+                Map<Long, Pending> taken = take(ids);
+                if (!taken.isEmpty()) {
+                    write(taken);
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        /**
+         * Removes buffered updates to be written; the caller must hold {@link #writeLock} until they are.
+         */
+        private Map<Long, Pending> take(Collection<Long> ids) {
+            Map<Long, Pending> taken;
+            lock.lock();
+            try {
+                if (ids == null) {
+                    taken = pending;
+                    pending = new LinkedHashMap<>();
+                } else {
+                    taken = new LinkedHashMap<>();
+                    for (Long id : ids) {
+                        Pending buffered = pending.remove(id);
+                        if (buffered != null) {
+                            taken.put(id, buffered);
+                        }
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+            pendingCount.addAndGet(-taken.size());
+            return taken;
+        }
+
+        void start(String name) {
+            flusher = new Thread(this::run, name);
+            flusher.setDaemon(true);
+            flusher.start();
+        }
+
+        void signal() {
+            lock.lock();
+            try {
+                ready.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void join(long deadline) throws InterruptedException {
+            if (flusher != null) {
+                flusher.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            }
+        }
+
+        private void run() {
+            while (true) {
+                lock.lock();
+                try {
+                    if (running && pending.size() < properties.maxBatch()) {
+                        ready.awaitNanos(properties.flushInterval().toNanos());
+                    }
+                    if (pending.isEmpty() && !running) {
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } finally {
+                    lock.unlock();
+                }
+                flush(null);
+            }
+        }
+    }
+}
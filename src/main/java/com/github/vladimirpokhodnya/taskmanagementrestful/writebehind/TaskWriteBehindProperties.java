@@ -0,0 +1,39 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.writebehind;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param mode            whether unconditional status updates are buffered, and when the client gets its response
+ * @param shards          independent buffers, each with its own flusher thread; a task always maps to the same shard
+ * @param flushInterval   how long an update may wait in the buffer before it is flushed
+ * @param maxBatch        a shard is flushed as soon as it holds this many tasks, and never with more per statement
+ * @param maxPending      tasks a shard may hold; updates of further tasks bypass the buffer
+ * @param shutdownTimeout how long shutdown waits for the buffers to drain
+ */
+@ConfigurationProperties("task.write-behind")
+public record TaskWriteBehindProperties(@DefaultValue("off") Mode mode,
+                                        @DefaultValue("4") int shards,
+                                        @DefaultValue("50ms") Duration flushInterval,
+                                        @DefaultValue("500") int maxBatch,
+                                        @DefaultValue("10000") int maxPending,
+                                        @DefaultValue("30s") Duration shutdownTimeout) {
+
+    public enum Mode {
+        /**
+         * Every update is written in the request's own transaction.
+         */
+        OFF,
+        /**
+         * The request waits until the batch containing its update is committed, and gets the updated task.
+         */
+        WAIT,
+        /**
+         * The request gets {@code 202 Accepted} once the update is buffered; buffered updates are lost if the
+         * node dies before they are flushed.
+         */
+        ACCEPT
+    }
+}
@@ -0,0 +1,49 @@
+-- Where a task is that is neither in the bucket its id encodes nor in the legacy partition: tasks whose user has
+-- changed, and legacy tasks once LegacyTaskMover has moved them. Lookups by id name those two buckets and this
+-- table, see TaskRepositoryCustomImpl, instead of scanning every partition. Ids are positive, so mod(id, 16) is
+-- TaskPartitions.bucketOfId.
+--
+-- The primary key of task is (id, bucket), as a unique key of a partitioned table must include the partition key;
+-- id alone is unique by construction: ids never change, new ids come from task_seq, which is past every legacy id,
+-- and the bucket an id encodes keeps ids of different buckets apart.
+create table task_location
+(
+    id     bigint   primary key,
+    bucket smallint not null
+);
+
+create function task_location_sync() returns trigger
+    language plpgsql as
+$$
+begin
+    if tg_op in ('UPDATE', 'DELETE') then
+        delete from task_location where id = old.id;
+    end if;
+    if tg_op in ('UPDATE', 'INSERT') and new.bucket <> -1 and new.bucket <> mod(new.id, 16) then
+        insert into task_location (id, bucket) values (new.id, new.bucket)
+        on conflict (id) do update set bucket = excluded.bucket;
+    end if;
+    return null;
+end
+$$;
+
+-- An update that changes the bucket moves the row to another partition, which fires the insert and delete
+-- triggers; the update trigger covers the case where it is reported as an update. The function is idempotent, so
+-- both firing does no harm, and the conditions keep it off the path of every other write.
+create trigger task_location_insert
+    after insert on task
+    for each row when (new.bucket <> -1 and new.bucket <> mod(new.id, 16))
+execute function task_location_sync();
+
+create trigger task_location_delete
+    after delete on task
+    for each row when (old.bucket <> -1 and old.bucket <> mod(old.id, 16))
+execute function task_location_sync();
+
+create trigger task_location_update
+    after update of bucket on task
+    for each row when (old.bucket is distinct from new.bucket)
+execute function task_location_sync();
+
+insert into task_location (id, bucket)
+select id, bucket from task where bucket <> -1 and bucket <> mod(id, 16);
@@ -0,0 +1,8 @@
+-- The owner a task had before an update that reassigned it, so that the previous owner's event stream sees the task
+-- leave. Null for every other change.
+alter table task_change add column previous_user_id bigint;
+
+-- Replay for a reconnecting SSE subscriber also reads the tasks reassigned away from the user:
+-- where seq > ? and (user_id = ? or previous_user_id = ?), a BitmapOr of this index and task_change_user_seq_idx.
+create index task_change_previous_user_seq_idx on task_change (previous_user_id, seq)
+    where previous_user_id is not null and seq is not null;
@@ -0,0 +1,13 @@
+-- The pooled optimizer hands out ids in blocks of 50, matching @SequenceGenerator(allocationSize = 50).
+create sequence task_seq start with 1 increment by 50;
+
+create table task
+(
+    id          bigint       not null primary key,
+    title       varchar(255),
+    description text,
+    user_id     bigint,
+    -- TaskStatus ordinal: 0 NOT_STARTED, 1 IN_PROGRESS, 2 COMPLETED, 3 ON_HOLD, 4 CANCELLED
+    status      smallint     constraint task_status_check check (status between 0 and 4),
+    version     bigint       not null default 0
+);
@@ -0,0 +1,5 @@
+-- Per-user listings filtered by status and paged by id: where user_id = ? and status = ? and id > ? order by id.
+create index task_user_status_id_idx on task (user_id, status, id);
+
+-- A user's open work (NOT_STARTED, IN_PROGRESS, ON_HOLD) stays small compared to the finished history.
+create index task_user_active_idx on task (user_id, id) where status in (0, 1, 3);
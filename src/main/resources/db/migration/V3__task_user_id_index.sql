@@ -0,0 +1,2 @@
+-- All of a user's tasks paged by id, without a status filter: where user_id = ? and id > ? order by id.
+create index task_user_id_idx on task (user_id, id);
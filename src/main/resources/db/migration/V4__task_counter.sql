@@ -0,0 +1,15 @@
+-- Task counts per user and status, split into stripes that are summed on read; see TaskCounters.
+-- Tasks without a user or status are counted under -1.
+create table task_counter
+(
+    user_id bigint   not null,
+    status  smallint not null,
+    stripe  smallint not null,
+    count   bigint   not null,
+    primary key (user_id, status, stripe)
+) with (fillfactor = 50);
+
+insert into task_counter (user_id, status, stripe, count)
+select coalesce(user_id, -1), coalesce(status, -1), 0, count(*)
+from task
+group by 1, 2;
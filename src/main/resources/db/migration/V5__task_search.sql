@@ -0,0 +1,8 @@
+-- 'simple' keeps words as they are: titles mix Russian and English, and prefix queries cover word endings.
+alter table task
+    add column search_vector tsvector generated always as (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+    ) stored;
+
+create index task_search_idx on task using gin (search_vector);
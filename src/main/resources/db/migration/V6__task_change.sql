@@ -0,0 +1,19 @@
+-- Transactional outbox of task mutations. Writers insert rows without seq. TaskChangeFeed numbers committed
+-- rows one batch at a time, so seq order is the order in which rows become visible to readers.
+create table task_change
+(
+    id          bigserial   primary key,
+    seq         bigint      unique,
+    type        varchar(16) not null,
+    task_id     bigint      not null,
+    title       varchar(255),
+    description text,
+    user_id     bigint,
+    status      smallint,
+    version     bigint,
+    changed_at  timestamptz not null default now()
+);
+
+create sequence task_change_seq;
+
+create index task_change_pending_idx on task_change (id) where seq is null;
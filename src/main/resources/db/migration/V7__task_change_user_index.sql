@@ -0,0 +1,2 @@
+-- Replay of one user's changes for a reconnecting SSE subscriber: where user_id = ? and seq > ? order by seq.
+create index task_change_user_seq_idx on task_change (user_id, seq) where seq is not null;
@@ -0,0 +1,58 @@
+-- Tasks are list-partitioned by bucket = user_id mod 16 (0 without a user), so that a user's tasks share one
+-- partition and per-user queries scan one partition's indexes. Must match TaskPartitions.bucket.
+create function task_bucket(user_id bigint) returns smallint
+    language sql immutable parallel safe
+    return coalesce(mod(mod(user_id, 16) + 16, 16), 0);
+
+-- Existing rows are not copied: the old table becomes the partition of bucket -1 as it is, and LegacyTaskMover
+-- moves its rows to their buckets in small batches while the application runs. Adding a column with a constant
+-- default only changes the catalog; the check constraint and the new key each take one pass over the table.
+-- On a large table, add the column and build task_legacy_pkey with create unique index concurrently beforehand,
+-- which this script then picks up, to keep the lock short.
+alter table task rename to task_legacy;
+alter table task_legacy drop constraint task_pkey;
+alter index task_user_status_id_idx rename to task_legacy_user_status_id_idx;
+alter index task_user_active_idx rename to task_legacy_user_active_idx;
+alter index task_user_id_idx rename to task_legacy_user_id_idx;
+alter index task_search_idx rename to task_legacy_search_idx;
+alter table task_legacy add column if not exists bucket smallint not null default -1;
+alter table task_legacy add constraint task_legacy_bucket_check check (bucket = -1);
+create unique index if not exists task_legacy_pkey on task_legacy (id, bucket);
+alter table task_legacy add constraint task_legacy_pkey primary key using index task_legacy_pkey;
+
+create table task
+(
+    id            bigint   not null,
+    title         varchar(255),
+    description   text,
+    user_id       bigint,
+    -- TaskStatus ordinal: 0 NOT_STARTED, 1 IN_PROGRESS, 2 COMPLETED, 3 ON_HOLD, 4 CANCELLED
+    status        smallint constraint task_status_check check (status between 0 and 4),
+    version       bigint   not null default 0,
+    search_vector tsvector generated always as (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+    ) stored,
+    bucket        smallint not null,
+    primary key (id, bucket)
+) partition by list (bucket);
+
+do
+$$
+    begin
+        for bucket in 0..15
+            loop
+                execute format('create table task_p%s partition of task for values in (%s)', lpad(bucket::text, 2, '0'), bucket);
+            end loop;
+    end
+$$;
+
+-- The same indexes as before, on every partition
+create index task_user_status_id_idx on task (user_id, status, id);
+create index task_user_active_idx on task (user_id, id) where status in (0, 1, 3);
+create index task_user_id_idx on task (user_id, id);
+create index task_search_idx on task using gin (search_vector);
+
+-- Ids from now on are task_seq * 16 + bucket, see TaskPartitions.encodeId. task_seq is past every existing id,
+-- so the new ids are too.
+alter table task attach partition task_legacy for values in (-1);
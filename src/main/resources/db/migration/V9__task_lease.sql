@@ -0,0 +1,9 @@
+-- Set while a task is IN_PROGRESS for a worker that claimed it through POST /tasks/claim; a change of the status
+-- clears it. Adding a nullable column only changes the catalog.
+alter table task add column lease_until timestamptz;
+
+-- Claims without a user: where status = 0 order by id limit ? for update skip locked
+create index task_not_started_idx on task (id) where status = 0;
+
+-- TaskLeaseReaper: where status = 1 and lease_until < now() order by lease_until
+create index task_lease_idx on task (lease_until) where status = 1 and lease_until is not null;
@@ -0,0 +1,136 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.cache;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskStatus;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TaskCacheTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TaskCache taskCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        TaskCacheProperties properties = new TaskCacheProperties(100, Duration.ofMinutes(1), "tasks_channel", false, Duration.ZERO, 1);
+        taskCache = new TaskCache(properties, jdbcTemplate, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Тест повторного чтения задачи из кэша")
+    void get_shouldLoadOnlyOnce_whenTaskIsCached() {
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            taskCache.get(1L, id -> {
+                loads.incrementAndGet();
+                return Optional.of(task(id));
+            });
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Тест одной загрузки при одновременных промахах кэша")
+    void get_shouldShareOneLoad_whenMissesAreConcurrent() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Optional<TaskDTO>>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> taskCache.get(1L, id -> {
+                    loads.incrementAndGet();
+                    await(loading);
+                    return Optional.of(task(id));
+                })));
+            }
+            Thread.sleep(100);
+            loading.countDown();
+            for (Future<Optional<TaskDTO>> result : results) {
+                assertTrue(result.get(5, TimeUnit.SECONDS).isPresent());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Тест отсутствующая задача не кэшируется")
+    void get_shouldNotCacheMissingTask() {
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            Optional<TaskDTO> task = taskCache.get(1L, id -> {
+                loads.incrementAndGet();
+                return Optional.empty();
+            });
+            assertFalse(task.isPresent());
+        }
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Тест инвалидации задачи с оповещением других узлов")
+    void evict_shouldInvalidateAndNotifyOtherNodes() {
+        AtomicInteger loads = new AtomicInteger();
+        taskCache.get(1L, id -> {
+            loads.incrementAndGet();
+            return Optional.of(task(id));
+        });
+
+        taskCache.evict(1L);
+        taskCache.get(1L, id -> {
+            loads.incrementAndGet();
+            return Optional.of(task(id));
+        });
+
+        assertEquals(2, loads.get());
+        verify(jdbcTemplate).queryForList("select pg_notify(?, ?)", "tasks_channel", "1");
+    }
+
+    private static TaskDTO task(Long id) {
+        return new TaskDTO(id, "Task " + id, null, 1L, TaskStatus.NOT_STARTED, 0L);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
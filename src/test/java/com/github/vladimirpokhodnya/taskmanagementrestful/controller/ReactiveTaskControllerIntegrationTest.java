@@ -0,0 +1,375 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.controller;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.Task;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskStatus;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskStatusDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskSummaryDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.repository.TaskRepository;
+import com.github.vladimirpokhodnya.taskmanagementrestful.testcontainer.PostgresContainer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("reactive")
+@AutoConfigureWebTestClient
+class ReactiveTaskControllerIntegrationTest extends PostgresContainer {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        saveTestTasks();
+    }
+
+    private void saveTestTasks() {
+        Task task1 = new Task();
+        task1.setTitle("Task 1");
+        task1.setDescription("Description 1");
+        task1.setUserId(1L);
+        task1.setStatus(TaskStatus.NOT_STARTED);
+
+        Task task2 = new Task();
+        task2.setTitle("Task 2");
+        task2.setDescription("Description 2");
+        task2.setUserId(2L);
+        task2.setStatus(TaskStatus.NOT_STARTED);
+
+        Task task3 = new Task();
+        task3.setTitle("Task 3");
+        task3.setDescription("Description 3");
+        task3.setUserId(3L);
+        task3.setStatus(TaskStatus.NOT_STARTED);
+
+        taskRepository.saveAll(Arrays.asList(task1, task2, task3));
+    }
+
+    @Test
+    @DisplayName("Тест создания задачи")
+    void createTask() {
+        TaskDTO newTask = new TaskDTO(null, "New Task", "New Task Description", 1L, TaskStatus.NOT_STARTED);
+
+        webTestClient.post().uri("/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(newTask)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("New Task");
+
+        assertEquals(4, taskRepository.count());
+    }
+
+    @Test
+    @DisplayName("Тест получения задачи по ID")
+    void getTaskById() {
+        Long taskId = taskRepository.findAll().get(0).getId();
+
+        webTestClient.get().uri("/tasks/{id}", taskId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Task 1");
+    }
+
+    @Test
+    @DisplayName("Тест обновления задачи")
+    void updateTask() {
+        Long taskId = taskRepository.findAll().get(0).getId();
+        TaskDTO updatedTask = new TaskDTO(null, "Updated Task", "Updated Description", 1L, TaskStatus.IN_PROGRESS);
+
+        webTestClient.put().uri("/tasks/{id}", taskId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(updatedTask)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Updated Task");
+    }
+
+    @Test
+    @DisplayName("Тест условного получения задачи по ETag")
+    void getTaskByIdWithIfNoneMatch() {
+        Long taskId = taskRepository.findAll().get(0).getId();
+
+        String eTag = webTestClient.get().uri("/tasks/{id}", taskId)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(TaskDTO.class)
+                .getResponseHeaders().getETag();
+        assertNotNull(eTag);
+
+        webTestClient.get().uri("/tasks/{id}", taskId)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    @DisplayName("Тест ETag задачи с выбранными полями")
+    void getTaskByIdWithFieldsETag() {
+        Long taskId = taskRepository.findAll().get(0).getId();
+
+        String eTag = webTestClient.get().uri("/tasks/{id}?fields=title", taskId)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseHeaders().getETag();
+        assertNotNull(eTag);
+        assertTrue(eTag.endsWith(";id,title\""));
+
+        webTestClient.get().uri("/tasks/{id}", taskId)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isOk();
+        webTestClient.get().uri("/tasks/{id}?fields=title", taskId)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    @DisplayName("Тест условного обновления задачи по If-Match")
+    void updateTaskWithIfMatch() {
+        Long taskId = taskRepository.findAll().get(0).getId();
+        String eTag = webTestClient.get().uri("/tasks/{id}", taskId)
+                .exchange()
+                .returnResult(TaskDTO.class)
+                .getResponseHeaders().getETag();
+        TaskDTO updatedTask = new TaskDTO(null, "Updated Task", "Updated Description", 1L, TaskStatus.IN_PROGRESS);
+
+        String newETag = webTestClient.put().uri("/tasks/{id}", taskId)
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(updatedTask)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(TaskDTO.class)
+                .getResponseHeaders().getETag();
+        assertNotEquals(eTag, newETag);
+
+        webTestClient.put().uri("/tasks/{id}", taskId)
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(updatedTask)
+                .exchange()
+                .expectStatus().isEqualTo(412);
+
+        webTestClient.patch().uri("/tasks")
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new TaskStatusDTO(taskId, TaskStatus.COMPLETED))
+                .exchange()
+                .expectStatus().isEqualTo(412);
+    }
+
+    @Test
+    @DisplayName("Тест удаления задачи")
+    void deleteTask() {
+        Long taskId = taskRepository.findAll().get(0).getId();
+
+        webTestClient.delete().uri("/tasks/{id}", taskId)
+                .exchange()
+                .expectStatus().isOk();
+
+        assertEquals(2, taskRepository.count());
+    }
+
+    @Test
+    @DisplayName("Тест удаления несуществующей задачи по ID")
+    void deleteNonExistentTask() {
+        webTestClient.delete().uri("/tasks/{id}", 99999L)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("Тест получения всех задач")
+    void getAllTasks() {
+        webTestClient.get().uri("/tasks")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TaskDTO.class).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Тест получения нескольких задач по списку ID")
+    void getTasksByIds() {
+        List<Long> ids = taskRepository.findAll().stream().map(Task::getId).sorted().toList();
+
+        webTestClient.get().uri("/tasks?ids={ids}", ids.get(2) + "," + ids.get(0) + ",99999," + ids.get(2))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].title").isEqualTo("Task 3")
+                .jsonPath("$[1].title").isEqualTo("Task 1");
+    }
+
+    @Test
+    @DisplayName("Тест получения списка задач с выбранными полями")
+    void getTasksWithFields() {
+        webTestClient.get().uri("/tasks?fields=title,status&userId=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].id").isNumber()
+                .jsonPath("$[0].title").isEqualTo("Task 1")
+                .jsonPath("$[0].status").isEqualTo("NOT_STARTED")
+                .jsonPath("$[0].description").doesNotExist();
+
+        webTestClient.get().uri("/tasks?fields=id,version")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("Тест постраничного получения задач по курсору")
+    void getTasksWithCursor() {
+        String cursor = webTestClient.get().uri("/tasks?limit=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(TaskController.NEXT_CURSOR_HEADER)
+                .expectBodyList(TaskDTO.class).hasSize(2)
+                .returnResult()
+                .getResponseHeaders().getFirst(TaskController.NEXT_CURSOR_HEADER);
+
+        webTestClient.get().uri(uri -> uri.path("/tasks").queryParam("limit", 2).queryParam("cursor", cursor).build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(TaskController.NEXT_CURSOR_HEADER)
+                .expectBodyList(TaskDTO.class).hasSize(1);
+
+        webTestClient.get().uri("/tasks?cursor=invalid")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("Тест потоковой выгрузки задач в NDJSON")
+    void exportTasks() {
+        List<TaskDTO> exported = webTestClient.get().uri("/tasks/export?userId=1")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .returnResult(TaskDTO.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertNotNull(exported);
+        assertEquals(1, exported.size());
+        assertEquals("Task 1", exported.get(0).getTitle());
+    }
+
+    @Test
+    @DisplayName("Тест обновления статуса задачи")
+    void updateTaskStatus() {
+        Long taskId = taskRepository.findAll().get(0).getId();
+
+        webTestClient.patch().uri("/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new TaskStatusDTO(taskId, TaskStatus.IN_PROGRESS))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(TaskStatus.IN_PROGRESS.toString());
+    }
+
+    @Test
+    @DisplayName("Тест обновления статуса задачи с проверкой текущего статуса")
+    void updateTaskStatusWithExpectedStatus() {
+        Long taskId = taskRepository.findAll().get(0).getId();
+        TaskStatusDTO statusDTO = new TaskStatusDTO(taskId, TaskStatus.IN_PROGRESS, TaskStatus.NOT_STARTED);
+
+        webTestClient.patch().uri("/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(statusDTO)
+                .exchange()
+                .expectStatus().isOk();
+
+        webTestClient.patch().uri("/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(statusDTO)
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+
+    @Test
+    @DisplayName("Тест обновления статуса несуществующей задачи")
+    void updateNonExistentTaskStatus() {
+        webTestClient.patch().uri("/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new TaskStatusDTO(99999L, TaskStatus.IN_PROGRESS))
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("Тест получения несуществующей задачи по ID")
+    void getNonExistentTaskById() {
+        webTestClient.get().uri("/tasks/{id}", 99999L)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("Тест обновления несуществующей задачи по ID")
+    void updateNonExistentTask() {
+        TaskDTO updatedTask = new TaskDTO(null, "Updated Task", "Updated Description", 1L, TaskStatus.IN_PROGRESS);
+
+        webTestClient.put().uri("/tasks/{id}", 99999L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(updatedTask)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("Тест обновления счетчиков при записи через реактивный стек")
+    void getTaskSummary() {
+        long completed = completedCount();
+
+        webTestClient.post().uri("/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new TaskDTO(null, "New Task", null, 1L, TaskStatus.COMPLETED))
+                .exchange()
+                .expectStatus().isOk();
+
+        assertEquals(completed + 1, completedCount());
+    }
+
+    private long completedCount() {
+        TaskSummaryDTO summary = webTestClient.get().uri("/tasks/summary")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(TaskSummaryDTO.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(summary);
+        return summary.byStatus().get(TaskStatus.COMPLETED);
+    }
+}
@@ -0,0 +1,106 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.Task;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskStatus;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskStatusDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.repository.TaskRepository;
+import com.github.vladimirpokhodnya.taskmanagementrestful.testcontainer.PostgresContainer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+class TaskBatchControllerIntegrationTest extends PostgresContainer {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Тест пакетного создания задач")
+    void createTasks() throws Exception {
+        List<TaskDTO> tasks = List.of(
+                new TaskDTO(null, "Task 1", "Description 1", 1L, TaskStatus.NOT_STARTED),
+                new TaskDTO(null, "Task 2", "Description 2", 2L, TaskStatus.IN_PROGRESS));
+
+        mockMvc.perform(post("/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(tasks)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].outcome").value("CREATED"))
+                .andExpect(jsonPath("$[1].index").value(1));
+
+        assertEquals(2, taskRepository.count());
+    }
+
+    @Test
+    @DisplayName("Тест пакетного обновления статусов задач")
+    void updateTaskStatuses() throws Exception {
+        Long taskId = saveTask().getId();
+        List<TaskStatusDTO> statuses = List.of(
+                new TaskStatusDTO(taskId, TaskStatus.COMPLETED),
+                new TaskStatusDTO(99999L, TaskStatus.COMPLETED));
+
+        mockMvc.perform(patch("/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(statuses)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].outcome").value("UPDATED"))
+                .andExpect(jsonPath("$[1].outcome").value("NOT_FOUND"));
+
+        assertEquals(TaskStatus.COMPLETED, taskRepository.findById(taskId).orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("Тест пакетного удаления задач")
+    void deleteTasks() throws Exception {
+        Long taskId = saveTask().getId();
+
+        mockMvc.perform(delete("/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(taskId, 99999L))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].outcome").value("DELETED"))
+                .andExpect(jsonPath("$[1].outcome").value("NOT_FOUND"));
+
+        assertEquals(0, taskRepository.count());
+    }
+
+    private Task saveTask() {
+        Task task = new Task();
+        task.setTitle("Task");
+        task.setDescription("Description");
+        task.setUserId(1L);
+        task.setStatus(TaskStatus.NOT_STARTED);
+        return taskRepository.save(task);
+    }
+}
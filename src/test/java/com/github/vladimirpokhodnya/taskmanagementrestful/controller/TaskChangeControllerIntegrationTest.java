@@ -0,0 +1,75 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskStatus;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskChangeEvent;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskChangePage;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.service.TaskService;
+import com.github.vladimirpokhodnya.taskmanagementrestful.testcontainer.PostgresContainer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+class TaskChangeControllerIntegrationTest extends PostgresContainer {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Тест получения изменений задачи по порядку через long-poll")
+    void getChanges_shouldReturnMutationsInOrder() throws Exception {
+        TaskDTO created = taskService.createTask(new TaskDTO(null, "Task", null, 7L, TaskStatus.NOT_STARTED));
+        taskService.updateStatus(created.getId(), TaskStatus.IN_PROGRESS);
+        taskService.deleteTask(created.getId());
+
+        List<TaskChangeEvent> changes = new ArrayList<>();
+        long since = 0;
+        for (int attempt = 0; attempt < 20 && changes.size() < 3; attempt++) {
+            TaskChangePage page = poll(since);
+            page.changes().stream()
+                    .filter(change -> change.taskId().equals(created.getId()))
+                    .forEach(changes::add);
+            since = page.lastSeq();
+        }
+
+        assertEquals(List.of(TaskChangeEvent.Type.CREATED, TaskChangeEvent.Type.UPDATED, TaskChangeEvent.Type.DELETED),
+                changes.stream().map(TaskChangeEvent::type).toList());
+        assertEquals(TaskStatus.IN_PROGRESS, changes.get(1).task().getStatus());
+    }
+
+    private TaskChangePage poll(long since) throws Exception {
+        MvcResult result = mockMvc.perform(get("/tasks/changes")
+                        .param("since", Long.toString(since))
+                        .param("wait", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, TaskChangePage.class);
+    }
+}
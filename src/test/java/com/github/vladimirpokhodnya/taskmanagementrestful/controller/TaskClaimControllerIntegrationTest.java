@@ -0,0 +1,186 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.Task;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskStatus;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.repository.TaskRepository;
+import com.github.vladimirpokhodnya.taskmanagementrestful.service.TaskClaimService;
+import com.github.vladimirpokhodnya.taskmanagementrestful.testcontainer.PostgresContainer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+class TaskClaimControllerIntegrationTest extends PostgresContainer {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskClaimService taskClaimService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Тест захвата задач с ограничением количества")
+    void claimTasks() throws Exception {
+        Task first = saveTask(1L, TaskStatus.NOT_STARTED);
+        Task second = saveTask(1L, TaskStatus.NOT_STARTED);
+        saveTask(1L, TaskStatus.COMPLETED);
+
+        mockMvc.perform(post("/tasks/claim").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(TaskClaimController.LEASE_UNTIL_HEADER))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(first.getId()))
+                .andExpect(jsonPath("$[0].status").value("IN_PROGRESS"));
+        mockMvc.perform(post("/tasks/claim").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(second.getId()));
+        mockMvc.perform(post("/tasks/claim"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(TaskClaimController.LEASE_UNTIL_HEADER))
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("Тест захвата задач пользователя")
+    void claimUserTasks() throws Exception {
+        saveTask(1L, TaskStatus.NOT_STARTED);
+        Task task = saveTask(2L, TaskStatus.NOT_STARTED);
+
+        mockMvc.perform(post("/tasks/claim").param("userId", "2").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(task.getId()));
+    }
+
+    @Test
+    @DisplayName("Тест захвата всей очереди пользователя независимо от случайной начальной точки")
+    void claimUserTasks_shouldWrapAroundFromRandomStart() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            saveTask(2L, TaskStatus.NOT_STARTED);
+        }
+
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(post("/tasks/claim").param("userId", "2").param("limit", "1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)));
+        }
+        mockMvc.perform(post("/tasks/claim").param("userId", "2").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("Тест одновременного захвата задач без повторной выдачи")
+    void concurrentClaims() throws Exception {
+        for (int i = 0; i < 50; i++) {
+            saveTask((long) i, TaskStatus.NOT_STARTED);
+        }
+
+        List<Future<List<TaskDTO>>> claims = new ArrayList<>();
+        try (ExecutorService workers = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 16; i++) {
+                claims.add(workers.submit(() -> claim(4)));
+            }
+        }
+
+        Set<Long> claimed = new HashSet<>();
+        int total = 0;
+        for (Future<List<TaskDTO>> claim : claims) {
+            for (TaskDTO task : claim.get()) {
+                claimed.add(task.getId());
+                total++;
+            }
+        }
+        assertEquals(50, total);
+        assertEquals(50, claimed.size());
+    }
+
+    @Test
+    @DisplayName("Тест возврата задач с истёкшей арендой")
+    void releaseExpiredLeases() throws Exception {
+        Long expiredId = saveTask(1L, TaskStatus.NOT_STARTED).getId();
+        claim(1);
+        Long leasedId = saveTask(1L, TaskStatus.NOT_STARTED).getId();
+        claim(1);
+        jdbcTemplate.update("update task set lease_until = now() - interval '1 second' where id = ?", expiredId);
+
+        assertEquals(1, taskClaimService.releaseExpiredLeases());
+
+        assertEquals(TaskStatus.NOT_STARTED, taskRepository.findById(expiredId).orElseThrow().getStatus());
+        assertNull(taskRepository.findById(expiredId).orElseThrow().getLeaseUntil());
+        assertEquals(TaskStatus.IN_PROGRESS, taskRepository.findById(leasedId).orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("Тест окончания аренды при смене статуса задачи")
+    void statusChangeEndsLease() throws Exception {
+        Long id = saveTask(1L, TaskStatus.NOT_STARTED).getId();
+        claim(1);
+
+        mockMvc.perform(patch("/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\": " + id + ", \"status\": \"COMPLETED\"}"))
+                .andExpect(status().isOk());
+
+        assertNull(taskRepository.findById(id).orElseThrow().getLeaseUntil());
+    }
+
+    private List<TaskDTO> claim(int limit) throws Exception {
+        String body = mockMvc.perform(post("/tasks/claim").param("limit", String.valueOf(limit)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, new TypeReference<>() {
+        });
+    }
+
+    private Task saveTask(Long userId, TaskStatus status) {
+        Task task = new Task();
+        task.setTitle("Task");
+        task.setDescription("Description");
+        task.setUserId(userId);
+        task.setStatus(status);
+        return taskRepository.save(task);
+    }
+}
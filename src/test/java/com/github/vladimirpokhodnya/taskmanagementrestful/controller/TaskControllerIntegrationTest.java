@@ -3,6 +3,8 @@ package com.github.vladimirpokhodnya.taskmanagementrestful.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.vladimirpokhodnya.taskmanagementrestful.model.Task;
 import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskStatus;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskBulkStatusChunk;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskBulkStatusDTO;
 import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
 import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskStatusDTO;
 import com.github.vladimirpokhodnya.taskmanagementrestful.repository.TaskRepository;
@@ -12,24 +14,40 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.Arrays;
-
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureMockMvc
+@AutoConfigureObservability
 class TaskControllerIntegrationTest extends PostgresContainer {
 
     @Autowired
@@ -98,6 +116,27 @@ class TaskControllerIntegrationTest extends PostgresContainer {
                 .andExpect(jsonPath("$.title").value("Task 1"));
     }
 
+    @Test
+    @DisplayName("Тест получения нескольких задач по списку ID")
+    void getTasksByIds() throws Exception {
+        List<Long> ids = taskRepository.findAll().stream().map(Task::getId).sorted().toList();
+
+        mockMvc.perform(get("/tasks").param("ids", ids.get(2) + "," + ids.get(0) + ",99999," + ids.get(2)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].title").value("Task 3"))
+                .andExpect(jsonPath("$[1].title").value("Task 1"));
+    }
+
+    @Test
+    @DisplayName("Тест получения слишком большого числа задач по списку ID")
+    void getTooManyTasksByIds() throws Exception {
+        String ids = LongStream.rangeClosed(1, 1001).mapToObj(String::valueOf).collect(Collectors.joining(","));
+
+        mockMvc.perform(get("/tasks").param("ids", ids))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("Тест обновления задачи")
     void updateTask() throws Exception {
@@ -115,6 +154,62 @@ class TaskControllerIntegrationTest extends PostgresContainer {
                 .andExpect(jsonPath("$.title").value("Updated Task"));
     }
 
+    @Test
+    @DisplayName("Тест условного получения задачи по ETag")
+    void getTaskByIdWithIfNoneMatch() throws Exception {
+        Long taskId = taskRepository.findAll().get(0).getId();
+
+        String eTag = mockMvc.perform(get("/tasks/{id}", taskId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/tasks/{id}", taskId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("Тест условного обновления задачи по If-Match")
+    void updateTaskWithIfMatch() throws Exception {
+        Long taskId = taskRepository.findAll().get(0).getId();
+        String eTag = mockMvc.perform(get("/tasks/{id}", taskId))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        TaskDTO updatedTask = new TaskDTO(null, "Updated Task", "Updated Description", 1L, TaskStatus.IN_PROGRESS);
+
+        String newETag = mockMvc.perform(put("/tasks/{id}", taskId)
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updatedTask)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(eTag, newETag);
+
+        mockMvc.perform(put("/tasks/{id}", taskId)
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updatedTask)))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(patch("/tasks")
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TaskStatusDTO(taskId, TaskStatus.COMPLETED))))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @DisplayName("Тест экспорта метрик запросов и сервиса в формате Prometheus")
+    void prometheusMetrics() throws Exception {
+        mockMvc.perform(get("/tasks/{id}", 99999L))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("exception=\"TaskNotFoundException\"")))
+                .andExpect(content().string(containsString("task_service_seconds_count{class=\"TaskService\"")))
+                .andExpect(content().string(containsString("hikaricp_connections_acquire_seconds")));
+    }
+
     @Test
     @DisplayName("Тест удаления задачи")
     void deleteTask() throws Exception {
@@ -142,6 +237,113 @@ class TaskControllerIntegrationTest extends PostgresContainer {
                 .andExpect(jsonPath("$", hasSize(3)));
     }
 
+    @Test
+    @DisplayName("Тест получения списка задач с выбранными полями")
+    void getTasksWithFields() throws Exception {
+        mockMvc.perform(get("/tasks").param("fields", "title,status").param("userId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").isNumber())
+                .andExpect(jsonPath("$[0].title").value("Task 1"))
+                .andExpect(jsonPath("$[0].status").value("NOT_STARTED"))
+                .andExpect(jsonPath("$[0].description").doesNotExist())
+                .andExpect(jsonPath("$[0].userId").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Тест получения задачи по ID с выбранными полями")
+    void getTaskByIdWithFields() throws Exception {
+        Long taskId = taskRepository.findAll().get(0).getId();
+
+        String eTag = mockMvc.perform(get("/tasks/{id}", taskId).param("fields", "description"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, containsString(";id,description")))
+                .andExpect(jsonPath("$.id").value(taskId))
+                .andExpect(jsonPath("$.description").value("Description 1"))
+                .andExpect(jsonPath("$.title").doesNotExist())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/tasks/{id}", taskId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").exists());
+        mockMvc.perform(get("/tasks/{id}", taskId).param("fields", "description").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("Тест получения задач с неизвестным полем")
+    void getTasksWithUnknownField() throws Exception {
+        mockMvc.perform(get("/tasks").param("fields", "id,version"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("version")));
+    }
+
+    @Test
+    @DisplayName("Тест постраничного получения задач по курсору")
+    void getTasksWithCursor() throws Exception {
+        String cursor = mockMvc.perform(get("/tasks").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/tasks").param("limit", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title").value("Task 3"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    @DisplayName("Тест получения задач с фильтром по пользователю")
+    void getTasksByUserId() throws Exception {
+        mockMvc.perform(get("/tasks").param("userId", "2").param("status", "NOT_STARTED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title").value("Task 2"));
+    }
+
+    @Test
+    @DisplayName("Тест получения задач с некорректным курсором")
+    void getTasksWithInvalidCursor() throws Exception {
+        mockMvc.perform(get("/tasks").param("cursor", "broken"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Тест полнотекстового поиска задач по префиксу")
+    void searchTasks() throws Exception {
+        taskService.createTask(new TaskDTO(null, "Квартальный отчет", "Собрать цифры", 2L, TaskStatus.NOT_STARTED));
+        taskService.createTask(new TaskDTO(null, "Встреча", "Обсудить отчетность", 2L, TaskStatus.NOT_STARTED));
+
+        mockMvc.perform(get("/tasks/search").param("q", "отч").param("userId", "2").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title").value("Квартальный отчет"))
+                .andExpect(header().exists(TaskController.NEXT_CURSOR_HEADER))
+                .andExpect(header().doesNotExist(TaskController.SEARCH_TRUNCATED_HEADER));
+
+        mockMvc.perform(get("/tasks/search").param("q", "!!!"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Тест потоковой выгрузки задач в NDJSON")
+    void exportTasks() throws Exception {
+        MvcResult result = mockMvc.perform(get("/tasks/export").param("userId", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(1, lines.length);
+        assertEquals("Task 1", objectMapper.readValue(lines[0], TaskDTO.class).getTitle());
+    }
+
     @Test
     @DisplayName("Тест обновления статуса задачи")
     void updateTaskStatus() throws Exception {
@@ -155,6 +357,66 @@ class TaskControllerIntegrationTest extends PostgresContainer {
                 .andExpect(jsonPath("$.status").value(TaskStatus.IN_PROGRESS.toString()));
     }
 
+    @Test
+    @DisplayName("Тест массовой смены статуса задач по фильтру")
+    void updateTaskStatusesByFilter() throws Exception {
+        List<Long> ids = taskRepository.findAll().stream().map(Task::getId).sorted().toList();
+        taskService.updateStatus(ids.get(0), TaskStatus.COMPLETED);
+        TaskBulkStatusDTO bulkStatusDTO = new TaskBulkStatusDTO(null, Set.of(TaskStatus.NOT_STARTED, TaskStatus.IN_PROGRESS),
+                ids.get(0), ids.get(1), TaskStatus.CANCELLED);
+
+        MvcResult result = mockMvc.perform(patch("/tasks/bulk-status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bulkStatusDTO)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(List.of(ids.get(1)), objectMapper.readValue(lines[0], TaskBulkStatusChunk.class).ids());
+        assertEquals(new TaskBulkStatusChunk(List.of(), 1), objectMapper.readValue(lines[1], TaskBulkStatusChunk.class));
+        assertEquals(TaskStatus.COMPLETED, taskRepository.findById(ids.get(0)).orElseThrow().getStatus());
+        assertEquals(TaskStatus.CANCELLED, taskRepository.findById(ids.get(1)).orElseThrow().getStatus());
+        assertEquals(TaskStatus.NOT_STARTED, taskRepository.findById(ids.get(2)).orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("Тест отказа массовой смены статуса без нового статуса или без фильтра")
+    void updateTaskStatusesByFilter_shouldReturnBadRequest_whenStatusOrFilterIsMissing() throws Exception {
+        mockMvc.perform(patch("/tasks/bulk-status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/tasks/bulk-status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\": \"CANCELLED\"}"))
+                .andExpect(status().isBadRequest());
+
+        assertTrue(taskRepository.findAll().stream().noneMatch(task -> task.getStatus() == TaskStatus.CANCELLED));
+    }
+
+    @Test
+    @DisplayName("Тест обновления статуса задачи с проверкой текущего статуса")
+    void updateTaskStatusWithExpectedStatus() throws Exception {
+        Long taskId = taskRepository.findAll().get(0).getId();
+        TaskStatusDTO statusDTO = new TaskStatusDTO(taskId, TaskStatus.IN_PROGRESS, TaskStatus.NOT_STARTED);
+
+        mockMvc.perform(patch("/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(statusDTO)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(patch("/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(statusDTO)))
+                .andExpect(status().isConflict());
+    }
+
     @Test
     @DisplayName("Тест обновления статуса несуществующей задачи")
     void updateNonExistentTaskStatus() throws Exception {
@@ -0,0 +1,171 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.Task;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskStatus;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskImportJobDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.partition.TaskPartitions;
+import com.github.vladimirpokhodnya.taskmanagementrestful.repository.TaskRepository;
+import com.github.vladimirpokhodnya.taskmanagementrestful.testcontainer.PostgresContainer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "task.import.chunk-size=2")
+@AutoConfigureMockMvc
+class TaskImportControllerIntegrationTest extends PostgresContainer {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Тест импорта задач в формате NDJSON")
+    void importNdjson() throws Exception {
+        String id = createImport();
+        long notStarted = countedTasks(1L, TaskStatus.NOT_STARTED);
+        String body = """
+                {"title": "Task 1", "description": "Line 1\\nLine 2\\twith tab \\\\", "userId": 1, "status": "NOT_STARTED"}
+
+                {"title": "Task 2", "userId": 2, "status": "COMPLETED"}
+                {"title": "Task 3", "status": "IN_PROGRESS"}
+                """;
+
+        mockMvc.perform(put("/tasks/import/{id}", id)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("COMPLETED"))
+                .andExpect(jsonPath("$.read").value(3))
+                .andExpect(jsonPath("$.imported").value(3))
+                .andExpect(jsonPath("$.errors", hasSize(0)));
+
+        List<Task> tasks = taskRepository.findAll().stream().sorted(Comparator.comparing(Task::getTitle)).toList();
+        assertEquals(3, tasks.size());
+        assertEquals("Line 1\nLine 2\twith tab \\", tasks.get(0).getDescription());
+        assertEquals(TaskPartitions.bucket(2L), TaskPartitions.bucketOfId(tasks.get(1).getId()));
+        assertEquals(TaskStatus.COMPLETED, tasks.get(1).getStatus());
+        assertNull(tasks.get(2).getUserId());
+        assertEquals(3, jdbcTemplate.queryForObject("select count(*) from task_change where type = 'CREATED' and task_id = any(cast(? as bigint[]))",
+                Integer.class, (Object) tasks.stream().map(Task::getId).toArray(Long[]::new)));
+        assertEquals(notStarted + 1, countedTasks(1L, TaskStatus.NOT_STARTED));
+    }
+
+    @Test
+    @DisplayName("Тест импорта задач в формате CSV с отклонением некорректных записей")
+    void importCsv_shouldRejectInvalidRecords() throws Exception {
+        String id = createImport();
+        String body = """
+                status,title,userId,description
+                NOT_STARTED,Task 1,1,"Multi
+                line, quoted ""description\"""
+                DONE,Task 2,1,
+                COMPLETED,Task 3,abc,
+                ON_HOLD,Task 4,1
+                CANCELLED,"",,
+                """;
+
+        mockMvc.perform(put("/tasks/import/{id}", id)
+                        .contentType("text/csv")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("COMPLETED"))
+                .andExpect(jsonPath("$.read").value(5))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.rejected").value(3))
+                .andExpect(jsonPath("$.errors", hasSize(3)))
+                .andExpect(jsonPath("$.errors[0].fromLine").value(4))
+                .andExpect(jsonPath("$.errors[0].code").value("INVALID_RECORD"))
+                .andExpect(jsonPath("$.errors[1].fromLine").value(5))
+                .andExpect(jsonPath("$.errors[2].fromLine").value(6));
+
+        List<Task> tasks = taskRepository.findAll().stream().sorted(Comparator.comparing(Task::getStatus)).toList();
+        assertEquals(2, tasks.size());
+        assertEquals("Multi\nline, quoted \"description\"", tasks.get(0).getDescription());
+        assertEquals("", tasks.get(1).getTitle());
+        assertNull(tasks.get(1).getDescription());
+    }
+
+    @Test
+    @DisplayName("Тест опроса хода импорта и повторной загрузки")
+    void pollImport() throws Exception {
+        String id = createImport();
+
+        mockMvc.perform(get("/tasks/import/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("WAITING"));
+        mockMvc.perform(put("/tasks/import/{id}", id)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"title\": \"Task\"}\n"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/tasks/import/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("COMPLETED"))
+                .andExpect(jsonPath("$.imported").value(1));
+        mockMvc.perform(put("/tasks/import/{id}", id)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"title\": \"Task\"}\n"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(get("/tasks/import/{id}", "unknown"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Тест отказа импорта CSV без известных столбцов")
+    void importCsv_shouldFail_whenHeaderHasNoKnownColumns() throws Exception {
+        String id = createImport();
+
+        mockMvc.perform(put("/tasks/import/{id}", id)
+                        .contentType("text/csv")
+                        .content("name,owner\nTask,1\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("FAILED"))
+                .andExpect(jsonPath("$.failureCode").value("UNREADABLE_INPUT"))
+                .andExpect(jsonPath("$.imported").value(0));
+    }
+
+    private long countedTasks(long userId, TaskStatus status) {
+        return jdbcTemplate.queryForObject("select coalesce(sum(count), 0) from task_counter where user_id = ? and status = ?",
+                Long.class, userId, status.ordinal());
+    }
+
+    private String createImport() throws Exception {
+        String body = mockMvc.perform(post("/tasks/import"))
+                .andExpect(status().isCreated())
+                .andExpect(header().exists("Location"))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, TaskImportJobDTO.class).id();
+    }
+}
@@ -0,0 +1,115 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.controller;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.Task;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskStatus;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.repository.TaskRepository;
+import com.github.vladimirpokhodnya.taskmanagementrestful.service.TaskService;
+import com.github.vladimirpokhodnya.taskmanagementrestful.testcontainer.PostgresContainer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+class UserTaskControllerIntegrationTest extends PostgresContainer {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        taskRepository.saveAll(List.of(
+                task("Task 1", 1L, TaskStatus.NOT_STARTED),
+                task("Task 2", 1L, TaskStatus.IN_PROGRESS),
+                task("Task 3", 1L, TaskStatus.NOT_STARTED),
+                task("Task 4", 2L, TaskStatus.NOT_STARTED)));
+    }
+
+    private static Task task(String title, Long userId, TaskStatus status) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription("Description");
+        task.setUserId(userId);
+        task.setStatus(status);
+        return task;
+    }
+
+    @Test
+    @DisplayName("Тест получения задач пользователя по страницам")
+    void getUserTasks_shouldPageOnlyUsersTasks() throws Exception {
+        MvcResult first = mockMvc.perform(get("/users/{userId}/tasks", 1L).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].title").value("Task 1"))
+                .andExpect(header().exists(TaskController.NEXT_CURSOR_HEADER))
+                .andReturn();
+
+        mockMvc.perform(get("/users/{userId}/tasks", 1L)
+                        .param("limit", "2")
+                        .param("cursor", first.getResponse().getHeader(TaskController.NEXT_CURSOR_HEADER)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title").value("Task 3"))
+                .andExpect(header().doesNotExist(TaskController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    @DisplayName("Тест получения задач пользователя с фильтром по статусу")
+    void getUserTasks_shouldFilterByStatus() throws Exception {
+        mockMvc.perform(get("/users/{userId}/tasks", 1L).param("status", "IN_PROGRESS"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title").value("Task 2"));
+    }
+
+    @Test
+    @DisplayName("Тест получения задач пользователя с выбранными полями")
+    void getUserTasks_shouldReturnOnlySelectedFields() throws Exception {
+        mockMvc.perform(get("/users/{userId}/tasks", 1L).param("status", "IN_PROGRESS").param("fields", "title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title").value("Task 2"))
+                .andExpect(jsonPath("$[0].status").doesNotExist())
+                .andExpect(jsonPath("$[0].description").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Тест сводки задач пользователя по статусам")
+    void getUserTaskSummary_shouldCountTasksByStatus() throws Exception {
+        long userId = 42L;
+        taskService.createTask(new TaskDTO(null, "Task A", null, userId, TaskStatus.NOT_STARTED));
+        taskService.createTask(new TaskDTO(null, "Task B", null, userId, TaskStatus.NOT_STARTED));
+        TaskDTO moved = taskService.createTask(new TaskDTO(null, "Task C", null, userId, TaskStatus.NOT_STARTED));
+        taskService.updateStatus(moved.getId(), TaskStatus.IN_PROGRESS);
+        TaskDTO deleted = taskService.createTask(new TaskDTO(null, "Task D", null, userId, TaskStatus.COMPLETED));
+        taskService.deleteTask(deleted.getId());
+
+        mockMvc.perform(get("/users/{userId}/tasks/summary", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.byStatus.NOT_STARTED").value(2))
+                .andExpect(jsonPath("$.byStatus.IN_PROGRESS").value(1))
+                .andExpect(jsonPath("$.byStatus.COMPLETED").value(0));
+    }
+}
@@ -0,0 +1,136 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.counter;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskStatus;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskSummaryDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskCountersTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private TaskCounters taskCounters;
+
+    private final AtomicLong xids = new AtomicLong(100);
+
+    @BeforeEach
+    void setUp() {
+        taskCounters = new TaskCounters(jdbcTemplate, new TaskCounterProperties(4, Duration.ZERO));
+        lenient().when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), any(), any(), any(), any()))
+                .thenAnswer(invocation -> xids.getAndIncrement());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Тест учета созданных, перемещенных и удаленных задач в снимке счетчиков")
+    void apply_shouldUpdateSnapshot() {
+        taskCounters.apply(new TaskCounterDeltas()
+                .created(1L, TaskStatus.NOT_STARTED)
+                .created(1L, TaskStatus.NOT_STARTED)
+                .created(2L, TaskStatus.COMPLETED));
+        taskCounters.apply(new TaskCounterDeltas().moved(1L, TaskStatus.NOT_STARTED, 1L, TaskStatus.IN_PROGRESS));
+        taskCounters.apply(new TaskCounterDeltas().deleted(2L, TaskStatus.COMPLETED));
+
+        TaskSummaryDTO user = taskCounters.summary(1L);
+        assertEquals(2, user.total());
+        assertEquals(1L, user.byStatus().get(TaskStatus.NOT_STARTED));
+        assertEquals(1L, user.byStatus().get(TaskStatus.IN_PROGRESS));
+
+        TaskSummaryDTO all = taskCounters.summary();
+        assertEquals(2, all.total());
+        assertEquals(0L, all.byStatus().get(TaskStatus.COMPLETED));
+        assertEquals(0, taskCounters.summary(3L).total());
+    }
+
+    @Test
+    @DisplayName("Тест применения счетчиков к снимку только после фиксации транзакции")
+    void apply_shouldUpdateSnapshotAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        taskCounters.apply(new TaskCounterDeltas().created(1L, TaskStatus.NOT_STARTED));
+
+        verify(jdbcTemplate).queryForObject(anyString(), eq(Long.class), any(), any(), any(), any());
+        assertEquals(0, taskCounters.summary(1L).total());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(1, taskCounters.summary(1L).total());
+    }
+
+    @Test
+    @DisplayName("Тест взаимного погашения изменений одного счетчика")
+    void apply_shouldSkipDatabase_whenDeltasCancelOut() {
+        TaskCounterDeltas deltas = new TaskCounterDeltas()
+                .created(1L, TaskStatus.NOT_STARTED)
+                .deleted(1L, TaskStatus.NOT_STARTED)
+                .moved(1L, TaskStatus.ON_HOLD, 1L, TaskStatus.ON_HOLD);
+
+        assertTrue(deltas.isEmpty());
+        taskCounters.apply(deltas);
+
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(Long.class), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Тест учета каждой транзакции ровно один раз при фиксации во время перезагрузки снимка")
+    void reload_shouldCountTransactionsCommittedDuringReloadOnce() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        taskCounters.apply(new TaskCounterDeltas().created(1L, TaskStatus.NOT_STARTED));
+        List<TransactionSynchronization> seenByReload = List.copyOf(TransactionSynchronizationManager.getSynchronizations());
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+        taskCounters.apply(new TaskCounterDeltas().created(2L, TaskStatus.NOT_STARTED));
+        List<TransactionSynchronization> missedByReload = List.copyOf(TransactionSynchronizationManager.getSynchronizations());
+
+        ResultSet row = mock(ResultSet.class);
+        when(row.getString("snapshot")).thenReturn("101:101:");
+        when(row.getLong("user_id")).thenReturn(1L);
+        when(row.getShort("status")).thenReturn((short) TaskStatus.NOT_STARTED.ordinal());
+        when(row.getLong("count")).thenReturn(1L);
+        doAnswer(invocation -> {
+            missedByReload.forEach(TransactionSynchronization::afterCommit);
+            invocation.<RowCallbackHandler>getArgument(1).processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+
+        taskCounters.reload();
+        seenByReload.forEach(TransactionSynchronization::afterCommit);
+
+        assertEquals(1, taskCounters.summary(1L).total());
+        assertEquals(1, taskCounters.summary(2L).total());
+        assertEquals(2, taskCounters.summary().total());
+    }
+}
@@ -0,0 +1,112 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.event;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.exception.SubscriberLimitExceededException;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskStatus;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskChangeEvent;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.outbox.TaskChangeFeed;
+import com.github.vladimirpokhodnya.taskmanagementrestful.outbox.TaskChangeProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskEventHubTest {
+
+    @Mock
+    private TaskChangeFeed feed;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TaskEventHub hub;
+
+    @BeforeEach
+    void setUp() {
+        TaskChangeProperties changeProperties = new TaskChangeProperties(Duration.ofSeconds(1), Duration.ofSeconds(1),
+                100, Duration.ofSeconds(30), Duration.ofSeconds(15), Duration.ofDays(7));
+        hub = new TaskEventHub(feed, new TaskEventProperties(2, Duration.ofSeconds(15), 1), changeProperties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Тест отклонения подписки сверх лимита")
+    void subscribe_shouldReject_whenLimitIsReached() {
+        hub.subscribe(1L, null);
+
+        assertThrows(SubscriberLimitExceededException.class, () -> hub.subscribe(2L, null));
+        assertEquals(1, hub.subscriberCount());
+    }
+
+    @Test
+    @DisplayName("Тест отключения медленного подписчика при переполнении буфера")
+    void dispatch_shouldEvictSubscriber_whenBufferIsFull() throws Exception {
+        CountDownLatch replayStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(feed.readForUser(eq(1L), anyLong(), anyInt())).thenAnswer(invocation -> {
+            replayStarted.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+        hub.subscribe(1L, 0L);
+        replayStarted.await(5, TimeUnit.SECONDS);
+
+        for (long seq = 1; seq <= 3; seq++) {
+            hub.dispatch(event(seq, 1L));
+        }
+        hub.dispatch(event(4, 2L));
+        release.countDown();
+
+        assertEquals(1.0, meterRegistry.get("task.events.evicted").counter().count());
+        for (int i = 0; i < 50 && hub.subscriberCount() > 0; i++) {
+            Thread.sleep(20);
+        }
+        assertEquals(0, hub.subscriberCount());
+    }
+
+    @Test
+    @DisplayName("Тест доставки переназначения задачи прежнему владельцу")
+    void dispatch_shouldDeliverReassignmentToPreviousOwner() throws Exception {
+        CountDownLatch replayStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(feed.readForUser(eq(1L), anyLong(), anyInt())).thenAnswer(invocation -> {
+            replayStarted.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+        hub.subscribe(1L, 0L);
+        replayStarted.await(5, TimeUnit.SECONDS);
+
+        // The buffer holds two events, so the subscriber is evicted only if all three reach it
+        for (long seq = 1; seq <= 3; seq++) {
+            hub.dispatch(event(seq, 2L, 1L));
+        }
+        release.countDown();
+
+        assertEquals(1.0, meterRegistry.get("task.events.evicted").counter().count());
+    }
+
+    private static TaskChangeEvent event(long seq, Long userId) {
+        return event(seq, userId, null);
+    }
+
+    private static TaskChangeEvent event(long seq, Long userId, Long previousUserId) {
+        TaskDTO task = new TaskDTO(seq, "Task " + seq, null, userId, TaskStatus.IN_PROGRESS);
+        return new TaskChangeEvent(seq, TaskChangeEvent.Type.UPDATED, seq, task, previousUserId, Instant.now());
+    }
+}
@@ -0,0 +1,88 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.metrics;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.cache.TaskCache;
+import com.github.vladimirpokhodnya.taskmanagementrestful.counter.TaskCounters;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.outbox.TaskOutbox;
+import com.github.vladimirpokhodnya.taskmanagementrestful.repository.TaskRepository;
+import com.github.vladimirpokhodnya.taskmanagementrestful.service.TaskLoader;
+import com.github.vladimirpokhodnya.taskmanagementrestful.service.TaskService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskServiceMetricsAspectTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskCache taskCache;
+
+    @Mock
+    private TaskCounters taskCounters;
+
+    @Mock
+    private TaskOutbox taskOutbox;
+
+    @Mock
+    private TaskLoader taskLoader;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TaskService taskService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new TaskService(taskRepository, taskCache, taskCounters, taskOutbox, taskLoader));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new TaskServiceMetricsAspect(meterRegistry));
+        taskService = proxyFactory.getProxy();
+    }
+
+    @Test
+    @DisplayName("Тест учета успешного вызова и вызова без результата")
+    void shouldTagCallsByOutcome() {
+        when(taskRepository.deleteReturning(1L)).thenReturn(Optional.of(new TaskDTO(1L, null, null, null, null)));
+        when(taskRepository.deleteReturning(2L)).thenReturn(Optional.empty());
+
+        taskService.deleteTask(1L);
+        taskService.deleteTask(2L);
+
+        assertEquals(1, timerCount("deleteTask", "SUCCESS", "none"));
+        assertEquals(1, timerCount("deleteTask", "NOT_FOUND", "none"));
+    }
+
+    @Test
+    @DisplayName("Тест учета вызова, завершившегося исключением")
+    void shouldTagFailedCallsWithException() {
+        when(taskRepository.deleteReturning(1L)).thenThrow(new IllegalStateException("boom"));
+
+        assertThrows(IllegalStateException.class, () -> taskService.deleteTask(1L));
+
+        assertEquals(1, timerCount("deleteTask", "ERROR", "IllegalStateException"));
+    }
+
+    private long timerCount(String method, String outcome, String exception) {
+        return meterRegistry.get(TaskServiceMetricsAspect.METRIC_NAME)
+                .tag("class", "TaskService")
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .timer()
+                .count();
+    }
+}
@@ -0,0 +1,127 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.routing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReplicaPoolTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DataSource primary = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final DataSource replicaDataSource = mock(DataSource.class);
+    private final Connection replicaConnection = mock(Connection.class);
+
+    private final ReplicaPool replicaPool = new ReplicaPool(
+            new ReplicaProperties(true, List.of(), null, null, 10, MAX_LAG, Duration.ofMillis(200)),
+            List.of(replicaDataSource), meterRegistry);
+
+    ReplicaPoolTest() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replicaDataSource.getConnection()).thenReturn(replicaConnection);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadConsistency.clear();
+    }
+
+    @Test
+    @DisplayName("Тест чтения с реплики, которая не отстает")
+    void shouldReadFromReplica_whenItIsWithinMaxLag() throws SQLException {
+        replica().update(Lsn.parse("0/3000000"), 0.2, MAX_LAG);
+
+        assertSame(replicaConnection, replicaPool.getConnection(primary));
+        assertEquals(1.0, meterRegistry.get("task.replicas.reads").tag("target", "replica").counter().count());
+    }
+
+    @Test
+    @DisplayName("Тест чтения с основного сервера, когда реплика отстает больше допустимого")
+    void shouldReadFromPrimary_whenReplicaLagsBehind() throws SQLException {
+        replica().update(Lsn.parse("0/3000000"), 5, MAX_LAG);
+
+        assertSame(primaryConnection, replicaPool.getConnection(primary));
+        assertEquals(1.0, meterRegistry.get("task.replicas.reads").tag("target", "primary").counter().count());
+    }
+
+    @Test
+    @DisplayName("Тест чтения своих записей: реплика должна воспроизвести позицию из токена")
+    void shouldReadFromPrimary_untilReplicaReplaysRequiredLsn() throws SQLException {
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(replicaConnection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getString(1)).thenReturn("0/3000080", "0/3000100");
+        replica().update(Lsn.parse("0/3000000"), 0, MAX_LAG);
+        ReadConsistency.require(Lsn.parse("0/3000100"));
+
+        assertSame(primaryConnection, replicaPool.getConnection(primary));
+        verify(replicaConnection).close();
+
+        assertSame(replicaConnection, replicaPool.getConnection(primary));
+        assertEquals(Lsn.parse("0/3000100"), replica().replayed);
+    }
+
+    @Test
+    @DisplayName("Тест загрузки в кэш только с основного сервера")
+    void shouldReadFromPrimary_insideOnPrimary() throws SQLException {
+        replica().update(Lsn.parse("0/3000000"), 0, MAX_LAG);
+
+        Connection connection = ReadConsistency.onPrimary(() -> {
+            try {
+                return replicaPool.getConnection(primary);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertSame(primaryConnection, connection);
+    }
+
+    @Test
+    @DisplayName("Тест переключения на основной сервер, когда реплика недоступна")
+    void shouldFallBackToPrimary_whenReplicaRefusesConnection() throws SQLException {
+        replica().update(Lsn.parse("0/3000000"), 0, MAX_LAG);
+        when(replicaDataSource.getConnection()).thenThrow(new SQLException("connection refused"));
+
+        assertSame(primaryConnection, replicaPool.getConnection(primary));
+        assertFalse(replica().available);
+    }
+
+    @Test
+    @DisplayName("Тест разбора и сравнения позиций WAL")
+    void shouldParseAndCompareLsn() {
+        Lsn lsn = Lsn.parse("16/B374D848");
+
+        assertEquals(0x16B374D848L, lsn.value());
+        assertEquals("16/B374D848", lsn.toString());
+        assertEquals(1, Integer.signum(lsn.compareTo(Lsn.parse("16/B374D847"))));
+        assertThrows(IllegalArgumentException.class, () -> Lsn.parse("B374D848"));
+        assertThrows(IllegalArgumentException.class, () -> Lsn.parse("1/-1"));
+    }
+
+    private ReplicaPool.Replica replica() {
+        return replicaPool.replicas().get(0);
+    }
+}
@@ -0,0 +1,215 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.service;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.cache.TaskCache;
+import com.github.vladimirpokhodnya.taskmanagementrestful.counter.TaskCounters;
+import com.github.vladimirpokhodnya.taskmanagementrestful.exception.InvalidBulkStatusException;
+import com.github.vladimirpokhodnya.taskmanagementrestful.exception.TaskErrorCode;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.Task;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskStatus;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskBatchItemResult.Outcome;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskBatchItemResult;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskBulkStatusChunk;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskBulkStatusDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskChangeEvent;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskStatusDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.outbox.TaskOutbox;
+import com.github.vladimirpokhodnya.taskmanagementrestful.repository.TaskChange;
+import com.github.vladimirpokhodnya.taskmanagementrestful.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskBatchServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskCache taskCache;
+
+    @Mock
+    private TaskCounters taskCounters;
+
+    @Mock
+    private TaskOutbox taskOutbox;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TaskBatchService taskBatchService;
+
+    @BeforeEach
+    void setUp() {
+        taskBatchService = new TaskBatchService(taskRepository, taskCache, taskCounters, taskOutbox, transactionManager);
+    }
+
+    @Test
+    @DisplayName("Тест пакетного создания задач по частям")
+    void createTasks_shouldSaveInChunksAndReportEveryItem() {
+        AtomicLong ids = new AtomicLong();
+        when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Task> tasks = invocation.getArgument(0);
+            tasks.forEach(task -> task.setId(ids.incrementAndGet()));
+            return tasks;
+        });
+
+        List<TaskDTO> taskDTOs = IntStream.range(0, TaskBatchService.CHUNK_SIZE + 1)
+                .mapToObj(i -> new TaskDTO(99L, "Task " + i, null, 1L, TaskStatus.NOT_STARTED))
+                .toList();
+
+        List<TaskBatchItemResult> results = taskBatchService.createTasks(taskDTOs);
+
+        assertEquals(taskDTOs.size(), results.size());
+        assertEquals(Outcome.CREATED, results.get(TaskBatchService.CHUNK_SIZE).outcome());
+        assertEquals(TaskBatchService.CHUNK_SIZE, results.get(TaskBatchService.CHUNK_SIZE).index());
+        assertEquals(1L, results.get(0).id());
+        verify(taskRepository, times(2)).saveAll(anyList());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Тест пакетного обновления статусов с отсутствующей задачей")
+    void updateStatuses_shouldReportNotFoundItems() {
+        when(taskRepository.updateStatuses(Map.of(1L, TaskStatus.IN_PROGRESS, 2L, TaskStatus.IN_PROGRESS)))
+                .thenReturn(List.of(new TaskChange(new TaskDTO(1L, "Task 1", null, 1L, TaskStatus.IN_PROGRESS),
+                        1L, TaskStatus.NOT_STARTED)));
+
+        List<TaskBatchItemResult> results = taskBatchService.updateStatuses(List.of(
+                new TaskStatusDTO(1L, TaskStatus.IN_PROGRESS),
+                new TaskStatusDTO(2L, TaskStatus.IN_PROGRESS)));
+
+        assertEquals(Outcome.UPDATED, results.get(0).outcome());
+        assertEquals(Outcome.NOT_FOUND, results.get(1).outcome());
+        verify(taskCache).evictAll(Set.of(1L));
+    }
+
+    @Test
+    @DisplayName("Тест массовой смены статуса по фильтру частями")
+    void updateStatusesWhere_shouldContinueAfterLastIdOfEveryChunk() {
+        TaskBulkStatusDTO bulkStatusDTO = new TaskBulkStatusDTO(1L, null, 10L, null, TaskStatus.CANCELLED);
+        when(taskRepository.updateStatusesWhere(bulkStatusDTO, 9L, TaskBatchService.CHUNK_SIZE))
+                .thenReturn(List.of(change(12L), change(11L)));
+        when(taskRepository.updateStatusesWhere(bulkStatusDTO, 12L, TaskBatchService.CHUNK_SIZE))
+                .thenReturn(List.of(change(20L)));
+        when(taskRepository.updateStatusesWhere(bulkStatusDTO, 20L, TaskBatchService.CHUNK_SIZE))
+                .thenReturn(List.of());
+        List<TaskBulkStatusChunk> chunks = new ArrayList<>();
+
+        long affected = taskBatchService.updateStatusesWhere(bulkStatusDTO, chunks::add);
+
+        assertEquals(3, affected);
+        assertEquals(List.of(new TaskBulkStatusChunk(List.of(11L, 12L), 2), new TaskBulkStatusChunk(List.of(20L), 3)), chunks);
+        verify(taskCache).evictAll(List.of(11L, 12L));
+        verify(taskCounters, times(3)).apply(any());
+        verify(taskOutbox, times(3)).recordAll(eq(TaskChangeEvent.Type.UPDATED), anyList());
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Тест отказа массовой смены статуса без нового статуса или без фильтра")
+    void updateStatusesWhere_shouldReject_whenStatusOrFilterIsMissing() {
+        assertThrows(InvalidBulkStatusException.class, () -> taskBatchService.updateStatusesWhere(
+                new TaskBulkStatusDTO(1L, null, null, null, null), chunk -> {
+                }));
+        assertThrows(InvalidBulkStatusException.class, () -> taskBatchService.updateStatusesWhere(
+                new TaskBulkStatusDTO(null, Set.of(), null, null, TaskStatus.CANCELLED), chunk -> {
+                }));
+
+        verify(taskRepository, never()).updateStatusesWhere(any(), anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Тест массовой смены статуса с наименьшим возможным fromId")
+    void updateStatusesWhere_shouldNotOverflow_whenFromIdIsMinValue() {
+        TaskBulkStatusDTO bulkStatusDTO = new TaskBulkStatusDTO(null, null, Long.MIN_VALUE, null, TaskStatus.CANCELLED);
+        when(taskRepository.updateStatusesWhere(bulkStatusDTO, Long.MIN_VALUE, TaskBatchService.CHUNK_SIZE))
+                .thenReturn(List.of());
+
+        assertEquals(0, taskBatchService.updateStatusesWhere(bulkStatusDTO, chunk -> {
+        }));
+        verify(taskRepository).updateStatusesWhere(bulkStatusDTO, Long.MIN_VALUE, TaskBatchService.CHUNK_SIZE);
+    }
+
+    @Test
+    @DisplayName("Тест пакетного удаления задач")
+    void deleteTasks_shouldDeleteOnlyExistingIds() {
+        when(taskRepository.deleteAllReturning(List.of(1L, 2L)))
+                .thenReturn(List.of(new TaskDTO(2L, "Task 2", null, 1L, TaskStatus.NOT_STARTED)));
+
+        List<TaskBatchItemResult> results = taskBatchService.deleteTasks(List.of(1L, 2L));
+
+        assertEquals(Outcome.NOT_FOUND, results.get(0).outcome());
+        assertEquals(Outcome.DELETED, results.get(1).outcome());
+        verify(taskCache).evictAll(Set.of(2L));
+        verify(taskCounters).apply(any());
+    }
+
+    @Test
+    @DisplayName("Тест пакетной операции, когда часть завершилась ошибкой")
+    void deleteTasks_shouldReportFailedChunk() {
+        when(taskRepository.deleteAllReturning(anyCollection())).thenThrow(new IllegalStateException("boom"));
+
+        List<TaskBatchItemResult> results = taskBatchService.deleteTasks(List.of(1L));
+
+        assertEquals(Outcome.FAILED, results.get(0).outcome());
+        assertEquals(TaskErrorCode.INTERNAL_ERROR, results.get(0).code());
+        assertEquals(TaskErrorCode.INTERNAL_ERROR.message(), results.get(0).error());
+        assertEquals(1L, results.get(0).id());
+    }
+
+    @Test
+    @DisplayName("Тест повтора по одной задаче части, завершившейся ошибкой")
+    void createTasks_shouldRetryFailedChunkItemByItem() {
+        AtomicLong ids = new AtomicLong();
+        when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Task> tasks = invocation.getArgument(0);
+            if (tasks.stream().anyMatch(task -> task.getTitle().equals("Task 1"))) {
+                throw new DataIntegrityViolationException("duplicate");
+            }
+            tasks.forEach(task -> task.setId(ids.incrementAndGet()));
+            return tasks;
+        });
+        List<TaskDTO> taskDTOs = IntStream.range(0, 3)
+                .mapToObj(i -> new TaskDTO(null, "Task " + i, null, 1L, TaskStatus.NOT_STARTED))
+                .toList();
+
+        List<TaskBatchItemResult> results = taskBatchService.createTasks(taskDTOs);
+
+        assertEquals(List.of(Outcome.CREATED, Outcome.FAILED, Outcome.CREATED),
+                results.stream().map(TaskBatchItemResult::outcome).toList());
+        assertEquals(List.of(0, 1, 2), results.stream().map(TaskBatchItemResult::index).toList());
+        assertEquals(TaskErrorCode.CONSTRAINT_VIOLATION, results.get(1).code());
+        verify(taskRepository, times(4)).saveAll(anyList());
+    }
+
+    private static TaskChange change(long id) {
+        return new TaskChange(new TaskDTO(id, "Task " + id, null, 1L, TaskStatus.CANCELLED), 1L, TaskStatus.NOT_STARTED);
+    }
+}
@@ -0,0 +1,102 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.service;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.cache.TaskCacheProperties;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskStatus;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskLoaderTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Тест объединения загрузок в пределах окна в один запрос")
+    void load_shouldMergeLoadsWithinWindow() throws Exception {
+        TaskDTO task = new TaskDTO(1L, "Task", null, 1L, TaskStatus.NOT_STARTED);
+        when(taskRepository.findTasks(any())).thenReturn(List.of(task));
+        TaskLoader loader = loader(Duration.ofMillis(500), 256);
+
+        try (ExecutorService callers = Executors.newFixedThreadPool(3)) {
+            Future<Optional<TaskDTO>> first = callers.submit(() -> loader.load(1L));
+            Future<Optional<TaskDTO>> second = callers.submit(() -> loader.load(2L));
+            Future<Optional<TaskDTO>> same = callers.submit(() -> loader.load(1L));
+
+            assertEquals(Optional.of(task), first.get(5, TimeUnit.SECONDS));
+            assertEquals(Optional.empty(), second.get(5, TimeUnit.SECONDS));
+            assertEquals(Optional.of(task), same.get(5, TimeUnit.SECONDS));
+        }
+        verify(taskRepository).findTasks(Set.of(1L, 2L));
+        assertEquals(1, meterRegistry.get("task.cache.load.batch").summary().count());
+    }
+
+    @Test
+    @DisplayName("Тест загрузки заполненного пакета без ожидания окна")
+    void load_shouldRunFullBatchAtOnce() throws Exception {
+        when(taskRepository.findTasks(any())).thenReturn(List.of());
+        TaskLoader loader = loader(Duration.ofMinutes(1), 2);
+
+        CompletableFuture<Optional<TaskDTO>> first = CompletableFuture.supplyAsync(() -> loader.load(1L));
+        CompletableFuture<Optional<TaskDTO>> second = CompletableFuture.supplyAsync(() -> loader.load(2L));
+
+        assertEquals(Optional.empty(), first.get(5, TimeUnit.SECONDS));
+        assertEquals(Optional.empty(), second.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Тест передачи ошибки запроса всем ожидающим загрузкам")
+    void load_shouldFailAllLoads_whenQueryFails() {
+        when(taskRepository.findTasks(any())).thenThrow(new IllegalStateException("db down"));
+        TaskLoader loader = loader(Duration.ofMinutes(1), 2);
+
+        CompletableFuture<Optional<TaskDTO>> first = CompletableFuture.supplyAsync(() -> loader.load(1L));
+        CompletableFuture<Optional<TaskDTO>> second = CompletableFuture.supplyAsync(() -> loader.load(2L));
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+        assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Тест загрузки без объединения при нулевом окне")
+    void load_shouldLoadDirectly_whenWindowIsZero() {
+        when(taskRepository.findTask(1L)).thenReturn(Optional.empty());
+        TaskLoader loader = loader(Duration.ZERO, 256);
+
+        assertEquals(Optional.empty(), loader.load(1L));
+        verify(taskRepository, never()).findTasks(any());
+    }
+
+    private TaskLoader loader(Duration window, int batchSize) {
+        TaskCacheProperties properties = new TaskCacheProperties(100, Duration.ofMinutes(1), "tasks_channel", false, window, batchSize);
+        return new TaskLoader(taskRepository, properties, meterRegistry);
+    }
+}
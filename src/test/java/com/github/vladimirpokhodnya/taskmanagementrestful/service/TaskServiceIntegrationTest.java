@@ -3,14 +3,22 @@ package com.github.vladimirpokhodnya.taskmanagementrestful.service;
 import com.github.vladimirpokhodnya.taskmanagementrestful.model.Task;
 import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskStatus;
 import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskPage;
+import com.github.vladimirpokhodnya.taskmanagementrestful.partition.LegacyTaskMover;
+import com.github.vladimirpokhodnya.taskmanagementrestful.partition.TaskPartitions;
 import com.github.vladimirpokhodnya.taskmanagementrestful.repository.TaskRepository;
 import com.github.vladimirpokhodnya.taskmanagementrestful.testcontainer.PostgresContainer;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,6 +37,15 @@ class TaskServiceIntegrationTest extends PostgresContainer {
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private LegacyTaskMover legacyTaskMover;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @BeforeEach
     void setUp() {
         taskRepository.deleteAll();
@@ -91,6 +108,35 @@ class TaskServiceIntegrationTest extends PostgresContainer {
         assertEquals("Updated Description", updatedTaskDTO.get().getDescription());
     }
 
+    @Test
+    @DisplayName("Тест переноса задачи в секцию нового пользователя")
+    void updateTask_shouldMoveTaskToPartitionOfNewUser() {
+        TaskDTO created = taskService.createTask(new TaskDTO(null, "Task", null, 1L, TaskStatus.NOT_STARTED));
+        assertEquals(TaskPartitions.bucket(1L), TaskPartitions.bucketOfId(created.getId()));
+
+        taskService.updateTask(created.getId(), new TaskDTO(null, "Task", null, 2L, TaskStatus.NOT_STARTED));
+
+        assertEquals(TaskPartitions.bucket(2L), bucketOf(created.getId()));
+        assertEquals(2L, taskService.getTaskById(created.getId()).orElseThrow().getUserId());
+        assertEquals(List.of(created.getId()), taskService.getUserTasks(2L, null, null, null).items().stream()
+                .map(TaskDTO::getId).toList());
+        assertTrue(taskService.getUserTasks(1L, null, null, null).items().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Тест переноса задач, созданных до секционирования, в секции пользователей")
+    void moveBatch_shouldMoveLegacyTasksToPartitionsOfTheirUsers() {
+        jdbcTemplate.update("insert into task (id, title, user_id, status, bucket) values (5, 'Legacy', 3, 0, -1)");
+
+        assertEquals(3L, taskService.getTaskById(5L).orElseThrow().getUserId());
+        assertEquals(1, legacyTaskMover.moveBatch());
+
+        assertEquals(TaskPartitions.bucket(3L), bucketOf(5L));
+        assertEquals(List.of(5L), taskService.getUserTasks(3L, null, null, null).items().stream()
+                .map(TaskDTO::getId).toList());
+        assertEquals(0, legacyTaskMover.moveBatch());
+    }
+
     @Test
     @DisplayName("Тест удаления задачи по ID")
     void deleteTask_shouldDeleteTaskById() {
@@ -118,8 +164,8 @@ class TaskServiceIntegrationTest extends PostgresContainer {
     }
 
     @Test
-    @DisplayName("Тест получения всех задач и возврата списка TaskDTO")
-    void getAllTasks_shouldReturnListOfTaskDTOs() {
+    @DisplayName("Тест постраничного получения задач с фильтрами")
+    void getTasks_shouldReturnFilteredPagesOfTaskDTOs() {
         Task task1 = new Task();
         task1.setTitle("Task 1");
         task1.setDescription("Description 1");
@@ -134,9 +180,42 @@ class TaskServiceIntegrationTest extends PostgresContainer {
         task2.setStatus(TaskStatus.IN_PROGRESS);
         taskRepository.save(task2);
 
-        List<TaskDTO> tasks = taskService.getAllTasks();
+        Task task3 = new Task();
+        task3.setTitle("Task 3");
+        task3.setDescription("Description 3");
+        task3.setUserId(1L);
+        task3.setStatus(TaskStatus.COMPLETED);
+        taskRepository.save(task3);
+
+        TaskPage firstPage = taskService.getTasks(null, null, 2, null, null);
+        assertEquals(2, firstPage.items().size());
+        assertTrue(firstPage.hasNext());
+
+        TaskPage secondPage = taskService.getTasks(firstPage.nextCursor(), null, 2, null, null);
+        assertEquals(1, secondPage.items().size());
+        assertFalse(secondPage.hasNext());
+        assertEquals("Task 3", secondPage.items().get(0).getTitle());
+
+        List<TaskDTO> userTasks = taskService.getTasks(null, null, null, 1L, TaskStatus.IN_PROGRESS).items();
+        assertEquals(1, userTasks.size());
+        assertEquals("Task 1", userTasks.get(0).getTitle());
+    }
 
-        assertEquals(2, tasks.size());
+    @Test
+    @DisplayName("Тест потоковой выгрузки задач с фильтром по статусу")
+    void exportTasks_shouldStreamFilteredTasksInIdOrder() {
+        for (int i = 1; i <= 3; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setUserId(1L);
+            task.setStatus(i == 2 ? TaskStatus.COMPLETED : TaskStatus.NOT_STARTED);
+            taskRepository.save(task);
+        }
+
+        List<TaskDTO> exported = new ArrayList<>();
+        taskService.exportTasks(null, TaskStatus.NOT_STARTED, exported::add);
+
+        assertEquals(List.of("Task 1", "Task 3"), exported.stream().map(TaskDTO::getTitle).toList());
     }
 
     @Test
@@ -182,4 +261,21 @@ class TaskServiceIntegrationTest extends PostgresContainer {
 
         assertFalse(updatedTaskDTO.isPresent());
     }
+
+    private short bucketOf(long id) {
+        return jdbcTemplate.queryForObject("select bucket from task where id = ?", Short.class, id);
+    }
+
+    @Test
+    @DisplayName("Тест отложенной загрузки описания задачи")
+    void findById_shouldNotLoadDescriptionUntilAccessed() {
+        Long id = taskService.createTask(new TaskDTO(null, "Task", "Long description", 1L, TaskStatus.NOT_STARTED)).getId();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Task task = taskRepository.findById(id).orElseThrow();
+            assertFalse(Hibernate.isPropertyInitialized(task, "description"));
+            assertEquals("Long description", task.getDescription());
+            assertTrue(Hibernate.isPropertyInitialized(task, "description"));
+        });
+    }
 }
@@ -1,26 +1,53 @@
 package com.github.vladimirpokhodnya.taskmanagementrestful.service;
 
+import com.github.vladimirpokhodnya.taskmanagementrestful.cache.TaskCache;
+import com.github.vladimirpokhodnya.taskmanagementrestful.counter.TaskCounterDeltas;
+import com.github.vladimirpokhodnya.taskmanagementrestful.counter.TaskCounters;
+import com.github.vladimirpokhodnya.taskmanagementrestful.exception.InvalidCursorException;
+import com.github.vladimirpokhodnya.taskmanagementrestful.exception.InvalidSearchQueryException;
+import com.github.vladimirpokhodnya.taskmanagementrestful.exception.TaskStatusConflictException;
+import com.github.vladimirpokhodnya.taskmanagementrestful.exception.TaskVersionMismatchException;
 import com.github.vladimirpokhodnya.taskmanagementrestful.model.Task;
 import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskStatus;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskChangeEvent;
 import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskPage;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskSummaryDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.outbox.TaskOutbox;
+import com.github.vladimirpokhodnya.taskmanagementrestful.repository.TaskChange;
 import com.github.vladimirpokhodnya.taskmanagementrestful.repository.TaskRepository;
+import com.github.vladimirpokhodnya.taskmanagementrestful.repository.TaskSearchHit;
+import com.github.vladimirpokhodnya.taskmanagementrestful.repository.TaskSearchResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 
@@ -30,11 +57,25 @@ class TaskServiceTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private TaskCache taskCache;
+
+    @Mock
+    private TaskCounters taskCounters;
+
+    @Mock
+    private TaskOutbox taskOutbox;
+
+    @Mock
+    private TaskLoader taskLoader;
+
     private TaskService taskService;
 
     @BeforeEach
     void setUp() {
-        taskService = new TaskService(taskRepository);
+        lenient().when(taskCache.get(any(), any())).thenAnswer(invocation ->
+                invocation.<Function<Long, Optional<TaskDTO>>>getArgument(1).apply(invocation.getArgument(0)));
+        taskService = new TaskService(taskRepository, taskCache, taskCounters, taskOutbox, taskLoader);
     }
 
     @Test
@@ -60,6 +101,7 @@ class TaskServiceTest {
         assertNotNull(createdTaskDTO);
         assertEquals(taskDTO.getTitle(), createdTaskDTO.getTitle());
         assertEquals(taskDTO.getDescription(), createdTaskDTO.getDescription());
+        verify(taskOutbox).record(TaskChangeEvent.Type.CREATED, createdTaskDTO);
     }
 
     @Test
@@ -73,7 +115,7 @@ class TaskServiceTest {
         task.setUserId(1L);
         task.setStatus(TaskStatus.NOT_STARTED);
 
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+        when(taskLoader.load(taskId)).thenReturn(Optional.of(TaskService.mapToDTO(task)));
 
         Optional<TaskDTO> taskDTO = taskService.getTaskById(taskId);
 
@@ -86,7 +128,7 @@ class TaskServiceTest {
     void getTaskById_shouldReturnEmpty_whenTaskDoesNotExist() {
         Long taskId = 1L;
 
-        when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
+        when(taskLoader.load(taskId)).thenReturn(Optional.empty());
 
         Optional<TaskDTO> taskDTO = taskService.getTaskById(taskId);
 
@@ -97,27 +139,23 @@ class TaskServiceTest {
     @DisplayName("Тест обновления задачи")
     void updateTask_shouldReturnUpdatedTaskDTO_whenTaskExists() {
         Long taskId = 1L;
-        Task existingTask = new Task();
-        existingTask.setId(taskId);
-        existingTask.setTitle("Old Task");
-        existingTask.setDescription("Old Description");
-        existingTask.setUserId(1L);
-        existingTask.setStatus(TaskStatus.COMPLETED);
-
         TaskDTO taskDTO = new TaskDTO();
         taskDTO.setTitle("Updated Task");
         taskDTO.setDescription("Updated Description");
         taskDTO.setUserId(1L);
         taskDTO.setStatus(TaskStatus.IN_PROGRESS);
 
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(existingTask));
-        when(taskRepository.save(any(Task.class))).thenReturn(existingTask);
+        TaskDTO updatedRow = new TaskDTO(taskId, "Updated Task", "Updated Description", 1L, TaskStatus.IN_PROGRESS);
+
+        when(taskRepository.update(taskId, taskDTO, null))
+                .thenReturn(Optional.of(new TaskChange(updatedRow, 1L, TaskStatus.NOT_STARTED)));
 
         Optional<TaskDTO> updatedTaskDTO = taskService.updateTask(taskId, taskDTO);
 
         assertTrue(updatedTaskDTO.isPresent());
         assertEquals("Updated Task", updatedTaskDTO.get().getTitle());
         assertEquals("Updated Description", updatedTaskDTO.get().getDescription());
+        verify(taskCache).evict(taskId);
     }
 
     @Test
@@ -126,7 +164,7 @@ class TaskServiceTest {
         Long taskId = 1L;
         TaskDTO taskDTO = new TaskDTO();
 
-        when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
+        when(taskRepository.update(taskId, taskDTO, null)).thenReturn(Optional.empty());
 
         Optional<TaskDTO> updatedTaskDTO = taskService.updateTask(taskId, taskDTO);
         assertFalse(updatedTaskDTO.isPresent());
@@ -137,12 +175,15 @@ class TaskServiceTest {
     void deleteTask_shouldReturnTrue_whenTaskExists() {
         Long taskId = 1L;
 
-        when(taskRepository.existsById(taskId)).thenReturn(true);
+        when(taskRepository.deleteReturning(taskId))
+                .thenReturn(Optional.of(new TaskDTO(taskId, "Task 1", null, 1L, TaskStatus.NOT_STARTED)));
 
         boolean result = taskService.deleteTask(taskId);
 
         assertTrue(result, "Удаление существующей задачи должно вернуть true");
-        verify(taskRepository, times(1)).deleteById(taskId);
+        verify(taskCache).evict(taskId);
+        verify(taskCounters).apply(any(TaskCounterDeltas.class));
+        verify(taskOutbox).record(eq(TaskChangeEvent.Type.DELETED), any());
     }
 
     @Test
@@ -150,47 +191,180 @@ class TaskServiceTest {
     void deleteTask_shouldReturnFalse_whenTaskDoesNotExist() {
         Long taskId = 1L;
 
-        when(taskRepository.existsById(taskId)).thenReturn(false);
+        when(taskRepository.deleteReturning(taskId)).thenReturn(Optional.empty());
 
         boolean result = taskService.deleteTask(taskId);
 
         assertFalse(result, "Удаление несуществующей задачи должно вернуть false");
-        verify(taskRepository, times(0)).deleteById(taskId);
+        verify(taskCache, never()).evict(taskId);
+        verify(taskCounters, never()).apply(any());
+        verifyNoInteractions(taskOutbox);
     }
 
     @Test
-    @DisplayName("Тест поиска всех задач")
-    void getAllTasks_shouldReturnListOfTaskDTOs() {
-        Task task = new Task();
-        task.setId(1L);
-        task.setTitle("Task 1");
-        task.setDescription("Description 1");
-        task.setUserId(1L);
-        task.setStatus(TaskStatus.IN_PROGRESS);
+    @DisplayName("Тест получения страницы задач")
+    void getTasks_shouldReturnPageOfTaskDTOs() {
+        TaskDTO task = new TaskDTO(1L, "Task 1", "Description 1", 1L, TaskStatus.IN_PROGRESS);
 
-        when(taskRepository.findAll()).thenReturn(List.of(task));
+        when(taskRepository.findPageAfter(0L, null, null, Limit.of(TaskService.DEFAULT_PAGE_SIZE + 1)))
+                .thenReturn(List.of(task));
 
-        List<TaskDTO> tasks = taskService.getAllTasks();
+        TaskPage page = taskService.getTasks(null, null, null, null, null);
 
-        assertEquals(1, tasks.size());
-        assertEquals("Task 1", tasks.get(0).getTitle());
+        assertEquals(1, page.items().size());
+        assertEquals("Task 1", page.items().get(0).getTitle());
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    @DisplayName("Тест получения страницы задач с курсором следующей страницы")
+    void getTasks_shouldReturnNextCursor_whenMoreRowsExist() {
+        TaskDTO task1 = new TaskDTO(5L, "Task 5", null, 1L, TaskStatus.NOT_STARTED);
+        TaskDTO task2 = new TaskDTO(7L, "Task 7", null, 1L, TaskStatus.NOT_STARTED);
+
+        when(taskRepository.findPageAfter(3L, 1L, TaskStatus.NOT_STARTED, Limit.of(2)))
+                .thenReturn(List.of(task1, task2));
+
+        TaskPage page = taskService.getTasks(null, 3L, 1, 1L, TaskStatus.NOT_STARTED);
+
+        assertEquals(1, page.items().size());
+        assertTrue(page.hasNext());
+        assertEquals(5L, TaskCursor.decode(page.nextCursor()));
+    }
+
+    @Test
+    @DisplayName("Тест ограничения размера страницы")
+    void getTasks_shouldCapPageSize() {
+        when(taskRepository.findPageAfter(0L, null, null, Limit.of(TaskService.MAX_PAGE_SIZE + 1)))
+                .thenReturn(List.of());
+
+        TaskPage page = taskService.getTasks(null, null, 1_000_000, null, null);
+
+        assertTrue(page.items().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Тест получения страницы с некорректным курсором")
+    void getTasks_shouldThrow_whenCursorIsInvalid() {
+        assertThrows(InvalidCursorException.class,
+                () -> taskService.getTasks("not-a-cursor", null, null, null, null));
+    }
+
+    @Test
+    @DisplayName("Тест получения страницы задач пользователя по статусу")
+    void getUserTasks_shouldUseStatusQuery_whenStatusIsGiven() {
+        TaskDTO task = new TaskDTO(4L, "Task 4", null, 2L, TaskStatus.IN_PROGRESS);
+
+        when(taskRepository.findUserPageAfter(2L, TaskStatus.IN_PROGRESS, 0L, Limit.of(TaskService.DEFAULT_PAGE_SIZE + 1)))
+                .thenReturn(List.of(task));
+
+        TaskPage page = taskService.getUserTasks(2L, TaskStatus.IN_PROGRESS, null, null);
+
+        assertEquals(List.of(task), page.items());
+        assertFalse(page.hasNext());
+        verify(taskRepository, never()).findUserPageAfter(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Тест поиска задач с курсором следующей страницы")
+    void searchTasks_shouldQueryByPrefixesAndReturnRankCursor() {
+        TaskDTO task1 = new TaskDTO(3L, "Отчет за квартал", null, 1L, TaskStatus.NOT_STARTED);
+        TaskDTO task2 = new TaskDTO(8L, "Отчет", null, 1L, TaskStatus.NOT_STARTED);
+
+        when(taskRepository.search("отч:* & q1", 1L, null, null, null, 2, TaskService.MAX_SEARCH_CANDIDATES))
+                .thenReturn(new TaskSearchResult(List.of(new TaskSearchHit(task1, 0.5f), new TaskSearchHit(task2, 0.25f)), false));
+
+        TaskPage page = taskService.searchTasks("  Отч, Q1!", 1L, null, null, 1);
+
+        assertEquals(List.of(task1), page.items());
+        assertEquals(new TaskCursor.SearchPosition(0.5f, 3L), TaskCursor.decodeSearch(page.nextCursor()));
+        assertFalse(page.truncated());
+    }
+
+    @Test
+    @DisplayName("Тест поиска задач с превышением числа ранжируемых совпадений")
+    void searchTasks_shouldReportTruncatedResults() {
+        TaskDTO task = new TaskDTO(3L, "Отчет", null, 1L, TaskStatus.NOT_STARTED);
+        when(taskRepository.search("отч:*", null, null, null, null, 2, TaskService.MAX_SEARCH_CANDIDATES))
+                .thenReturn(new TaskSearchResult(List.of(new TaskSearchHit(task, 0.5f)), true));
+
+        TaskPage page = taskService.searchTasks("отч", null, null, null, 1);
+
+        assertEquals(List.of(task), page.items());
+        assertTrue(page.truncated());
+    }
+
+    @Test
+    @DisplayName("Тест поиска задач по запросу без слов")
+    void searchTasks_shouldThrow_whenQueryHasNoWords() {
+        assertThrows(InvalidSearchQueryException.class,
+                () -> taskService.searchTasks(" &|!:* ", null, null, null, null));
+    }
+
+    @Test
+    @DisplayName("Тест поиска задач по запросу только из коротких слов")
+    void searchTasks_shouldThrow_whenAllWordsAreTooShortForPrefix() {
+        assertThrows(InvalidSearchQueryException.class,
+                () -> taskService.searchTasks("a, b1", null, null, null, null));
+        verify(taskRepository, never()).search(anyString(), any(), any(), any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Тест сводки задач пользователя из счетчиков")
+    void getUserTaskSummary_shouldReadCounters() {
+        TaskSummaryDTO summary = new TaskSummaryDTO(2L, 0, Map.of());
+        when(taskCounters.summary(2L)).thenReturn(summary);
+
+        assertEquals(summary, taskService.getUserTaskSummary(2L));
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    @DisplayName("Тест потоковой выгрузки задач")
+    void exportTasks_shouldPassEveryRowToSink() {
+        TaskDTO task1 = new TaskDTO(1L, "Task 1", null, 1L, TaskStatus.NOT_STARTED);
+        TaskDTO task2 = new TaskDTO(2L, "Task 2", null, 1L, TaskStatus.NOT_STARTED);
+
+        when(taskRepository.streamAll(1L, null)).thenReturn(Stream.of(task1, task2));
+
+        List<TaskDTO> exported = new ArrayList<>();
+        taskService.exportTasks(1L, null, exported::add);
+
+        assertEquals(List.of(task1, task2), exported);
     }
 
     @Test
     @DisplayName("Тест обновления статуса задачи")
     void updateStatus_shouldReturnUpdatedTaskDTO_whenTaskExists() {
         Long taskId = 1L;
-        Task task = new Task();
-        task.setId(taskId);
-        task.setStatus(TaskStatus.COMPLETED);
+        TaskDTO updatedRow = new TaskDTO(taskId, null, null, null, TaskStatus.IN_PROGRESS);
 
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
-        when(taskRepository.save(any(Task.class))).thenReturn(task);
+        when(taskRepository.updateStatus(taskId, TaskStatus.IN_PROGRESS, null, null))
+                .thenReturn(Optional.of(new TaskChange(updatedRow, null, TaskStatus.NOT_STARTED)));
 
         Optional<TaskDTO> updatedTaskDTO = taskService.updateStatus(taskId, TaskStatus.IN_PROGRESS);
 
         assertTrue(updatedTaskDTO.isPresent());
         assertEquals(TaskStatus.IN_PROGRESS, updatedTaskDTO.get().getStatus());
+        verify(taskRepository, times(0)).findTask(taskId);
+        verify(taskCache).evict(taskId);
+    }
+
+    @Test
+    @DisplayName("Тест пакетного обновления статусов одним запросом")
+    void updateStatuses_shouldEvictAndRecord_onlyUpdatedTasks() {
+        TaskDTO updatedRow = new TaskDTO(1L, null, null, 7L, TaskStatus.COMPLETED);
+        Map<Long, TaskStatus> statuses = Map.of(1L, TaskStatus.COMPLETED, 2L, TaskStatus.COMPLETED);
+
+        when(taskRepository.updateStatuses(statuses))
+                .thenReturn(List.of(new TaskChange(updatedRow, 7L, TaskStatus.NOT_STARTED)));
+
+        List<TaskDTO> updated = taskService.updateStatuses(statuses);
+
+        assertEquals(List.of(updatedRow), updated);
+        verify(taskCache).evictAll(List.of(1L));
+        verify(taskCounters).apply(any(TaskCounterDeltas.class));
+        verify(taskOutbox).recordAll(TaskChangeEvent.Type.UPDATED, List.of(updatedRow));
     }
 
     @Test
@@ -198,10 +372,49 @@ class TaskServiceTest {
     void updateStatus_shouldReturnEmpty_whenTaskDoesNotExist() {
         Long taskId = 1L;
 
-        when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
+        when(taskRepository.updateStatus(taskId, TaskStatus.IN_PROGRESS, TaskStatus.NOT_STARTED, null)).thenReturn(Optional.empty());
+        when(taskRepository.findTask(taskId)).thenReturn(Optional.empty());
 
-        Optional<TaskDTO> updatedTaskDTO = taskService.updateStatus(taskId, TaskStatus.IN_PROGRESS);
+        Optional<TaskDTO> updatedTaskDTO = taskService.updateStatus(taskId, TaskStatus.IN_PROGRESS, TaskStatus.NOT_STARTED, null);
 
         assertFalse(updatedTaskDTO.isPresent());
     }
+
+    @Test
+    @DisplayName("Тест обновления статуса, когда текущий статус не совпадает с ожидаемым")
+    void updateStatus_shouldThrowConflict_whenExpectedStatusDoesNotMatch() {
+        Long taskId = 1L;
+        TaskDTO task = new TaskDTO(taskId, null, null, null, TaskStatus.COMPLETED, 3L);
+
+        when(taskRepository.updateStatus(taskId, TaskStatus.IN_PROGRESS, TaskStatus.NOT_STARTED, 3L)).thenReturn(Optional.empty());
+        when(taskRepository.findTask(taskId)).thenReturn(Optional.of(task));
+
+        assertThrows(TaskStatusConflictException.class,
+                () -> taskService.updateStatus(taskId, TaskStatus.IN_PROGRESS, TaskStatus.NOT_STARTED, 3L));
+    }
+
+    @Test
+    @DisplayName("Тест обновления статуса, когда версия задачи не совпадает с ожидаемой")
+    void updateStatus_shouldThrowVersionMismatch_whenExpectedVersionDoesNotMatch() {
+        Long taskId = 1L;
+        TaskDTO task = new TaskDTO(taskId, null, null, null, TaskStatus.NOT_STARTED, 4L);
+
+        when(taskRepository.updateStatus(taskId, TaskStatus.IN_PROGRESS, null, 3L)).thenReturn(Optional.empty());
+        when(taskRepository.findTask(taskId)).thenReturn(Optional.of(task));
+
+        assertThrows(TaskVersionMismatchException.class,
+                () -> taskService.updateStatus(taskId, TaskStatus.IN_PROGRESS, null, 3L));
+    }
+
+    @Test
+    @DisplayName("Тест обновления задачи, когда версия задачи не совпадает с ожидаемой")
+    void updateTask_shouldThrowVersionMismatch_whenExpectedVersionDoesNotMatch() {
+        Long taskId = 1L;
+        TaskDTO taskDTO = new TaskDTO();
+
+        when(taskRepository.update(taskId, taskDTO, 3L)).thenReturn(Optional.empty());
+        when(taskRepository.findTask(taskId)).thenReturn(Optional.of(new TaskDTO()));
+
+        assertThrows(TaskVersionMismatchException.class, () -> taskService.updateTask(taskId, taskDTO, 3L));
+    }
 }
@@ -0,0 +1,88 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.sql;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.web.RequestIdFilter;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlowQueryListenerTest {
+
+    private final List<SqlLogEntry> entries = new ArrayList<>();
+
+    private final SqlLogWriter writer = new SqlLogWriter(16) {
+        @Override
+        void submit(SqlLogEntry entry) {
+            entries.add(entry);
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    @DisplayName("Тест записи медленного запроса с параметрами и идентификатором запроса")
+    void shouldSubmitSlowQuery_withParametersAndRequestId() throws Exception {
+        SlowQueryListener listener = new SlowQueryListener(new SqlLogProperties(true, Duration.ofMillis(100), 0, 16), writer);
+        MDC.put(RequestIdFilter.MDC_KEY, "req-1");
+
+        listener.afterQuery(execution(150), List.of(query("select * from task where id = ?", 42L)));
+
+        assertEquals(1, entries.size());
+        SqlLogEntry entry = entries.get(0);
+        assertTrue(entry.slow());
+        assertEquals(150, entry.elapsedMillis());
+        assertEquals("req-1", entry.requestId());
+        assertEquals("select * from task where id = ?", entry.sql());
+        assertArrayEquals(new Object[]{42L}, entry.parameters().get(0));
+    }
+
+    @Test
+    @DisplayName("Тест пропуска быстрого запроса при выключенной выборке")
+    void shouldSkipFastQuery_whenSamplingIsDisabled() {
+        SlowQueryListener listener = new SlowQueryListener(new SqlLogProperties(true, Duration.ofMillis(100), 0, 16), writer);
+
+        listener.afterQuery(execution(5), List.of(new QueryInfo("select 1")));
+
+        assertTrue(entries.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Тест записи быстрого запроса при полной выборке")
+    void shouldSubmitFastQuery_whenSampleRateIsOne() {
+        SlowQueryListener listener = new SlowQueryListener(new SqlLogProperties(true, Duration.ofMillis(100), 1, 16), writer);
+
+        listener.afterQuery(execution(5), List.of(new QueryInfo("select 1")));
+
+        assertEquals(1, entries.size());
+        assertEquals(false, entries.get(0).slow());
+    }
+
+    private static ExecutionInfo execution(long elapsedMillis) {
+        ExecutionInfo info = new ExecutionInfo();
+        info.setElapsedTime(elapsedMillis);
+        info.setSuccess(true);
+        return info;
+    }
+
+    private static QueryInfo query(String sql, Object parameter) throws NoSuchMethodException {
+        QueryInfo info = new QueryInfo(sql);
+        info.getParametersList().add(List.of(new ParameterSetOperation(
+                PreparedStatement.class.getMethod("setObject", int.class, Object.class), new Object[]{1, parameter})));
+        return info;
+    }
+}
@@ -0,0 +1,98 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.web;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AdmissionControlFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Тест пропуска запроса при свободном разрешении")
+    void shouldPassRequest_whenPermitIsFree() throws Exception {
+        AdmissionControlFilter filter = new AdmissionControlFilter(1, Duration.ofMillis(10), Duration.ofSeconds(1), meterRegistry);
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/tasks"), response, chain);
+
+        assertNotNull(chain.getRequest());
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    @DisplayName("Тест отклонения запроса с 503, когда очередь ожидания превышена")
+    void shouldRejectRequest_whenQueueTimeoutIsExceeded() throws Exception {
+        AdmissionControlFilter filter = new AdmissionControlFilter(1, Duration.ofMillis(10), Duration.ofSeconds(2), meterRegistry);
+        AtomicReference<MockHttpServletResponse> rejectedResponse = new AtomicReference<>();
+        AtomicReference<MockFilterChain> rejectedChain = new AtomicReference<>();
+
+        MockFilterChain holdingChain = new MockFilterChain(new HttpServlet() {
+        }, (request, response, chain) -> {
+            MockHttpServletResponse inner = new MockHttpServletResponse();
+            MockFilterChain innerChain = new MockFilterChain();
+            filter.doFilter(new MockHttpServletRequest("GET", "/tasks"), inner, innerChain);
+            rejectedResponse.set(inner);
+            rejectedChain.set(innerChain);
+        });
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/tasks"), new MockHttpServletResponse(), holdingChain);
+
+        assertEquals(503, rejectedResponse.get().getStatus());
+        assertEquals("2", rejectedResponse.get().getHeader(HttpHeaders.RETRY_AFTER));
+        assertNull(rejectedChain.get().getRequest());
+        assertEquals(1.0, meterRegistry.get("task.admission.rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("Тест удержания разрешения до завершения асинхронной обработки")
+    void shouldHoldPermit_untilAsyncRequestCompletes() throws Exception {
+        AdmissionControlFilter filter = new AdmissionControlFilter(1, Duration.ofMillis(10), Duration.ofSeconds(1), meterRegistry);
+        MockHttpServletRequest asyncRequest = new MockHttpServletRequest("GET", "/tasks/export");
+        asyncRequest.setAsyncSupported(true);
+        MockFilterChain asyncChain = new MockFilterChain(new HttpServlet() {
+        }, (request, response, chain) -> request.startAsync());
+
+        filter.doFilter(asyncRequest, new MockHttpServletResponse(), asyncChain);
+
+        MockHttpServletResponse whileAsync = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/tasks"), whileAsync, new MockFilterChain());
+        assertEquals(503, whileAsync.getStatus());
+
+        asyncRequest.getAsyncContext().complete();
+
+        MockHttpServletResponse afterAsync = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/tasks"), afterAsync, new MockFilterChain());
+        assertEquals(200, afterAsync.getStatus());
+    }
+
+    @Test
+    @DisplayName("Тест пропуска потоков событий без разрешения")
+    void shouldNotTakePermit_forEventStreams() throws Exception {
+        AdmissionControlFilter filter = new AdmissionControlFilter(1, Duration.ofMillis(10), Duration.ofSeconds(1), meterRegistry);
+        for (String path : List.of("/tasks/changes", "/users/1/tasks/events")) {
+            MockHttpServletRequest streamRequest = new MockHttpServletRequest("GET", path);
+            streamRequest.setAsyncSupported(true);
+            filter.doFilter(streamRequest, new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+            }, (request, response, chain) -> request.startAsync()));
+        }
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/tasks"), response, new MockFilterChain());
+        assertEquals(200, response.getStatus());
+    }
+}
@@ -0,0 +1,175 @@
+package com.github.vladimirpokhodnya.taskmanagementrestful.writebehind;
+
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.TaskStatus;
+import com.github.vladimirpokhodnya.taskmanagementrestful.model.dto.TaskDTO;
+import com.github.vladimirpokhodnya.taskmanagementrestful.service.TaskService;
+import com.github.vladimirpokhodnya.taskmanagementrestful.writebehind.TaskWriteBehindProperties.Mode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskStatusWriteBehindTest {
+
+    @Mock
+    private TaskService taskService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TaskStatusWriteBehind writeBehind;
+
+    @AfterEach
+    void tearDown() {
+        if (writeBehind != null && writeBehind.isRunning()) {
+            writeBehind.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Тест объединения обновлений одной задачи и сброса буфера при остановке")
+    void submit_shouldCoalesceUpdatesOfSameTask_andDrainOnStop() throws Exception {
+        TaskDTO task = new TaskDTO(1L, null, null, null, TaskStatus.COMPLETED);
+        when(taskService.updateStatuses(any())).thenReturn(List.of(task));
+        writeBehind = start(Mode.WAIT, 100, 100);
+
+        CompletableFuture<Optional<TaskDTO>> first = writeBehind.submit(1L, TaskStatus.IN_PROGRESS);
+        CompletableFuture<Optional<TaskDTO>> second = writeBehind.submit(1L, TaskStatus.COMPLETED);
+        CompletableFuture<Optional<TaskDTO>> missing = writeBehind.submit(2L, TaskStatus.IN_PROGRESS);
+        writeBehind.stop();
+
+        assertSame(first, second);
+        assertEquals(Optional.of(task), first.get(5, TimeUnit.SECONDS));
+        assertEquals(Optional.empty(), missing.get(5, TimeUnit.SECONDS));
+        verify(taskService).updateStatuses(Map.of(1L, TaskStatus.COMPLETED, 2L, TaskStatus.IN_PROGRESS));
+        assertEquals(1.0, meterRegistry.get("task.write-behind.coalesced").counter().count());
+        assertEquals(0, writeBehind.pendingCount());
+    }
+
+    @Test
+    @DisplayName("Тест сброса буфера при достижении размера пакета")
+    void submit_shouldFlush_whenBatchIsFull() throws Exception {
+        when(taskService.updateStatuses(any())).thenReturn(List.of());
+        writeBehind = start(Mode.WAIT, 2, 100);
+
+        CompletableFuture<Optional<TaskDTO>> first = writeBehind.submit(1L, TaskStatus.IN_PROGRESS);
+        CompletableFuture<Optional<TaskDTO>> second = writeBehind.submit(2L, TaskStatus.IN_PROGRESS);
+
+        assertEquals(Optional.empty(), first.get(5, TimeUnit.SECONDS));
+        assertEquals(Optional.empty(), second.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Тест обхода переполненного буфера")
+    void submit_shouldReturnNull_whenShardIsFull() {
+        writeBehind = start(Mode.ACCEPT, 100, 1);
+
+        CompletableFuture<Optional<TaskDTO>> buffered = writeBehind.submit(1L, TaskStatus.IN_PROGRESS);
+
+        assertNotNull(buffered);
+        assertNull(writeBehind.submit(2L, TaskStatus.IN_PROGRESS));
+        assertSame(buffered, writeBehind.submit(1L, TaskStatus.COMPLETED));
+    }
+
+    @Test
+    @DisplayName("Тест передачи ошибки сброса ожидающим запросам")
+    void submit_shouldCompleteExceptionally_whenFlushFails() {
+        when(taskService.updateStatuses(any())).thenThrow(new IllegalStateException("db down"));
+        writeBehind = start(Mode.WAIT, 100, 100);
+
+        CompletableFuture<Optional<TaskDTO>> buffered = writeBehind.submit(1L, TaskStatus.IN_PROGRESS);
+        writeBehind.stop();
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> buffered.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof IllegalStateException);
+        assertEquals(1.0, meterRegistry.get("task.write-behind.failed").counter().count());
+    }
+
+    @Test
+    @DisplayName("Тест записи отложенного обновления задачи перед прямой записью")
+    void flush_shouldWriteBufferedUpdatesOfGivenTasksOnly() throws Exception {
+        when(taskService.updateStatuses(any())).thenReturn(List.of());
+        writeBehind = start(Mode.WAIT, 100, 100);
+
+        CompletableFuture<Optional<TaskDTO>> flushed = writeBehind.submit(1L, TaskStatus.COMPLETED);
+        writeBehind.submit(2L, TaskStatus.IN_PROGRESS);
+        writeBehind.flush(List.of(1L, 3L));
+
+        assertTrue(flushed.isDone());
+        verify(taskService).updateStatuses(Map.of(1L, TaskStatus.COMPLETED));
+        assertEquals(1, writeBehind.pendingCount());
+
+        writeBehind.flushAll();
+
+        verify(taskService).updateStatuses(Map.of(2L, TaskStatus.IN_PROGRESS));
+        assertEquals(0, writeBehind.pendingCount());
+    }
+
+    @Test
+    @DisplayName("Тест записи нового статуса задачи только после записи предыдущего")
+    void flush_shouldWaitForInFlightWriteOfShard() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Map<Long, TaskStatus>> writes = new CopyOnWriteArrayList<>();
+        when(taskService.updateStatuses(any())).thenAnswer(invocation -> {
+            writes.add(Map.copyOf(invocation.getArgument(0)));
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+        writeBehind = start(Mode.WAIT, 1, 100);
+
+        writeBehind.submit(1L, TaskStatus.IN_PROGRESS);
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        writeBehind.submit(1L, TaskStatus.COMPLETED);
+        CompletableFuture<Void> flush = CompletableFuture.runAsync(() -> writeBehind.flush(List.of(1L)));
+
+        Thread.sleep(100);
+        assertEquals(1, writes.size());
+        release.countDown();
+        flush.get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of(Map.of(1L, TaskStatus.IN_PROGRESS), Map.of(1L, TaskStatus.COMPLETED)), writes);
+    }
+
+    @Test
+    @DisplayName("Тест отключенного режима отложенной записи")
+    void submit_shouldReturnNull_whenModeIsOff() {
+        writeBehind = start(Mode.OFF, 100, 100);
+
+        assertNull(writeBehind.submit(1L, TaskStatus.IN_PROGRESS));
+        verifyNoInteractions(taskService);
+    }
+
+    private TaskStatusWriteBehind start(Mode mode, int maxBatch, int maxPending) {
+        TaskWriteBehindProperties properties = new TaskWriteBehindProperties(mode, 1, Duration.ofHours(1), maxBatch,
+                maxPending, Duration.ofSeconds(5));
+        TaskStatusWriteBehind started = new TaskStatusWriteBehind(taskService, properties, meterRegistry);
+        started.start();
+        return started;
+    }
+}